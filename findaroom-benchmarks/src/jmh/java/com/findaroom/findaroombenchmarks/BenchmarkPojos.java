@@ -0,0 +1,39 @@
+package com.findaroom.findaroombenchmarks;
+
+import com.findaroom.findaroomcore.domain.*;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static com.findaroom.findaroomcore.domain.enums.AccommodationType.WHOLE_APARTMENT;
+import static com.findaroom.findaroomcore.domain.enums.Amenity.KITCHEN;
+import static com.findaroom.findaroomcore.domain.enums.Amenity.WIFI;
+
+public class BenchmarkPojos {
+
+    public static Accommodation accommodation() {
+        return Accommodation.of("name", "desc", 100.0, 4, 1, 1, 2, host(), WHOLE_APARTMENT, address(), List.of(WIFI, KITCHEN), List.of(image(), image()));
+    }
+
+    public static Address address() {
+        return new Address("country", "city", "12121", "street", new GeoJsonPoint(44.0, -1.0));
+    }
+
+    public static Host host() {
+        return new Host("12345", false);
+    }
+
+    public static Booking booking() {
+        return Booking.of("accommodationId", "userId", LocalDate.now().plusDays(7), LocalDate.now().plusDays(14), 3);
+    }
+
+    public static Review review(String accommodationId) {
+        return Review.of(accommodationId, "userId", UUID.randomUUID().toString(), 5.0, "message");
+    }
+
+    public static Image image() {
+        return new Image("212", "url", 600, 400, "deletehash");
+    }
+}
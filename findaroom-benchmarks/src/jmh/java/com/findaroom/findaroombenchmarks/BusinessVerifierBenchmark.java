@@ -0,0 +1,55 @@
+package com.findaroom.findaroombenchmarks;
+
+import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.service.validation.BusinessVerifier;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.findaroom.findaroomcore.utils.MessageUtils.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BusinessVerifierBenchmark {
+
+    private final BusinessVerifier verifier = new BusinessVerifier() {
+    };
+
+    private Accommodation accommodation;
+
+    @Setup
+    public void setup() {
+        accommodation = BenchmarkPojos.accommodation();
+        accommodation.setAccommodationId("5f1a2b3c4d5e6f7a8b9c0d1e");
+    }
+
+    @Benchmark
+    public Accommodation verifyChain() {
+        return Mono.just(accommodation)
+                .flatMap(acc -> verifier.verify(acc, Accommodation::isListed, ACCOMMODATION_ALREADY_UNLISTED))
+                .flatMap(acc -> verifier.verify(acc, a -> !a.hasHostWithId("userId"), USER_IS_ACCOMMODATION_HOST))
+                .flatMap(acc -> verifier.verify(acc, a -> a.fitsGuests(2), ACCOMMODATION_MAX_GUESTS_EXCEEDED))
+                .block();
+    }
+
+    @Benchmark
+    public Accommodation verifyAsyncChain() {
+        return Mono.just(accommodation)
+                .flatMap(acc -> verifier.verify(acc, Accommodation::isListed, ACCOMMODATION_ALREADY_UNLISTED))
+                .flatMap(acc -> verifier.verify(acc, a -> a.fitsGuests(2), ACCOMMODATION_MAX_GUESTS_EXCEEDED))
+                .flatMap(acc -> verifier.verifyAsync(acc, a -> Mono.just(true), ACCOMMODATION_ALREADY_BOOKED))
+                .block();
+    }
+
+    @Benchmark
+    public Throwable verifyRejected() {
+        return Mono.just(accommodation)
+                .flatMap(acc -> verifier.verify(acc, a -> a.fitsGuests(10), ACCOMMODATION_MAX_GUESTS_EXCEEDED))
+                .then(Mono.<Throwable>empty())
+                .onErrorResume(ResponseStatusException.class, Mono::just)
+                .block();
+    }
+}
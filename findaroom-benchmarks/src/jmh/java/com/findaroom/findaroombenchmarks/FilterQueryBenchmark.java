@@ -0,0 +1,173 @@
+package com.findaroom.findaroombenchmarks;
+
+import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
+import com.findaroom.findaroomcore.controller.filter.BookingSearchFilter;
+import com.findaroom.findaroomcore.controller.filter.FilterQueries;
+import com.findaroom.findaroomcore.controller.filter.PagingAndSortingFilter;
+import com.findaroom.findaroomcore.controller.filter.ReviewSearchFilter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.CriteriaDefinition;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.findaroom.findaroomcore.domain.enums.AccommodationType.WHOLE_APARTMENT;
+import static com.findaroom.findaroomcore.domain.enums.Amenity.KITCHEN;
+import static com.findaroom.findaroomcore.domain.enums.Amenity.WIFI;
+import static com.findaroom.findaroomcore.domain.enums.BookingStatus.activeStates;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FilterQueryBenchmark {
+
+    private AccommodationSearchFilter accommodationFilter;
+    private BookingSearchFilter bookingFilter;
+    private ReviewSearchFilter reviewFilter;
+
+    @Setup
+    public void setup() {
+
+        accommodationFilter = new AccommodationSearchFilter();
+        accommodationFilter.setPricePerNight(150.0);
+        accommodationFilter.setRating(4.0);
+        accommodationFilter.setMaxGuests(2);
+        accommodationFilter.setType(List.of(WHOLE_APARTMENT));
+        accommodationFilter.setCountry("Italy");
+        accommodationFilter.setCity("Rome");
+        accommodationFilter.setAmenities(List.of(WIFI, KITCHEN));
+        accommodationFilter.setSw_lng(12.4);
+        accommodationFilter.setSw_lat(41.8);
+        accommodationFilter.setNe_lng(12.6);
+        accommodationFilter.setNe_lat(42.0);
+        accommodationFilter.setSortBy(List.of("pricePerNight"));
+        accommodationFilter.setDirection("ASC");
+        accommodationFilter.setPage(3);
+        accommodationFilter.setSize(20);
+
+        bookingFilter = new BookingSearchFilter();
+        bookingFilter.setUserId("444");
+        bookingFilter.setStatus(activeStates());
+        bookingFilter.setCheckin(LocalDate.of(2030, 1, 1));
+        bookingFilter.setCheckout(LocalDate.of(2030, 1, 8));
+
+        reviewFilter = new ReviewSearchFilter();
+        reviewFilter.setAccommodationId("123");
+        reviewFilter.setRating(3.0);
+        reviewFilter.setQ("quiet central");
+    }
+
+    @Benchmark
+    public Query accommodationCompiled() {
+        return FilterQueries.toQuery(accommodationFilter);
+    }
+
+    @Benchmark
+    public Query accommodationReactive() {
+        var query = query(where("listed").is(true));
+        return LegacyReactiveQueries.toCriteria(accommodationFilter)
+                .map(query::addCriteria)
+                .then(LegacyReactiveQueries.pageable(accommodationFilter))
+                .map(query::with)
+                .block();
+    }
+
+    @Benchmark
+    public Query bookingCompiled() {
+        return FilterQueries.toQuery(bookingFilter);
+    }
+
+    @Benchmark
+    public Query bookingReactive() {
+        var query = new Query();
+        return LegacyReactiveQueries.toCriteria(bookingFilter)
+                .map(query::addCriteria)
+                .then(LegacyReactiveQueries.pageable(bookingFilter))
+                .map(query::with)
+                .block();
+    }
+
+    @Benchmark
+    public Query reviewCompiled() {
+        return FilterQueries.toQuery(reviewFilter);
+    }
+
+    @Benchmark
+    public Query reviewReactive() {
+        var query = new Query();
+        return LegacyReactiveQueries.toCriteria(reviewFilter)
+                .map(query::addCriteria)
+                .then(LegacyReactiveQueries.pageable(reviewFilter))
+                .map(query::with)
+                .block();
+    }
+
+    private static final class LegacyReactiveQueries {
+
+        static Mono<Pageable> pageable(PagingAndSortingFilter filter) {
+            var sort = Mono
+                    .zip(filter.getDirection(), filter.getSortBy(), Sort::by)
+                    .defaultIfEmpty(Sort.unsorted());
+            return Mono
+                    .zip(filter.getPage(), filter.getSize(), sort)
+                    .map(t -> PageRequest.of(t.getT1(), t.getT2(), t.getT3()));
+        }
+
+        static Flux<CriteriaDefinition> toCriteria(AccommodationSearchFilter filter) {
+
+            var priceFilter = filter.getPricePerNight().map(where("pricePerNight")::lte);
+            var ratingFilter = filter.getRating().map(where("rating")::gte);
+            var guestsFilter = filter.getMaxGuests().map(where("maxGuests")::gte);
+            var hostIdFilter = filter.getHostId().map(where("host.hostId")::is);
+            var superHostFilter = filter.isSuperHost().map(where("host.superHost")::is);
+            var typeFilter = filter.getType().map(where("type")::in);
+            var countryFilter = filter.getCountry().map(where("address.country")::is);
+            var cityFilter = filter.getCity().map(where("address.city")::is);
+            var amenitiesFilter = filter.getAmenities().map(where("amenities")::all);
+            var excludeFilter = filter.getExclude().map(where("accommodationId")::nin);
+            var selectFilter = filter.getSelect().map(where("accommodationId")::in);
+            var boxFilter = filter.getGeoBox().map(where("address.location")::within);
+
+            return Flux.merge(priceFilter, ratingFilter, guestsFilter, hostIdFilter, superHostFilter, typeFilter,
+                    countryFilter, cityFilter, amenitiesFilter, excludeFilter, selectFilter, boxFilter);
+        }
+
+        static Flux<CriteriaDefinition> toCriteria(BookingSearchFilter filter) {
+
+            var accommodationFilter = filter.getAccommodationId().map(where("accommodationId")::is);
+            var userFilter = filter.getUserId().map(where("userId")::is);
+            var statusFilter = filter.getStatus().map(where("status")::in);
+
+            var checkin = filter.getCheckin().map(where("checkout")::gte).cast(Criteria.class);
+            var checkout = filter.getCheckout().map(where("checkin")::lte).cast(Criteria.class);
+            var betweenFilter = Mono.zip(checkin, checkout, Criteria::andOperator);
+
+            return Flux.merge(accommodationFilter, userFilter, statusFilter, betweenFilter);
+        }
+
+        static Flux<CriteriaDefinition> toCriteria(ReviewSearchFilter filter) {
+
+            var accommodationFilter = filter.getAccommodationId().map(where("accommodationId")::is);
+            var userFilter = filter.getUserId().map(where("userId")::is);
+            var bookingFilter = filter.getBookingId().map(where("bookingId")::is);
+            var ratingFilter = filter.getRating().map(where("rating")::gte);
+            var textFilter = filter.getQ()
+                    .map(words -> TextCriteria.forDefaultLanguage()
+                            .matchingAny(words.split(" "))
+                            .caseSensitive(false));
+
+            return Flux.merge(accommodationFilter, userFilter, bookingFilter, ratingFilter, textFilter);
+        }
+    }
+}
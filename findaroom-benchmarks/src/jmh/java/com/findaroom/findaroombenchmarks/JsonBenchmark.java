@@ -0,0 +1,64 @@
+package com.findaroom.findaroombenchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findaroom.findaroomcore.controller.event.BookAccommodation;
+import com.findaroom.findaroomcore.controller.event.CreateAccommodation;
+import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.domain.Booking;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonBenchmark {
+
+    private static final String CREATE_ACCOMMODATION = "{\"name\":\"name\",\"description\":\"desc\",\"pricePerNight\":100.0," +
+            "\"maxGuests\":4,\"restrooms\":1,\"bedrooms\":1,\"beds\":2,\"type\":\"WHOLE_APARTMENT\"," +
+            "\"address\":{\"country\":\"country\",\"city\":\"city\",\"zipcode\":\"12345\",\"street\":\"street\"," +
+            "\"location\":{\"x\":44.003213,\"y\":-1.0002324}},\"amenities\":[\"WIFI\",\"KITCHEN\"]," +
+            "\"images\":[{\"imageId\":\"id\",\"url\":\"url\",\"width\":600,\"height\":400,\"deleteHash\":\"hash\"}]}";
+
+    private static final String BOOK_ACCOMMODATION = "{\"bookingDates\":{\"checkin\":\"2030-01-01\",\"checkout\":\"2030-01-08\"},\"guests\":2}";
+
+    private ObjectMapper mapper;
+    private Accommodation accommodation;
+    private Booking booking;
+    private byte[] createAccommodation;
+    private byte[] bookAccommodation;
+
+    @Setup
+    public void setup() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        accommodation = BenchmarkPojos.accommodation();
+        accommodation.setAccommodationId("5f1a2b3c4d5e6f7a8b9c0d1e");
+        booking = BenchmarkPojos.booking();
+        booking.setBookingId("5f1a2b3c4d5e6f7a8b9c0d1f");
+        createAccommodation = CREATE_ACCOMMODATION.getBytes(StandardCharsets.UTF_8);
+        bookAccommodation = BOOK_ACCOMMODATION.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writeAccommodation() throws IOException {
+        return mapper.writeValueAsBytes(accommodation);
+    }
+
+    @Benchmark
+    public byte[] writeBooking() throws IOException {
+        return mapper.writeValueAsBytes(booking);
+    }
+
+    @Benchmark
+    public CreateAccommodation readCreateAccommodation() throws IOException {
+        return mapper.readValue(createAccommodation, CreateAccommodation.class);
+    }
+
+    @Benchmark
+    public BookAccommodation readBookAccommodation() throws IOException {
+        return mapper.readValue(bookAccommodation, BookAccommodation.class);
+    }
+}
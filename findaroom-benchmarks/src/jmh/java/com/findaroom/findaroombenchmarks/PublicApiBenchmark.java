@@ -0,0 +1,111 @@
+package com.findaroom.findaroombenchmarks;
+
+import com.findaroom.findaroomcore.FindaroomCoreApplication;
+import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.repository.AccommodationRepository;
+import com.findaroom.findaroomcore.repository.ReviewRepository;
+import com.findaroom.findaroomcore.service.search.SearchProjection;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PublicApiBenchmark {
+
+    private MongoServer mongo;
+    private ConfigurableApplicationContext context;
+    private WebTestClient webTestClient;
+    private String accommodationId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongo.bind();
+
+        context = new SpringApplicationBuilder(FindaroomCoreApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .initializers((GenericApplicationContext ctx) -> ctx.registerBean(ReactiveJwtDecoder.class,
+                        () -> token -> Mono.error(new BadJwtException("Benchmarks only call public endpoints"))))
+                .run("--spring.config.name=benchmark", "--spring.data.mongodb.port=" + address.getPort());
+
+        var accommodations = IntStream.range(0, 100)
+                .mapToObj(i -> BenchmarkPojos.accommodation())
+                .collect(toList());
+        accommodationId = context.getBean(AccommodationRepository.class)
+                .saveAll(accommodations)
+                .map(Accommodation::getAccommodationId)
+                .blockLast();
+        context.getBean(ReviewRepository.class)
+                .saveAll(Flux.range(0, 20).map(i -> BenchmarkPojos.review(accommodationId)))
+                .blockLast();
+        context.getBean(SearchProjection.class)
+                .rebuild()
+                .block();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        mongo.shutdownNow();
+    }
+
+    @Benchmark
+    public byte[] searchAccommodations() {
+        return webTestClient.get()
+                .uri("/api/v1/public/accommodations?city=city&size=20")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] searchAccommodationSummaries() {
+        return webTestClient.get()
+                .uri("/api/v1/public/accommodations?city=city&size=20&view=summary")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] getAccommodationById() {
+        return webTestClient.get()
+                .uri("/api/v1/public/accommodations/{id}", accommodationId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] getAccommodationReviews() {
+        return webTestClient.get()
+                .uri("/api/v1/public/accommodations/{id}/reviews?size=10", accommodationId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+    }
+}
@@ -0,0 +1,69 @@
+package com.findaroom.findaroomcore.config;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static com.findaroom.findaroomcore.config.CodecConfig.isStreaming;
+
+@Configuration
+public class HttpCachingConfig {
+
+    private static final PathPattern PUBLIC_API = new PathPatternParser().parse("/api/v1/public/**");
+
+    @Bean
+    public WebFilter publicApiCachingFilter(@Value("${findaroom.http.public-max-age:30s}") Duration maxAge) {
+        var cacheControl = CacheControl.maxAge(maxAge).cachePublic().getHeaderValue();
+        return (exchange, chain) -> {
+            var request = exchange.getRequest();
+            if (!HttpMethod.GET.equals(request.getMethod()) || !PUBLIC_API.matches(request.getPath().pathWithinApplication())) {
+                return chain.filter(exchange);
+            }
+            return chain.filter(exchange.mutate().response(new ShallowEtagResponse(exchange, cacheControl)).build());
+        };
+    }
+
+    private static class ShallowEtagResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String cacheControl;
+
+        ShallowEtagResponse(ServerWebExchange exchange, String cacheControl) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.cacheControl = cacheControl;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (getStatusCode() != null && getStatusCode() != HttpStatus.OK || isStreaming(getHeaders().getContentType())) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                var content = new byte[joined.readableByteCount()];
+                joined.read(content);
+                DataBufferUtils.release(joined);
+                getHeaders().setCacheControl(cacheControl);
+                if (exchange.checkNotModified("\"" + DigestUtils.md5DigestAsHex(content) + "\"")) {
+                    return setComplete();
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(content)));
+            });
+        }
+    }
+}
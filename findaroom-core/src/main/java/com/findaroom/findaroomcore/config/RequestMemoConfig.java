@@ -0,0 +1,15 @@
+package com.findaroom.findaroomcore.config;
+
+import com.findaroom.findaroomcore.utils.RequestMemo;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.server.WebFilter;
+
+@Configuration
+public class RequestMemoConfig {
+
+    @Bean
+    public WebFilter requestMemoFilter() {
+        return (exchange, chain) -> chain.filter(exchange).subscriberContext(RequestMemo::open);
+    }
+}
@@ -1,12 +1,16 @@
 package com.findaroom.findaroomcore.config;
 
+import com.findaroom.findaroomsecurity.ResourceServerJwtConfig;
 import com.okta.spring.boot.oauth.Okta;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
 @EnableWebFluxSecurity
+@Import(ResourceServerJwtConfig.class)
 public class SecurityConfig {
 
     @Bean
@@ -17,6 +21,9 @@ public class SecurityConfig {
                 .pathMatchers("/api/v1/public/**").permitAll()
                 .pathMatchers("/api/v1/user-ops/**").authenticated()
                 .pathMatchers("/api/v1/host-ops/**").hasAuthority("host")
+                .pathMatchers("/actuator/health").permitAll()
+                .pathMatchers(HttpMethod.POST, "/actuator/**").hasAuthority("admin")
+                .pathMatchers("/actuator/**").authenticated()
                 .and()
                 .oauth2ResourceServer().jwt();
 
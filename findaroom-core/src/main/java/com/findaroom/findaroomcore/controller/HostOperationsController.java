@@ -7,6 +7,7 @@ import com.findaroom.findaroomcore.domain.Accommodation;
 import com.findaroom.findaroomcore.domain.Booking;
 import com.findaroom.findaroomcore.service.HostOperationsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +16,8 @@ import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 
+import static com.findaroom.findaroomcore.utils.CursorUtils.withNextCursor;
+
 @RestController
 @RequestMapping("/api/v1/host-ops")
 @RequiredArgsConstructor
@@ -23,16 +26,18 @@ public class HostOperationsController {
     private final HostOperationsService hostOps;
 
     @GetMapping("/my-accommodations")
-    public Flux<Accommodation> getHostAccommodations(AccommodationSearchFilter filter,
-                                                     @AuthenticationPrincipal Jwt jwt) {
-        return hostOps.findAccommodationsByHostId(jwt.getSubject(), filter);
+    public Flux<Object> getHostAccommodations(AccommodationSearchFilter filter,
+                                              @AuthenticationPrincipal Jwt jwt,
+                                              ServerHttpResponse response) {
+        return withNextCursor(response, filter, hostOps.findAccommodationsByHostId(jwt.getSubject(), filter));
     }
 
     @GetMapping("/my-accommodations/{accommodationId}/bookings")
-    public Flux<Booking> getAccommodationBookings(@PathVariable String accommodationId,
-                                                  BookingSearchFilter filter,
-                                                  @AuthenticationPrincipal Jwt jwt) {
-        return hostOps.findAccommodationBookingsByFilter(accommodationId, jwt.getSubject(), filter);
+    public Flux<Object> getAccommodationBookings(@PathVariable String accommodationId,
+                                                 BookingSearchFilter filter,
+                                                 @AuthenticationPrincipal Jwt jwt,
+                                                 ServerHttpResponse response) {
+        return withNextCursor(response, filter, hostOps.findAccommodationBookingsByFilter(accommodationId, jwt.getSubject(), filter));
     }
 
     @PatchMapping("/my-accommodations/{accommodationId}")
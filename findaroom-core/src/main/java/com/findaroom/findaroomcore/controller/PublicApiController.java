@@ -3,16 +3,24 @@ package com.findaroom.findaroomcore.controller;
 import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
 import com.findaroom.findaroomcore.controller.filter.ReviewSearchFilter;
 import com.findaroom.findaroomcore.domain.Accommodation;
-import com.findaroom.findaroomcore.domain.Review;
+import com.findaroom.findaroomcore.domain.AccommodationSummary;
+import com.findaroom.findaroomcore.domain.Nearby;
+import com.findaroom.findaroomcore.domain.SearchFacets;
 import com.findaroom.findaroomcore.service.PublicApiService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
+import static com.findaroom.findaroomcore.utils.CursorUtils.withNextCursor;
+
 @RestController
 @RequestMapping("/api/v1/public")
 @RequiredArgsConstructor
@@ -21,8 +29,35 @@ public class PublicApiController {
     private final PublicApiService publicApi;
 
     @GetMapping("/accommodations")
-    public Flux<Accommodation> getAccommodations(AccommodationSearchFilter filter) {
-        return publicApi.findAccommodationsByFilter(filter);
+    public Flux<Object> getAccommodations(AccommodationSearchFilter filter,
+                                          ServerHttpResponse response) {
+        return withNextCursor(response, filter, publicApi.findAccommodationsByFilter(filter));
+    }
+
+    @GetMapping(value = "/accommodations", params = "view=summary")
+    public Flux<Object> getAccommodationSummaries(AccommodationSearchFilter filter,
+                                                  ServerHttpResponse response) {
+        return withNextCursor(response, filter, publicApi.findAccommodationSummariesByFilter(filter));
+    }
+
+    @GetMapping("/accommodations/facets")
+    public Mono<SearchFacets> getAccommodationFacets(AccommodationSearchFilter filter) {
+        return publicApi.countAccommodationFacetsByFilter(filter);
+    }
+
+    @GetMapping("/accommodations/nearby")
+    public Flux<Nearby<Accommodation>> getNearbyAccommodations(AccommodationSearchFilter filter) {
+        return publicApi.findNearbyAccommodationsByFilter(filter);
+    }
+
+    @GetMapping(value = "/accommodations/nearby", params = "view=summary")
+    public Flux<Nearby<AccommodationSummary>> getNearbyAccommodationSummaries(AccommodationSearchFilter filter) {
+        return publicApi.findNearbyAccommodationSummariesByFilter(filter);
+    }
+
+    @GetMapping("/accommodations/batch")
+    public Flux<Accommodation> getAccommodationsByIds(@RequestParam List<String> ids) {
+        return publicApi.findAccommodationsByIds(ids);
     }
 
     @GetMapping("/accommodations/{accommodationId}")
@@ -31,8 +66,16 @@ public class PublicApiController {
     }
 
     @GetMapping("/accommodations/{accommodationId}/reviews")
-    public Flux<Review> getAccommodationReviews(@PathVariable String accommodationId,
-                                                ReviewSearchFilter filter) {
-        return publicApi.findAccommodationReviewsByFilter(accommodationId, filter);
+    public Flux<Object> getAccommodationReviews(@PathVariable String accommodationId,
+                                                ReviewSearchFilter filter,
+                                                ServerHttpResponse response) {
+        return withNextCursor(response, filter, publicApi.findAccommodationReviewsByFilter(accommodationId, filter));
+    }
+
+    @GetMapping("/accommodations/{accommodationId}/reviews/relevant")
+    public Flux<Object> getRelevantAccommodationReviews(@PathVariable String accommodationId,
+                                                        ReviewSearchFilter filter,
+                                                        ServerHttpResponse response) {
+        return withNextCursor(response, filter, publicApi.findRelevantAccommodationReviewsByFilter(accommodationId, filter));
     }
 }
@@ -13,6 +13,7 @@ import com.findaroom.findaroomcore.domain.Review;
 import com.findaroom.findaroomcore.service.UserOperationsService;
 import com.findaroom.findaroomcore.utils.ClaimUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +22,7 @@ import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 
+import static com.findaroom.findaroomcore.utils.CursorUtils.withNextCursor;
 import static org.springframework.http.HttpStatus.CREATED;
 
 @RestController
@@ -31,21 +33,24 @@ public class UserOperationsController {
     private final UserOperationsService userOps;
 
     @GetMapping("/my-bookings")
-    public Flux<Booking> getUserBookings(BookingSearchFilter filter,
-                                         @AuthenticationPrincipal Jwt jwt) {
-        return userOps.findBookingsByUserId(jwt.getSubject(), filter);
+    public Flux<Object> getUserBookings(BookingSearchFilter filter,
+                                        @AuthenticationPrincipal Jwt jwt,
+                                        ServerHttpResponse response) {
+        return withNextCursor(response, filter, userOps.findBookingsByUserId(jwt.getSubject(), filter));
     }
 
     @GetMapping("/my-reviews")
-    public Flux<Review> getUserReviews(ReviewSearchFilter filter,
-                                       @AuthenticationPrincipal Jwt jwt) {
-        return userOps.findReviewsByUserId(jwt.getSubject(), filter);
+    public Flux<Object> getUserReviews(ReviewSearchFilter filter,
+                                       @AuthenticationPrincipal Jwt jwt,
+                                       ServerHttpResponse response) {
+        return withNextCursor(response, filter, userOps.findReviewsByUserId(jwt.getSubject(), filter));
     }
 
     @GetMapping("/my-favorites")
-    public Flux<Accommodation> getUserFavorites(AccommodationSearchFilter filter,
-                                                @AuthenticationPrincipal Jwt jwt) {
-        return userOps.findUserFavorites(ClaimUtils.favorites(jwt), filter);
+    public Flux<Object> getUserFavorites(AccommodationSearchFilter filter,
+                                         @AuthenticationPrincipal Jwt jwt,
+                                         ServerHttpResponse response) {
+        return withNextCursor(response, filter, userOps.findUserFavorites(ClaimUtils.favorites(jwt), filter));
     }
 
     @GetMapping("/my-bookings/{bookingId}")
@@ -10,6 +10,8 @@ import javax.validation.GroupSequence;
 import javax.validation.constraints.Future;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Getter
 @Setter
@@ -22,4 +24,8 @@ public class BookingDates {
 
     @NotNull @Future @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkin;
     @NotNull @Future @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkout;
+
+    public List<LocalDate> occupiedDates() {
+        return checkin.datesUntil(checkout.plusDays(1)).collect(Collectors.toList());
+    }
 }
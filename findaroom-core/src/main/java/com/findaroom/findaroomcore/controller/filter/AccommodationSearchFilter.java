@@ -13,9 +13,11 @@ import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
 
 @Setter
-@FieldDefaults(level = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PROTECTED)
 public class AccommodationSearchFilter extends PagingAndSortingFilter {
 
     Double pricePerNight;
@@ -37,6 +39,29 @@ public class AccommodationSearchFilter extends PagingAndSortingFilter {
     Double ne_lng;
     Double sw_lat;
     Double sw_lng;
+    Double lat;
+    Double lng;
+    Double radius;
+
+    public String searchKey() {
+        return new StringJoiner("&")
+                .add("pricePerNight=" + pricePerNight)
+                .add("rating=" + rating)
+                .add("maxGuests=" + maxGuests)
+                .add("hostId=" + hostId)
+                .add("superHost=" + superHost)
+                .add("type=" + sorted(type))
+                .add("country=" + country)
+                .add("city=" + city)
+                .add("amenities=" + (amenities == null ? null : Amenity.toMask(amenities)))
+                .add("checkin=" + checkin)
+                .add("checkout=" + checkout)
+                .add("exclude=" + sorted(exclude))
+                .add("select=" + sorted(select))
+                .add("box=" + ne_lat + "," + ne_lng + "," + sw_lat + "," + sw_lng)
+                .add(pagingKey())
+                .toString();
+    }
 
     public Mono<BookingDates> getBookingDates() {
         return Mono.zip(getCheckin(), getCheckout(), BookingDates::new);
@@ -54,6 +79,10 @@ public class AccommodationSearchFilter extends PagingAndSortingFilter {
         return Mono.zip(getSwGeoPoint(), getNeGeoPoint(), Box::new);
     }
 
+    public Mono<Point> getNearPoint() {
+        return Mono.zip(getLng(), getLat(), Point::new);
+    }
+
     public Mono<Double> getPricePerNight() {
         return Mono.justOrEmpty(pricePerNight);
     }
@@ -121,4 +150,22 @@ public class AccommodationSearchFilter extends PagingAndSortingFilter {
     public Mono<Double> getSw_lng() {
         return Mono.justOrEmpty(sw_lng);
     }
+
+    public Mono<Double> getLat() {
+        return Mono.justOrEmpty(lat);
+    }
+
+    public Mono<Double> getLng() {
+        return Mono.justOrEmpty(lng);
+    }
+
+    public Mono<Double> getRadius() {
+        return Mono
+                .justOrEmpty(radius)
+                .defaultIfEmpty(10.0);
+    }
+
+    private static <T extends Comparable<? super T>> List<T> sorted(List<T> values) {
+        return values == null ? null : values.stream().distinct().sorted().collect(Collectors.toList());
+    }
 }
@@ -14,7 +14,7 @@ import java.util.List;
 
 @Setter
 @NoArgsConstructor
-@FieldDefaults(level = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PROTECTED)
 public class BookingSearchFilter extends PagingAndSortingFilter {
 
     String accommodationId;
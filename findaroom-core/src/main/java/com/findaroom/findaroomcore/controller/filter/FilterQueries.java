@@ -0,0 +1,121 @@
+package com.findaroom.findaroomcore.controller.filter;
+
+import com.findaroom.findaroomcore.domain.enums.Amenity;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Box;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+
+import static org.springframework.data.domain.Sort.DEFAULT_DIRECTION;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FilterQueries {
+
+    private static final int DEFAULT_PAGE = 0;
+    private static final int DEFAULT_SIZE = 10;
+
+    public static Query toQuery(AccommodationSearchFilter filter) {
+
+        var query = query(where("listed").is(true));
+
+        if (filter.pricePerNight != null) {
+            query.addCriteria(where("pricePerNight").lte(filter.pricePerNight));
+        }
+        if (filter.rating != null) {
+            query.addCriteria(where("rating").gte(filter.rating));
+        }
+        if (filter.maxGuests != null) {
+            query.addCriteria(where("maxGuests").gte(filter.maxGuests));
+        }
+        if (filter.hostId != null) {
+            query.addCriteria(where("host.hostId").is(filter.hostId));
+        }
+        if (filter.superHost != null) {
+            query.addCriteria(where("host.superHost").is(filter.superHost));
+        }
+        if (filter.type != null) {
+            query.addCriteria(where("type").in(filter.type));
+        }
+        if (filter.country != null) {
+            query.addCriteria(where("address.country").is(filter.country));
+        }
+        if (filter.city != null) {
+            query.addCriteria(where("address.city").is(filter.city));
+        }
+        if (filter.amenities != null) {
+            query.addCriteria(where("amenitiesMask").bits().allSet(Amenity.toMask(filter.amenities)));
+        }
+        if (filter.exclude != null) {
+            query.addCriteria(where("accommodationId").nin(filter.exclude));
+        }
+        if (filter.select != null) {
+            query.addCriteria(where("accommodationId").in(filter.select));
+        }
+        if (filter.sw_lng != null && filter.sw_lat != null && filter.ne_lng != null && filter.ne_lat != null) {
+            var box = new Box(new Point(filter.sw_lng, filter.sw_lat), new Point(filter.ne_lng, filter.ne_lat));
+            query.addCriteria(where("address.location").within(box));
+        }
+
+        return query.with(toPageable(filter));
+    }
+
+    public static Query toQuery(BookingSearchFilter filter) {
+
+        var query = new Query();
+
+        if (filter.accommodationId != null) {
+            query.addCriteria(where("accommodationId").is(filter.accommodationId));
+        }
+        if (filter.userId != null) {
+            query.addCriteria(where("userId").is(filter.userId));
+        }
+        if (filter.status != null) {
+            query.addCriteria(where("status").in(filter.status));
+        }
+        if (filter.checkin != null && filter.checkout != null) {
+            query.addCriteria(where("checkout").gte(filter.checkin).andOperator(where("checkin").lte(filter.checkout)));
+        }
+
+        return query.with(toPageable(filter));
+    }
+
+    public static Query toQuery(ReviewSearchFilter filter) {
+
+        var query = new Query();
+
+        if (filter.accommodationId != null) {
+            query.addCriteria(where("accommodationId").is(filter.accommodationId));
+        }
+        if (filter.userId != null) {
+            query.addCriteria(where("userId").is(filter.userId));
+        }
+        if (filter.bookingId != null) {
+            query.addCriteria(where("bookingId").is(filter.bookingId));
+        }
+        if (filter.rating != null) {
+            query.addCriteria(where("rating").gte(filter.rating));
+        }
+        if (filter.q != null) {
+            query.addCriteria(TextCriteria.forDefaultLanguage().matchingAny(filter.q.split(" ")).caseSensitive(false));
+        }
+
+        return query.with(toPageable(filter));
+    }
+
+    public static Pageable toPageable(PagingAndSortingFilter filter) {
+
+        var page = filter.page == null || filter.cursor != null ? DEFAULT_PAGE : filter.page;
+        var size = filter.size == null ? DEFAULT_SIZE : filter.size;
+        var direction = filter.direction == null ? DEFAULT_DIRECTION : Sort.Direction.fromString(filter.direction);
+        var sort = filter.sortBy == null ? Sort.unsorted() : Sort.by(direction, filter.sortBy.toArray(new String[0]));
+
+        return PageRequest.of(page, size, sort);
+    }
+}
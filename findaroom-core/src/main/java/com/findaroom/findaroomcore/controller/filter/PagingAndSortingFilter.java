@@ -3,12 +3,11 @@ package com.findaroom.findaroomcore.controller.filter;
 import lombok.AccessLevel;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.StringJoiner;
 
 import static org.springframework.data.domain.Sort.DEFAULT_DIRECTION;
 
@@ -20,22 +19,14 @@ public class PagingAndSortingFilter {
     Integer size;
     List<String> sortBy;
     String direction;
-
-    public Mono<Pageable> getPageable() {
-        return Mono
-                .zip(getPage(), getSize(), getSort())
-                .map(t -> PageRequest.of(t.getT1(), t.getT2(), t.getT3()));
-    }
-
-    public Mono<Sort> getSort() {
-        return Mono
-                .zip(getDirection(), getSortBy(), Sort::by)
-                .defaultIfEmpty(Sort.unsorted());
-    }
+    String cursor;
+    @Setter(AccessLevel.NONE)
+    String nextCursor;
 
     public Mono<Integer> getPage() {
         return Mono
                 .justOrEmpty(page)
+                .filter(p -> cursor == null)
                 .defaultIfEmpty(0);
     }
 
@@ -55,4 +46,26 @@ public class PagingAndSortingFilter {
                 .map(Sort.Direction::fromString)
                 .defaultIfEmpty(DEFAULT_DIRECTION);
     }
+
+    public Mono<String> getCursor() {
+        return Mono.justOrEmpty(cursor);
+    }
+
+    public Mono<String> getNextCursor() {
+        return Mono.justOrEmpty(nextCursor);
+    }
+
+    protected String pagingKey() {
+        return new StringJoiner("&")
+                .add("page=" + (cursor == null ? page : null))
+                .add("size=" + size)
+                .add("sortBy=" + sortBy)
+                .add("direction=" + (direction == null ? null : direction.toUpperCase()))
+                .add("cursor=" + cursor)
+                .toString();
+    }
+
+    public void continueWith(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
@@ -6,7 +6,7 @@ import lombok.experimental.FieldDefaults;
 import reactor.core.publisher.Mono;
 
 @Setter
-@FieldDefaults(level = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PROTECTED)
 public class ReviewSearchFilter extends PagingAndSortingFilter {
 
     String accommodationId;
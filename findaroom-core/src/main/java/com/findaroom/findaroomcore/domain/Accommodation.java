@@ -1,7 +1,7 @@
 package com.findaroom.findaroomcore.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.findaroom.findaroomcore.controller.event.CreateAccommodation;
-import com.findaroom.findaroomcore.controller.event.UpdateAccommodation;
 import com.findaroom.findaroomcore.domain.enums.AccommodationType;
 import com.findaroom.findaroomcore.domain.enums.Amenity;
 import lombok.AccessLevel;
@@ -9,15 +9,19 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Data
 @Document(collection = "accommodations")
+@CompoundIndex(name = "listed_city_price_rating", def = "{'listed': 1, 'address.city': 1, 'pricePerNight': 1, 'rating': 1}")
+@CompoundIndex(name = "host_listed", def = "{'host.hostId': 1, 'listed': 1}")
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Accommodation {
@@ -29,6 +33,10 @@ public class Accommodation {
     @Indexed
     double pricePerNight;
     double rating;
+    @JsonIgnore
+    double ratingSum;
+    @JsonIgnore
+    int ratingCount;
     int maxGuests;
     boolean listed;
     int restrooms;
@@ -38,10 +46,12 @@ public class Accommodation {
     AccommodationType type;
     Address address;
     List<Amenity> amenities;
+    @JsonIgnore
+    int amenitiesMask;
     List<Image> images;
 
     public static Accommodation of(String name, String description, double pricePerNight, int maxGuests, int restrooms, int bedrooms, int beds, Host host, AccommodationType type, Address address, List<Amenity> amenities, List<Image> images) {
-        return new Accommodation(null, name, description, pricePerNight, 0.0d, maxGuests, true, restrooms, bedrooms, beds, host, type, address, amenities, images);
+        return new Accommodation(null, name, description, pricePerNight, 0.0d, 0.0d, 0, maxGuests, true, restrooms, bedrooms, beds, host, type, address, amenities, Amenity.toMask(amenities), images);
     }
 
     public static Accommodation from(String userId, boolean superHost, CreateAccommodation create) {
@@ -61,23 +71,24 @@ public class Accommodation {
         );
     }
 
-    public Accommodation updateWith(UpdateAccommodation update) {
-        this.name = update.getName();
-        this.description = update.getDescription();
-        this.pricePerNight = update.getPricePerNight();
-        this.maxGuests = update.getMaxGuests();
-        this.restrooms = update.getRestrooms();
-        this.bedrooms = update.getBedrooms();
-        this.beds = update.getBeds();
-        this.type = update.getType();
-        this.amenities = update.getAmenities();
-        return this;
+    public void setAmenities(List<Amenity> amenities) {
+        this.amenities = amenities;
+        this.amenitiesMask = Amenity.toMask(amenities);
+    }
+
+    public double averageRating() {
+        return this.ratingCount == 0 ? 0.0d : this.ratingSum / this.ratingCount;
     }
 
     public boolean fitsGuests(int guests) {
         return this.maxGuests >= guests;
     }
 
+    public boolean hasAmenities(Collection<Amenity> required) {
+        var mask = Amenity.toMask(required);
+        return (this.amenitiesMask & mask) == mask;
+    }
+
     public boolean hasHostWithId(String userId) {
         return Objects.equals(this.host.getHostId(), userId);
     }
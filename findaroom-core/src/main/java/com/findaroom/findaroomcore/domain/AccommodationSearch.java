@@ -0,0 +1,74 @@
+package com.findaroom.findaroomcore.domain;
+
+import com.findaroom.findaroomcore.domain.enums.AccommodationType;
+import com.findaroom.findaroomcore.domain.enums.Amenity;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Document(collection = "accommodation_search")
+@CompoundIndex(name = "listed_city_price_rating", def = "{'listed': 1, 'address.city': 1, 'pricePerNight': 1, 'rating': 1}")
+@CompoundIndex(name = "listed_country_price_rating", def = "{'listed': 1, 'address.country': 1, 'pricePerNight': 1, 'rating': 1}")
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AccommodationSearch {
+
+    @Id
+    String accommodationId;
+    boolean listed;
+    double pricePerNight;
+    double rating;
+    int maxGuests;
+    @Field("host.hostId")
+    String hostId;
+    @Field("host.superHost")
+    boolean superHost;
+    AccommodationType type;
+    @Field("address.country")
+    String country;
+    @Field("address.city")
+    String city;
+    @Field("address.location")
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    GeoJsonPoint location;
+    List<Amenity> amenities;
+    int amenitiesMask;
+    @Indexed
+    LocalDate nextAvailable;
+    @Indexed
+    Instant projectedAt;
+
+    public static AccommodationSearch of(Accommodation accommodation, LocalDate nextAvailable) {
+        return new AccommodationSearch(
+                accommodation.getAccommodationId(),
+                accommodation.isListed(),
+                accommodation.getPricePerNight(),
+                accommodation.getRating(),
+                accommodation.getMaxGuests(),
+                accommodation.getHost().getHostId(),
+                accommodation.getHost().isSuperHost(),
+                accommodation.getType(),
+                accommodation.getAddress().getCountry(),
+                accommodation.getAddress().getCity(),
+                accommodation.getAddress().getLocation(),
+                accommodation.getAmenities(),
+                accommodation.getAmenitiesMask(),
+                nextAvailable,
+                Instant.now()
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package com.findaroom.findaroomcore.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AccommodationSummary {
+
+    @Id
+    String accommodationId;
+    String name;
+    double pricePerNight;
+    double rating;
+    @Field("address.city")
+    String city;
+    @Field("address.location")
+    GeoJsonPoint location;
+    @JsonIgnore
+    List<Image> images;
+
+    public Image getImage() {
+        return images == null || images.isEmpty() ? null : images.get(0);
+    }
+}
@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.IndexDirection;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -23,6 +24,9 @@ import static com.findaroom.findaroomcore.domain.enums.BookingStatus.PENDING;
 
 @Data
 @Document(collection = "bookings")
+@CompoundIndex(name = "accommodation_status_dates", def = "{'accommodationId': 1, 'status': 1, 'checkin': 1, 'checkout': 1}")
+@CompoundIndex(name = "user_status_dates", def = "{'userId': 1, 'status': 1, 'checkin': 1, 'checkout': 1}")
+@CompoundIndex(name = "status_checkout", def = "{'status': 1, 'checkout': 1}")
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Booking {
@@ -40,9 +44,12 @@ public class Booking {
     int guests;
     Instant createTime;
     BookingStatus status;
+    @JsonIgnore
+    @Indexed(sparse = true)
+    String cancellationId;
 
     public static Booking of(String accommodationId, String userId, LocalDate checkin, LocalDate checkout, int guests) {
-        return new Booking(null, accommodationId, userId, checkin, checkout, guests, Instant.now().truncatedTo(ChronoUnit.MILLIS), PENDING);
+        return new Booking(null, accommodationId, userId, checkin, checkout, guests, Instant.now().truncatedTo(ChronoUnit.MILLIS), PENDING, null);
     }
 
     public static Booking from(String accommodationId, String userId, BookAccommodation book) {
@@ -0,0 +1,15 @@
+package com.findaroom.findaroomcore.domain;
+
+import lombok.Value;
+import reactor.core.publisher.Flux;
+
+@Value(staticConstructor = "of")
+public class BulkCancellation {
+
+    long cancelledCount;
+    Flux<String> bookingIds;
+
+    public static BulkCancellation none() {
+        return BulkCancellation.of(0, Flux.empty());
+    }
+}
@@ -0,0 +1,9 @@
+package com.findaroom.findaroomcore.domain;
+
+import lombok.Value;
+
+@Value(staticConstructor = "of")
+public class NextCursor {
+
+    String nextCursor;
+}
@@ -0,0 +1,32 @@
+package com.findaroom.findaroomcore.domain;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+@Data
+@Document(collection = "reservations")
+@CompoundIndex(name = "accommodation_date", def = "{'accommodationId': 1, 'date': 1}", unique = true)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class Reservation {
+
+    @Id
+    String reservationId;
+    String accommodationId;
+    @Indexed
+    String bookingId;
+    @Indexed(expireAfterSeconds = 86400)
+    LocalDate date;
+
+    public static Reservation of(String accommodationId, String bookingId, LocalDate date) {
+        return new Reservation(null, accommodationId, bookingId, date);
+    }
+}
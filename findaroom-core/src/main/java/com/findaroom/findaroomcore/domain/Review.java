@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -15,6 +16,8 @@ import java.time.temporal.ChronoUnit;
 
 @Data
 @Document(collection = "reviews")
+@CompoundIndex(name = "accommodation_rating", def = "{'accommodationId': 1, 'rating': 1}")
+@CompoundIndex(name = "user_rating", def = "{'userId': 1, 'rating': 1}")
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Review {
@@ -0,0 +1,12 @@
+package com.findaroom.findaroomcore.domain;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.Value;
+
+@Value(staticConstructor = "of")
+public class Scored<T> {
+
+    @JsonUnwrapped
+    T result;
+    double score;
+}
@@ -0,0 +1,26 @@
+package com.findaroom.findaroomcore.domain;
+
+import com.findaroom.findaroomcore.domain.enums.AccommodationType;
+import com.findaroom.findaroomcore.domain.enums.Amenity;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+@Value(staticConstructor = "of")
+public class SearchFacets {
+
+    long total;
+    Map<AccommodationType, Long> types;
+    Map<Amenity, Long> amenities;
+    List<PriceBucket> prices;
+    long superHosts;
+
+    @Value(staticConstructor = "of")
+    public static class PriceBucket {
+
+        double min;
+        Double max;
+        long count;
+    }
+}
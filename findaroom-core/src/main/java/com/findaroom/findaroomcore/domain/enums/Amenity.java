@@ -2,25 +2,53 @@ package com.findaroom.findaroomcore.domain.enums;
 
 import lombok.Getter;
 
+import java.util.Collection;
+import java.util.EnumSet;
+
 @Getter
 public enum Amenity {
 
-    WIFI("Wifi"),
-    TV("TV"),
-    AC("AC"),
-    KITCHEN("Kitchen"),
-    OVEN("Oven"),
-    STOVE("Stove"),
-    FRIDGE("Fridge"),
-    WASHING_MACHINE("Washing Machine"),
-    ESSENTIALS("Essentials"),
-    ELEVATOR("Elevator"),
-    PARKING_SPOT("Parking Spot");
+    WIFI("Wifi", 0),
+    TV("TV", 1),
+    AC("AC", 2),
+    KITCHEN("Kitchen", 3),
+    OVEN("Oven", 4),
+    STOVE("Stove", 5),
+    FRIDGE("Fridge", 6),
+    WASHING_MACHINE("Washing Machine", 7),
+    ESSENTIALS("Essentials", 8),
+    ELEVATOR("Elevator", 9),
+    PARKING_SPOT("Parking Spot", 10);
 
     private final String amenity;
+    private final int bit;
 
-    Amenity(String amenity) {
+    Amenity(String amenity, int bit) {
         this.amenity = amenity;
+        this.bit = bit;
+    }
+
+    public int mask() {
+        return 1 << bit;
     }
-}
 
+    public static int toMask(Collection<Amenity> amenities) {
+        var mask = 0;
+        if (amenities != null) {
+            for (Amenity amenity : amenities) {
+                mask |= amenity.mask();
+            }
+        }
+        return mask;
+    }
+
+    public static EnumSet<Amenity> fromMask(int mask) {
+        var amenities = EnumSet.noneOf(Amenity.class);
+        for (Amenity amenity : values()) {
+            if ((mask & amenity.mask()) != 0) {
+                amenities.add(amenity);
+            }
+        }
+        return amenities;
+    }
+}
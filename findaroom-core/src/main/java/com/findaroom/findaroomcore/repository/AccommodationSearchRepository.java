@@ -0,0 +1,13 @@
+package com.findaroom.findaroomcore.repository;
+
+import com.findaroom.findaroomcore.domain.AccommodationSearch;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface AccommodationSearchRepository extends ReactiveMongoRepository<AccommodationSearch, String>, CustomAccommodationSearchRepository {
+
+    Mono<Void> deleteByProjectedAtBefore(Instant projectedAt);
+
+}
@@ -4,6 +4,7 @@ import com.findaroom.findaroomcore.domain.Booking;
 import com.findaroom.findaroomcore.domain.enums.BookingStatus;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
@@ -11,11 +12,12 @@ import java.util.List;
 
 public interface BookingRepository extends ReactiveMongoRepository<Booking, String>, CustomBookingRepository {
 
-    Mono<Booking> findByBookingIdAndAccommodationId(String bookingId, String accommodationId);
+    @Override
+    Mono<Booking> findById(String bookingId);
 
-    Mono<Booking> findByBookingIdAndAccommodationIdAndUserId(String bookingId, String accommodationId, String userId);
+    Flux<Booking> findByStatusInAndCheckoutAfter(List<BookingStatus> status, LocalDate date);
 
-    Mono<Booking> findByBookingIdAndUserId(String bookingId, String userId);
+    Flux<Booking> findByAccommodationIdAndStatusInAndCheckoutAfter(String accommodationId, List<BookingStatus> status, LocalDate date);
 
     @Query(value = "{accommodationId:?0,checkout:{$gte:?1},checkin:{$lte:?2},status:{$in:?3}}", count = true)
     Mono<Long> countActiveAccommodationBookingsBetweenDates(String accommodationId, LocalDate checkin, LocalDate checkout, List<BookingStatus> status);
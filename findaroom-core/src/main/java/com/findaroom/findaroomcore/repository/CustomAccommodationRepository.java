@@ -1,10 +1,39 @@
 package com.findaroom.findaroomcore.repository;
 
+import com.findaroom.findaroomcore.controller.event.UpdateAccommodation;
 import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
 import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.domain.AccommodationSummary;
+import com.findaroom.findaroomcore.domain.Nearby;
+import com.findaroom.findaroomcore.domain.SearchFacets;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface CustomAccommodationRepository {
 
+    Mono<Accommodation> findById(String accommodationId);
+
+    Mono<Accommodation> findByAccommodationIdAndHostId(String accommodationId, String hostId);
+
     Flux<Accommodation> findAllByFilter(AccommodationSearchFilter filter);
+
+    Flux<Accommodation> findAllAvailableByFilter(AccommodationSearchFilter filter);
+
+    Flux<AccommodationSummary> findAllAvailableSummariesByFilter(AccommodationSearchFilter filter);
+
+    Flux<Nearby<Accommodation>> findAllAvailableNearby(AccommodationSearchFilter filter);
+
+    Flux<Nearby<AccommodationSummary>> findAllAvailableSummariesNearby(AccommodationSearchFilter filter);
+
+    Mono<SearchFacets> countFacetsByFilter(AccommodationSearchFilter filter);
+
+    Mono<Accommodation> updateDetails(String accommodationId, String hostId, UpdateAccommodation update);
+
+    Mono<Accommodation> unlist(String accommodationId, String hostId);
+
+    Mono<Accommodation> addRating(String accommodationId, double rating);
+
+    Mono<Long> backfillAmenitiesMask();
+
+    Mono<Long> backfillRatings();
 }
@@ -0,0 +1,15 @@
+package com.findaroom.findaroomcore.repository;
+
+import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
+import com.findaroom.findaroomcore.domain.Accommodation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+public interface CustomAccommodationSearchRepository {
+
+    Flux<Accommodation> findAllAvailableByFilter(AccommodationSearchFilter filter);
+
+    Mono<Boolean> updateNextAvailable(String accommodationId, LocalDate nextAvailable);
+}
@@ -1,10 +1,31 @@
 package com.findaroom.findaroomcore.repository;
 
+import com.findaroom.findaroomcore.controller.event.BookingDates;
 import com.findaroom.findaroomcore.controller.filter.BookingSearchFilter;
 import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.domain.BulkCancellation;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface CustomBookingRepository {
 
+    Mono<Booking> findById(String bookingId);
+
+    Mono<Booking> findByBookingIdAndAccommodationId(String bookingId, String accommodationId);
+
+    Mono<Booking> findByBookingIdAndAccommodationIdAndUserId(String bookingId, String accommodationId, String userId);
+
+    Mono<Booking> findByBookingIdAndUserId(String bookingId, String userId);
+
     Flux<Booking> findAllByFilter(BookingSearchFilter filter);
+
+    Mono<Booking> confirmAccommodationBooking(String bookingId, String accommodationId);
+
+    Mono<Booking> cancelAccommodationBooking(String bookingId, String accommodationId);
+
+    Mono<Booking> cancelUserBooking(String bookingId, String userId);
+
+    Mono<Booking> rescheduleUserBooking(String bookingId, String userId, BookingDates dates);
+
+    Mono<BulkCancellation> cancelActiveBookings(String accommodationId);
 }
@@ -0,0 +1,15 @@
+package com.findaroom.findaroomcore.repository;
+
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CustomReservationRepository {
+
+    Mono<Boolean> reserve(String accommodationId, String bookingId, List<LocalDate> dates);
+
+    Mono<Boolean> hold(String accommodationId, String bookingId, List<LocalDate> dates);
+
+    Mono<Boolean> reschedule(String accommodationId, String bookingId, List<LocalDate> dates);
+}
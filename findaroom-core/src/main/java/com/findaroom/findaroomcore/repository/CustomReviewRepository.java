@@ -2,9 +2,12 @@ package com.findaroom.findaroomcore.repository;
 
 import com.findaroom.findaroomcore.controller.filter.ReviewSearchFilter;
 import com.findaroom.findaroomcore.domain.Review;
+import com.findaroom.findaroomcore.domain.Scored;
 import reactor.core.publisher.Flux;
 
 public interface CustomReviewRepository {
 
     Flux<Review> findAllByFilter(ReviewSearchFilter filter);
+
+    Flux<Scored<Review>> findAllRelevantByFilter(ReviewSearchFilter filter);
 }
@@ -0,0 +1,18 @@
+package com.findaroom.findaroomcore.repository;
+
+import com.findaroom.findaroomcore.domain.Reservation;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReservationRepository extends ReactiveMongoRepository<Reservation, String>, CustomReservationRepository {
+
+    Flux<Reservation> findByBookingId(String bookingId);
+
+    Mono<Void> deleteByBookingId(String bookingId);
+
+    Mono<Void> deleteByBookingIdIn(List<String> bookingIds);
+
+}
@@ -0,0 +1,42 @@
+package com.findaroom.findaroomcore.repository.impl;
+
+import com.findaroom.findaroomcore.controller.event.BookingDates;
+import com.findaroom.findaroomcore.domain.Booking;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+
+import java.util.List;
+
+import static com.findaroom.findaroomcore.domain.enums.BookingStatus.activeStates;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class AvailabilityLookups {
+
+    static final String ACTIVE_BOOKINGS = "activeBookings";
+
+    static AggregationOperation lookupActiveBookingsBetweenDates(ReactiveMongoOperations mongoOps, BookingDates dates) {
+
+        var converter = mongoOps.getConverter();
+        var overlapping = new Document("$and", List.of(
+                new Document("$eq", List.of("$accommodationId", "$$accommodationId")),
+                new Document("$in", List.of("$status", converter.convertToMongoType(activeStates()))),
+                new Document("$gte", List.of("$checkout", converter.convertToMongoType(dates.getCheckin()))),
+                new Document("$lte", List.of("$checkin", converter.convertToMongoType(dates.getCheckout())))
+        ));
+
+        return context -> new Document("$lookup", new Document()
+                .append("from", mongoOps.getCollectionName(Booking.class))
+                .append("let", new Document("accommodationId", new Document("$toString", "$_id")))
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("$expr", overlapping)),
+                        new Document("$limit", 1)))
+                .append("as", ACTIVE_BOOKINGS));
+    }
+
+    static AggregationOperation matchWithoutActiveBookings() {
+        return context -> new Document("$match", new Document(ACTIVE_BOOKINGS, new Document("$size", 0)));
+    }
+}
@@ -1,51 +1,383 @@
 package com.findaroom.findaroomcore.repository.impl;
 
+import com.findaroom.findaroomcore.controller.event.BookingDates;
+import com.findaroom.findaroomcore.controller.event.UpdateAccommodation;
 import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
 import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.domain.AccommodationSummary;
+import com.findaroom.findaroomcore.domain.Nearby;
+import com.findaroom.findaroomcore.domain.Review;
+import com.findaroom.findaroomcore.domain.SearchFacets;
+import com.findaroom.findaroomcore.domain.enums.AccommodationType;
+import com.findaroom.findaroomcore.domain.enums.Amenity;
 import com.findaroom.findaroomcore.repository.CustomAccommodationRepository;
-import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.geo.Point;
 import org.springframework.data.mongodb.core.ReactiveMongoOperations;
-import org.springframework.data.mongodb.core.query.CriteriaDefinition;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Field;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.findaroom.findaroomcore.controller.filter.FilterQueries.toQuery;
+import static com.findaroom.findaroomcore.repository.impl.AvailabilityLookups.ACTIVE_BOOKINGS;
+import static com.findaroom.findaroomcore.repository.impl.AvailabilityLookups.lookupActiveBookingsBetweenDates;
+import static com.findaroom.findaroomcore.repository.impl.AvailabilityLookups.matchWithoutActiveBookings;
+import static com.findaroom.findaroomcore.repository.impl.KeysetPagination.continueAfterCursor;
+import static com.findaroom.findaroomcore.repository.impl.KeysetPagination.requireSortable;
+import static com.findaroom.findaroomcore.repository.impl.KeysetPagination.trackNextCursor;
+import static com.findaroom.findaroomcore.utils.RequestMemo.memoize;
+import static com.findaroom.findaroomcore.utils.RequestMemo.remember;
+import static org.springframework.data.mongodb.core.FindAndModifyOptions.options;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
 import static org.springframework.data.mongodb.core.query.Criteria.where;
 import static org.springframework.data.mongodb.core.query.Query.query;
 
-@RequiredArgsConstructor
 public class CustomAccommodationRepositoryImpl implements CustomAccommodationRepository {
 
+    private static final String DISTANCE = "distance";
+    private static final double METERS_PER_KILOMETER = 1000.0;
+    private static final String COUNT = "count";
+    private static final List<Double> PRICE_BOUNDARIES = List.of(0.0, 50.0, 100.0, 150.0, 200.0, 300.0, 500.0);
+    private static final List<String> SUMMARY_FIELDS = List.of("name", "pricePerNight", "rating", "address.city", "address.location");
+
     private final ReactiveMongoOperations mongoOps;
+    private final int cursorBatchSize;
+
+    public CustomAccommodationRepositoryImpl(ReactiveMongoOperations mongoOps,
+                                             @Value("${findaroom.mongo.cursor-batch-size:256}") int cursorBatchSize) {
+        this.mongoOps = mongoOps;
+        this.cursorBatchSize = cursorBatchSize;
+    }
+
+    @Override
+    public Mono<Accommodation> findById(String accommodationId) {
+        return memoize(Accommodation.class, accommodationId, () -> mongoOps.findById(accommodationId, Accommodation.class));
+    }
+
+    @Override
+    public Mono<Accommodation> findByAccommodationIdAndHostId(String accommodationId, String hostId) {
+        return findById(accommodationId).filter(accommodation -> accommodation.hasHostWithId(hostId));
+    }
 
     @Override
     public Flux<Accommodation> findAllByFilter(AccommodationSearchFilter filter) {
+        return findAllByFilter(filter, Accommodation.class);
+    }
+
+    @Override
+    public Flux<Accommodation> findAllAvailableByFilter(AccommodationSearchFilter filter) {
+        return findAllAvailableByFilter(filter, Accommodation.class);
+    }
+
+    @Override
+    public Flux<AccommodationSummary> findAllAvailableSummariesByFilter(AccommodationSearchFilter filter) {
+        return findAllAvailableByFilter(filter, AccommodationSummary.class);
+    }
+
+    @Override
+    public Flux<Nearby<Accommodation>> findAllAvailableNearby(AccommodationSearchFilter filter) {
+        return findAllAvailableNearby(filter, Accommodation.class);
+    }
+
+    @Override
+    public Flux<Nearby<AccommodationSummary>> findAllAvailableSummariesNearby(AccommodationSearchFilter filter) {
+        return findAllAvailableNearby(filter, AccommodationSummary.class);
+    }
+
+    @Override
+    public Mono<SearchFacets> countFacetsByFilter(AccommodationSearchFilter filter) {
+        return filter
+                .getBookingDates()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .map(dates -> toFacetAggregation(toQuery(filter), dates))
+                .flatMap(aggregation -> mongoOps.aggregate(aggregation, Document.class).next())
+                .map(CustomAccommodationRepositoryImpl::toSearchFacets);
+    }
+
+    @Override
+    public Mono<Accommodation> updateDetails(String accommodationId, String hostId, UpdateAccommodation update) {
+
+        var ownedByHost = query(where("accommodationId").is(accommodationId)
+                .and("host.hostId").is(hostId));
+
+        var editable = new Update()
+                .set("name", update.getName())
+                .set("description", update.getDescription())
+                .set("pricePerNight", update.getPricePerNight())
+                .set("maxGuests", update.getMaxGuests())
+                .set("restrooms", update.getRestrooms())
+                .set("bedrooms", update.getBedrooms())
+                .set("beds", update.getBeds())
+                .set("type", update.getType())
+                .set("amenities", update.getAmenities())
+                .set("amenitiesMask", Amenity.toMask(update.getAmenities()));
+
+        return mongoOps
+                .findAndModify(ownedByHost, editable, options().returnNew(true), Accommodation.class)
+                .flatMap(updated -> remember(Accommodation.class, updated.getAccommodationId(), updated));
+    }
+
+    @Override
+    public Mono<Accommodation> unlist(String accommodationId, String hostId) {
+
+        var listedByHost = query(where("accommodationId").is(accommodationId)
+                .and("host.hostId").is(hostId)
+                .and("listed").is(true));
+
+        return mongoOps
+                .findAndModify(listedByHost, Update.update("listed", false), options().returnNew(true), Accommodation.class)
+                .flatMap(unlisted -> remember(Accommodation.class, unlisted.getAccommodationId(), unlisted));
+    }
+
+    @Override
+    public Mono<Accommodation> addRating(String accommodationId, double rating) {
+
+        var update = new Update()
+                .inc("ratingSum", rating)
+                .inc("ratingCount", 1);
+
+        return mongoOps
+                .findAndModify(query(where("accommodationId").is(accommodationId)), update, options().returnNew(true), Accommodation.class)
+                .flatMap(this::updateAverageRating)
+                .flatMap(rated -> remember(Accommodation.class, rated.getAccommodationId(), rated));
+    }
 
-        Query query = query(where("listed").is(true));
+    @Override
+    public Mono<Long> backfillAmenitiesMask() {
+
+        var missing = query(where("amenitiesMask").exists(false));
+        missing.fields().include("amenities");
+
+        return mongoOps
+                .find(missing, Document.class, mongoOps.getCollectionName(Accommodation.class))
+                .flatMap(accommodation -> mongoOps.updateFirst(
+                        query(where("_id").is(accommodation.get("_id"))),
+                        Update.update("amenitiesMask", Amenity.toMask(amenitiesOf(accommodation))),
+                        Accommodation.class))
+                .count();
+    }
+
+    @Override
+    public Mono<Long> backfillRatings() {
+
+        var totals = newAggregation(Review.class, group("accommodationId").sum("rating").as("ratingSum").count().as("ratingCount"));
+
+        return mongoOps
+                .aggregate(totals, Document.class)
+                .flatMap(total -> {
+                    var ratingSum = total.get("ratingSum", Number.class).doubleValue();
+                    var ratingCount = total.get("ratingCount", Number.class).intValue();
+                    var unrated = query(where("accommodationId").is(total.get("_id")).and("ratingCount").not().gt(0));
+                    var ratings = new Update()
+                            .set("ratingSum", ratingSum)
+                            .set("ratingCount", ratingCount)
+                            .set("rating", ratingSum / ratingCount);
+                    return mongoOps.updateFirst(unrated, ratings, Accommodation.class);
+                })
+                .filter(result -> result.getModifiedCount() > 0)
+                .count();
+    }
+
+    private static List<Amenity> amenitiesOf(Document accommodation) {
+        return accommodation.getList("amenities", String.class, List.of()).stream()
+                .map(Amenity::valueOf)
+                .collect(Collectors.toList());
+    }
+
+    private Mono<Accommodation> updateAverageRating(Accommodation accommodation) {
+
+        var average = accommodation.averageRating();
+        var unchangedSinceIncrement = query(where("accommodationId").is(accommodation.getAccommodationId())
+                .and("ratingCount").is(accommodation.getRatingCount()));
+
+        return mongoOps
+                .updateFirst(unchangedSinceIncrement, Update.update("rating", average), Accommodation.class)
+                .doOnNext(result -> accommodation.setRating(average))
+                .thenReturn(accommodation);
+    }
+
+    private <T> Flux<T> findAllAvailableByFilter(AccommodationSearchFilter filter, Class<T> resultType) {
+        return filter
+                .getBookingDates()
+                .map(dates -> findAllAvailableBetweenDates(filter, dates, resultType))
+                .switchIfEmpty(Mono.fromSupplier(() -> findAllByFilter(filter, resultType)))
+                .flatMapMany(Function.identity());
+    }
+
+    private <T> Flux<T> findAllByFilter(AccommodationSearchFilter filter, Class<T> resultType) {
+        return Mono
+                .fromCallable(() -> toQuery(filter).cursorBatchSize(cursorBatchSize))
+                .flatMap(q -> requireSortable(q, mongoOps.getConverter(), resultType))
+                .flatMap(q -> continueAfterCursor(q, filter, mongoOps.getConverter(), Accommodation.class))
+                .doOnNext(q -> restrictFields(q.fields(), resultType))
+                .flatMapMany(q -> {
+                    var accommodations = mongoOps.query(Accommodation.class).as(resultType).matching(q).all();
+                    return trackNextCursor(accommodations, q, filter, mongoOps.getConverter(), resultType);
+                });
+    }
+
+    private <T> Flux<T> findAllAvailableBetweenDates(AccommodationSearchFilter filter, BookingDates dates, Class<T> resultType) {
+        return Mono
+                .fromCallable(() -> toQuery(filter).cursorBatchSize(cursorBatchSize))
+                .flatMap(q -> requireSortable(q, mongoOps.getConverter(), resultType))
+                .flatMap(q -> continueAfterCursor(q, filter, mongoOps.getConverter(), Accommodation.class))
+                .flatMapMany(q -> {
+                    var available = mongoOps.aggregate(toAvailabilityAggregation(q, dates, resultType), resultType);
+                    return trackNextCursor(available, q, filter, mongoOps.getConverter(), resultType);
+                });
+    }
 
-        return toCriteria(filter)
-                .map(query::addCriteria)
-                .then(filter.getPageable())
-                .map(query::with)
-                .flatMapMany(q -> mongoOps.find(q, Accommodation.class));
+    private <T> Flux<Nearby<T>> findAllAvailableNearby(AccommodationSearchFilter filter, Class<T> resultType) {
+        var dates = filter.getBookingDates().map(Optional::of).defaultIfEmpty(Optional.empty());
+        return Mono
+                .zip(filter.getNearPoint(), filter.getRadius(), dates)
+                .map(t -> toNearbyAggregation(toQuery(filter), t.getT1(), t.getT2(), t.getT3(), resultType))
+                .flatMapMany(aggregation -> mongoOps.aggregate(aggregation, Document.class))
+                .map(document -> Nearby.of(
+                        mongoOps.getConverter().read(resultType, document),
+                        document.get(DISTANCE, Number.class).doubleValue() / METERS_PER_KILOMETER));
     }
 
-    private Flux<CriteriaDefinition> toCriteria(AccommodationSearchFilter filter) {
+    private static void restrictFields(Field fields, Class<?> resultType) {
+        if (AccommodationSummary.class.equals(resultType)) {
+            SUMMARY_FIELDS.forEach(fields::include);
+            fields.slice("images", 1);
+        }
+    }
+
+    private static Document summaryProjection() {
+        var projection = new Document();
+        SUMMARY_FIELDS.forEach(field -> projection.append(field, 1));
+        return projection.append("images", new Document("$slice", List.of("$images", 1)));
+    }
 
-        var priceFilter = filter.getPricePerNight().map(where("pricePerNight")::lte);
-        var ratingFilter = filter.getRating().map(where("rating")::gte);
-        var guestsFilter = filter.getMaxGuests().map(where("maxGuests")::gte);
-        var hostIdFilter = filter.getHostId().map(where("host.hostId")::is);
-        var superHostFilter = filter.isSuperHost().map(where("host.superHost")::is);
-        var typeFilter = filter.getType().map(where("type")::in);
-        var countryFilter = filter.getCountry().map(where("address.country")::is);
-        var cityFilter = filter.getCity().map(where("address.city")::is);
-        var amenitiesFilter = filter.getAmenities().map(where("amenities")::all);
-        var excludeFilter = filter.getExclude().map(where("accommodationId")::nin);
-        var selectFilter = filter.getSelect().map(where("accommodationId")::in);
-        var boxFilter = filter.getGeoBox().map(where("address.location")::within);
+    private TypedAggregation<Accommodation> toAvailabilityAggregation(Query query, BookingDates dates, Class<?> resultType) {
 
-        return Flux.merge(priceFilter, ratingFilter, guestsFilter, hostIdFilter, superHostFilter, typeFilter,
-                countryFilter, cityFilter, amenitiesFilter, excludeFilter, selectFilter, boxFilter);
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(context -> new Document("$match", context.getMappedObject(query.getQueryObject())));
+        if (!query.getSortObject().isEmpty()) {
+            operations.add(context -> new Document("$sort", context.getMappedObject(query.getSortObject())));
+        }
+        operations.add(lookupActiveBookingsBetweenDates(mongoOps, dates));
+        operations.add(matchWithoutActiveBookings());
+        operations.add(context -> new Document("$project", AccommodationSummary.class.equals(resultType)
+                ? summaryProjection()
+                : new Document(ACTIVE_BOOKINGS, 0)));
+        if (query.getSkip() > 0) {
+            operations.add(skip(query.getSkip()));
+        }
+        if (query.getLimit() > 0) {
+            operations.add(limit(query.getLimit()));
+        }
+
+        return newAggregation(Accommodation.class, operations)
+                .withOptions(newAggregationOptions().cursorBatchSize(cursorBatchSize).build());
     }
 
+    private TypedAggregation<Accommodation> toNearbyAggregation(Query query, Point centre, double radius,
+                                                                Optional<BookingDates> dates, Class<?> resultType) {
+
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(context -> new Document("$geoNear", new Document()
+                .append("near", new Document("type", "Point").append("coordinates", List.of(centre.getX(), centre.getY())))
+                .append("distanceField", DISTANCE)
+                .append("maxDistance", radius * METERS_PER_KILOMETER)
+                .append("spherical", true)
+                .append("key", "address.location")
+                .append("query", context.getMappedObject(query.getQueryObject()))));
+        dates.ifPresent(bookingDates -> {
+            operations.add(lookupActiveBookingsBetweenDates(mongoOps, bookingDates));
+            operations.add(matchWithoutActiveBookings());
+        });
+        operations.add(context -> new Document("$project", AccommodationSummary.class.equals(resultType)
+                ? summaryProjection().append(DISTANCE, 1)
+                : new Document(ACTIVE_BOOKINGS, 0)));
+        if (query.getSkip() > 0) {
+            operations.add(skip(query.getSkip()));
+        }
+        if (query.getLimit() > 0) {
+            operations.add(limit(query.getLimit()));
+        }
+
+        return newAggregation(Accommodation.class, operations)
+                .withOptions(newAggregationOptions().cursorBatchSize(cursorBatchSize).build());
+    }
+
+    private TypedAggregation<Accommodation> toFacetAggregation(Query query, Optional<BookingDates> dates) {
+
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(context -> new Document("$match", context.getMappedObject(query.getQueryObject())));
+        dates.ifPresent(bookingDates -> {
+            operations.add(lookupActiveBookingsBetweenDates(mongoOps, bookingDates));
+            operations.add(matchWithoutActiveBookings());
+        });
+        operations.add(context -> new Document("$facet", new Document()
+                .append("total", List.of(new Document("$count", COUNT)))
+                .append("types", countBy("$type"))
+                .append("amenities", countBy("$amenities", new Document("$unwind", "$amenities")))
+                .append("prices", List.of(new Document("$bucket", new Document()
+                        .append("groupBy", "$pricePerNight")
+                        .append("boundaries", PRICE_BOUNDARIES)
+                        .append("default", PRICE_BOUNDARIES.get(PRICE_BOUNDARIES.size() - 1))
+                        .append("output", new Document(COUNT, new Document("$sum", 1))))))
+                .append("superHosts", List.of(
+                        new Document("$match", new Document("host.superHost", true)),
+                        new Document("$count", COUNT)))));
+
+        return newAggregation(Accommodation.class, operations)
+                .withOptions(newAggregationOptions().cursorBatchSize(cursorBatchSize).build());
+    }
+
+    private static List<Document> countBy(String field, Document... preceding) {
+        List<Document> stages = new ArrayList<>(List.of(preceding));
+        stages.add(new Document("$group", new Document("_id", field).append(COUNT, new Document("$sum", 1))));
+        stages.add(new Document("$sort", new Document(COUNT, -1).append("_id", 1)));
+        return stages;
+    }
+
+    private static SearchFacets toSearchFacets(Document facets) {
+
+        var prices = counts(facets, "prices", id -> ((Number) id).doubleValue());
+        List<SearchFacets.PriceBucket> buckets = new ArrayList<>();
+        for (int i = 0; i < PRICE_BOUNDARIES.size(); i++) {
+            var min = PRICE_BOUNDARIES.get(i);
+            var max = i + 1 < PRICE_BOUNDARIES.size() ? PRICE_BOUNDARIES.get(i + 1) : null;
+            buckets.add(SearchFacets.PriceBucket.of(min, max, prices.getOrDefault(min, 0L)));
+        }
+
+        return SearchFacets.of(
+                firstCount(facets, "total"),
+                counts(facets, "types", id -> AccommodationType.valueOf((String) id)),
+                counts(facets, "amenities", id -> Amenity.valueOf((String) id)),
+                buckets,
+                firstCount(facets, "superHosts"));
+    }
+
+    private static long firstCount(Document facets, String facet) {
+        return facets.getList(facet, Document.class).stream()
+                .findFirst()
+                .map(count -> count.get(COUNT, Number.class).longValue())
+                .orElse(0L);
+    }
+
+    private static <K> Map<K, Long> counts(Document facets, String facet, Function<Object, K> key) {
+        Map<K, Long> counts = new LinkedHashMap<>();
+        facets.getList(facet, Document.class)
+                .forEach(count -> counts.put(key.apply(count.get("_id")), count.get(COUNT, Number.class).longValue()));
+        return counts;
+    }
 }
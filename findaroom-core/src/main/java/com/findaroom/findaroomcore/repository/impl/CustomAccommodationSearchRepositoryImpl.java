@@ -0,0 +1,136 @@
+package com.findaroom.findaroomcore.repository.impl;
+
+import com.findaroom.findaroomcore.controller.event.BookingDates;
+import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
+import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.domain.AccommodationSearch;
+import com.findaroom.findaroomcore.repository.CustomAccommodationSearchRepository;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.findaroom.findaroomcore.controller.filter.FilterQueries.toQuery;
+import static com.findaroom.findaroomcore.repository.impl.AvailabilityLookups.ACTIVE_BOOKINGS;
+import static com.findaroom.findaroomcore.repository.impl.AvailabilityLookups.lookupActiveBookingsBetweenDates;
+import static com.findaroom.findaroomcore.repository.impl.AvailabilityLookups.matchWithoutActiveBookings;
+import static com.findaroom.findaroomcore.repository.impl.KeysetPagination.continueAfterCursor;
+import static com.findaroom.findaroomcore.repository.impl.KeysetPagination.requireSortable;
+import static com.findaroom.findaroomcore.repository.impl.KeysetPagination.trackNextCursor;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class CustomAccommodationSearchRepositoryImpl implements CustomAccommodationSearchRepository {
+
+    private static final String LISTED_ACCOMMODATION = "listedAccommodation";
+
+    private final ReactiveMongoOperations mongoOps;
+    private final int cursorBatchSize;
+
+    public CustomAccommodationSearchRepositoryImpl(ReactiveMongoOperations mongoOps,
+                                                   @Value("${findaroom.mongo.cursor-batch-size:256}") int cursorBatchSize) {
+        this.mongoOps = mongoOps;
+        this.cursorBatchSize = cursorBatchSize;
+    }
+
+    @Override
+    public Flux<Accommodation> findAllAvailableByFilter(AccommodationSearchFilter filter) {
+        return Mono
+                .fromCallable(() -> toQuery(filter).cursorBatchSize(cursorBatchSize))
+                .flatMap(q -> requireSortable(q, mongoOps.getConverter(), AccommodationSearch.class))
+                .flatMap(q -> continueAfterCursor(q, filter, mongoOps.getConverter(), AccommodationSearch.class))
+                .flatMapMany(q -> {
+                    var matches = filter
+                            .getBookingDates()
+                            .map(dates -> findAllAvailableBetweenDates(q, dates))
+                            .switchIfEmpty(Mono.fromSupplier(() -> findAllListed(q)))
+                            .flatMapMany(Function.identity());
+                    return trackNextCursor(matches, q, filter, mongoOps.getConverter(), AccommodationSearch.class);
+                })
+                .map(AccommodationSearch::getAccommodationId)
+                .collectList()
+                .flatMapMany(this::findListedInOrder);
+    }
+
+    @Override
+    public Mono<Boolean> updateNextAvailable(String accommodationId, LocalDate nextAvailable) {
+        return mongoOps
+                .updateFirst(query(where("accommodationId").is(accommodationId)), Update.update("nextAvailable", nextAvailable), AccommodationSearch.class)
+                .map(result -> result.getMatchedCount() > 0);
+    }
+
+    private Flux<AccommodationSearch> findAllAvailableBetweenDates(Query query, BookingDates dates) {
+        query.addCriteria(where("nextAvailable").lte(dates.getCheckin()));
+        return mongoOps.aggregate(toSearchAggregation(query,
+                lookupActiveBookingsBetweenDates(mongoOps, dates),
+                matchWithoutActiveBookings()), AccommodationSearch.class);
+    }
+
+    private Flux<AccommodationSearch> findAllListed(Query query) {
+        return mongoOps.aggregate(toSearchAggregation(query), AccommodationSearch.class);
+    }
+
+    private Flux<Accommodation> findListedInOrder(List<String> accommodationIds) {
+        if (accommodationIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return mongoOps
+                .find(query(where("accommodationId").in(accommodationIds)), Accommodation.class)
+                .collectMap(Accommodation::getAccommodationId)
+                .flatMapIterable(found -> accommodationIds.stream()
+                        .map(found::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+    }
+
+    private AggregationOperation lookupListedAccommodation() {
+
+        var listed = new Document("$and", List.of(
+                new Document("$eq", List.of("$_id", "$$accommodationId")),
+                new Document("$eq", List.of("$listed", true))
+        ));
+
+        return context -> new Document("$lookup", new Document()
+                .append("from", mongoOps.getCollectionName(Accommodation.class))
+                .append("let", new Document("accommodationId", "$_id"))
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("$expr", listed)),
+                        new Document("$project", new Document("_id", 1))))
+                .append("as", LISTED_ACCOMMODATION));
+    }
+
+    private TypedAggregation<AccommodationSearch> toSearchAggregation(Query query, AggregationOperation... filters) {
+
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(context -> new Document("$match", context.getMappedObject(query.getQueryObject())));
+        if (!query.getSortObject().isEmpty()) {
+            operations.add(context -> new Document("$sort", context.getMappedObject(query.getSortObject())));
+        }
+        operations.addAll(List.of(filters));
+        operations.add(lookupListedAccommodation());
+        operations.add(context -> new Document("$match", new Document(LISTED_ACCOMMODATION, new Document("$size", 1))));
+        operations.add(context -> new Document("$project", new Document(ACTIVE_BOOKINGS, 0).append(LISTED_ACCOMMODATION, 0)));
+        if (query.getSkip() > 0) {
+            operations.add(skip(query.getSkip()));
+        }
+        if (query.getLimit() > 0) {
+            operations.add(limit(query.getLimit()));
+        }
+
+        return newAggregation(AccommodationSearch.class, operations)
+                .withOptions(newAggregationOptions().cursorBatchSize(cursorBatchSize).build());
+    }
+}
@@ -1,45 +1,131 @@
 package com.findaroom.findaroomcore.repository.impl;
 
+import com.findaroom.findaroomcore.controller.event.BookingDates;
 import com.findaroom.findaroomcore.controller.filter.BookingSearchFilter;
 import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.domain.BulkCancellation;
 import com.findaroom.findaroomcore.repository.CustomBookingRepository;
-import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.mongodb.core.ReactiveMongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.CriteriaDefinition;
-import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+import java.util.Objects;
+
+import static com.findaroom.findaroomcore.controller.filter.FilterQueries.toQuery;
+import static com.findaroom.findaroomcore.domain.enums.BookingStatus.CANCELLED;
+import static com.findaroom.findaroomcore.domain.enums.BookingStatus.CONFIRMED;
+import static com.findaroom.findaroomcore.domain.enums.BookingStatus.PENDING;
+import static com.findaroom.findaroomcore.domain.enums.BookingStatus.activeStates;
+import static com.findaroom.findaroomcore.repository.impl.KeysetPagination.continueAfterCursor;
+import static com.findaroom.findaroomcore.repository.impl.KeysetPagination.trackNextCursor;
+import static com.findaroom.findaroomcore.utils.RequestMemo.memoize;
+import static com.findaroom.findaroomcore.utils.RequestMemo.remember;
+import static org.springframework.data.mongodb.core.FindAndModifyOptions.options;
 import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.data.mongodb.core.query.Update.update;
 
-@RequiredArgsConstructor
 public class CustomBookingRepositoryImpl implements CustomBookingRepository {
 
     private final ReactiveMongoOperations mongoOps;
+    private final int cursorBatchSize;
+
+    public CustomBookingRepositoryImpl(ReactiveMongoOperations mongoOps,
+                                       @Value("${findaroom.mongo.cursor-batch-size:256}") int cursorBatchSize) {
+        this.mongoOps = mongoOps;
+        this.cursorBatchSize = cursorBatchSize;
+    }
+
+    @Override
+    public Mono<Booking> findById(String bookingId) {
+        return memoize(Booking.class, bookingId, () -> mongoOps.findById(bookingId, Booking.class));
+    }
+
+    @Override
+    public Mono<Booking> findByBookingIdAndAccommodationId(String bookingId, String accommodationId) {
+        return findById(bookingId).filter(booking -> Objects.equals(booking.getAccommodationId(), accommodationId));
+    }
+
+    @Override
+    public Mono<Booking> findByBookingIdAndAccommodationIdAndUserId(String bookingId, String accommodationId, String userId) {
+        return findByBookingIdAndAccommodationId(bookingId, accommodationId).filter(booking -> Objects.equals(booking.getUserId(), userId));
+    }
+
+    @Override
+    public Mono<Booking> findByBookingIdAndUserId(String bookingId, String userId) {
+        return findById(bookingId).filter(booking -> Objects.equals(booking.getUserId(), userId));
+    }
 
     @Override
     public Flux<Booking> findAllByFilter(BookingSearchFilter filter) {
+        return Mono
+                .fromCallable(() -> toQuery(filter).cursorBatchSize(cursorBatchSize))
+                .flatMap(q -> continueAfterCursor(q, filter, mongoOps.getConverter(), Booking.class))
+                .flatMapMany(q -> trackNextCursor(mongoOps.find(q, Booking.class), q, filter, mongoOps.getConverter(), Booking.class));
+    }
 
-        var query = new Query();
+    @Override
+    public Mono<Booking> confirmAccommodationBooking(String bookingId, String accommodationId) {
+        return transition(
+                where("bookingId").is(bookingId).and("accommodationId").is(accommodationId).and("status").is(PENDING),
+                update("status", CONFIRMED));
+    }
 
-        return toCriteria(filter)
-                .map(query::addCriteria)
-                .then(filter.getPageable())
-                .map(query::with)
-                .flatMapMany(q -> mongoOps.find(q, Booking.class));
+    @Override
+    public Mono<Booking> cancelAccommodationBooking(String bookingId, String accommodationId) {
+        return transition(
+                active(where("bookingId").is(bookingId).and("accommodationId").is(accommodationId)),
+                update("status", CANCELLED));
     }
 
-    private Flux<CriteriaDefinition> toCriteria(BookingSearchFilter params) {
+    @Override
+    public Mono<Booking> cancelUserBooking(String bookingId, String userId) {
+        return transition(
+                active(where("bookingId").is(bookingId).and("userId").is(userId)),
+                update("status", CANCELLED));
+    }
 
-        var accommodationFilter = params.getAccommodationId().map(where("accommodationId")::is);
-        var userFilter = params.getUserId().map(where("userId")::is);
-        var statusFilter = params.getStatus().map(where("status")::in);
+    @Override
+    public Mono<Booking> rescheduleUserBooking(String bookingId, String userId, BookingDates dates) {
+        return transition(
+                active(where("bookingId").is(bookingId).and("userId").is(userId)),
+                update("checkin", dates.getCheckin()).set("checkout", dates.getCheckout()).set("status", PENDING));
+    }
 
-        var checkin = params.getCheckin().map(where("checkout")::gte).cast(Criteria.class);
-        var checkout = params.getCheckout().map(where("checkin")::lte).cast(Criteria.class);
-        var betweenFilter = Mono.zip(checkin, checkout, Criteria::andOperator);
+    @Override
+    public Mono<BulkCancellation> cancelActiveBookings(String accommodationId) {
+
+        var cancellationId = new ObjectId().toHexString();
+        var active = query(where("accommodationId").is(accommodationId).and("status").in(activeStates()));
+        var cancelled = query(where("cancellationId").is(cancellationId)).cursorBatchSize(cursorBatchSize);
+        cancelled.fields().include("bookingId");
+
+        var bookingIds = mongoOps
+                .find(cancelled, Booking.class)
+                .map(Booking::getBookingId)
+                .concatWith(mongoOps
+                        .updateMulti(query(where("cancellationId").is(cancellationId)), new Update().unset("cancellationId"), Booking.class)
+                        .then(Mono.empty()));
+
+        return mongoOps
+                .updateMulti(active, update("status", CANCELLED).set("cancellationId", cancellationId), Booking.class)
+                .filter(result -> result.getModifiedCount() > 0)
+                .map(result -> BulkCancellation.of(result.getModifiedCount(), bookingIds))
+                .defaultIfEmpty(BulkCancellation.none());
+    }
+
+    private Mono<Booking> transition(Criteria precondition, Update update) {
+        return mongoOps
+                .findAndModify(query(precondition), update, options().returnNew(true), Booking.class)
+                .flatMap(changed -> remember(Booking.class, changed.getBookingId(), changed));
+    }
 
-        return Flux.merge(accommodationFilter, userFilter, statusFilter, betweenFilter);
+    private Criteria active(Criteria booking) {
+        return booking.and("status").in(activeStates()).and("checkin").gt(LocalDate.now());
     }
 }
@@ -0,0 +1,86 @@
+package com.findaroom.findaroomcore.repository.impl;
+
+import com.findaroom.findaroomcore.domain.Reservation;
+import com.findaroom.findaroomcore.repository.CustomReservationRepository;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@RequiredArgsConstructor
+public class CustomReservationRepositoryImpl implements CustomReservationRepository {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final ReactiveMongoOperations mongoOps;
+
+    @Override
+    public Mono<Boolean> reserve(String accommodationId, String bookingId, List<LocalDate> dates) {
+
+        var reservations = dates.stream()
+                .map(date -> Reservation.of(accommodationId, bookingId, date))
+                .collect(Collectors.toList());
+
+        return mongoOps
+                .insertAll(reservations)
+                .then(Mono.just(true))
+                .onErrorResume(CustomReservationRepositoryImpl::isDuplicateKey, ex -> release(bookingId, dates).thenReturn(false));
+    }
+
+    @Override
+    public Mono<Boolean> hold(String accommodationId, String bookingId, List<LocalDate> dates) {
+        return heldDates(bookingId)
+                .flatMap(held -> reserve(accommodationId, bookingId, dates.stream().filter(date -> !held.contains(date)).collect(Collectors.toList())));
+    }
+
+    @Override
+    public Mono<Boolean> reschedule(String accommodationId, String bookingId, List<LocalDate> dates) {
+        return heldDates(bookingId)
+                .flatMap(held -> {
+                    var toReserve = dates.stream().filter(date -> !held.contains(date)).collect(Collectors.toList());
+                    var toRelease = held.stream().filter(date -> !dates.contains(date)).collect(Collectors.toList());
+                    return reserve(accommodationId, bookingId, toReserve)
+                            .filter(reserved -> reserved)
+                            .flatMap(reserved -> release(bookingId, toRelease).thenReturn(true))
+                            .defaultIfEmpty(false);
+                });
+    }
+
+    private Mono<List<LocalDate>> heldDates(String bookingId) {
+        return mongoOps
+                .find(query(where("bookingId").is(bookingId)), Reservation.class)
+                .map(Reservation::getDate)
+                .collectList();
+    }
+
+    private Mono<Void> release(String bookingId, List<LocalDate> dates) {
+        return mongoOps
+                .remove(query(where("bookingId").is(bookingId).and("date").in(dates)), Reservation.class)
+                .then();
+    }
+
+    private static boolean isDuplicateKey(Throwable ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        if (ex instanceof BulkOperationException) {
+            return ((BulkOperationException) ex).getErrors().stream().anyMatch(error -> error.getCode() == DUPLICATE_KEY);
+        }
+        var cause = ex.getCause();
+        if (cause instanceof MongoBulkWriteException) {
+            return ((MongoBulkWriteException) cause).getWriteErrors().stream().map(BulkWriteError::getCode).anyMatch(code -> code == DUPLICATE_KEY);
+        }
+        return cause instanceof MongoWriteException && ((MongoWriteException) cause).getCode() == DUPLICATE_KEY;
+    }
+}
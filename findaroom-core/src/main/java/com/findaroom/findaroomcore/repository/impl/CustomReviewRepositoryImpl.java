@@ -2,44 +2,88 @@ package com.findaroom.findaroomcore.repository.impl;
 
 import com.findaroom.findaroomcore.controller.filter.ReviewSearchFilter;
 import com.findaroom.findaroomcore.domain.Review;
+import com.findaroom.findaroomcore.domain.Scored;
 import com.findaroom.findaroomcore.repository.CustomReviewRepository;
-import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.mongodb.core.ReactiveMongoOperations;
-import org.springframework.data.mongodb.core.query.CriteriaDefinition;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.TextCriteria;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import static org.springframework.data.mongodb.core.query.Criteria.where;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.findaroom.findaroomcore.controller.filter.FilterQueries.toPageable;
+import static com.findaroom.findaroomcore.controller.filter.FilterQueries.toQuery;
+import static com.findaroom.findaroomcore.repository.impl.KeysetPagination.continueAfterCursor;
+import static com.findaroom.findaroomcore.repository.impl.KeysetPagination.trackNextCursor;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.springframework.data.domain.Sort.by;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
 
-@RequiredArgsConstructor
 public class CustomReviewRepositoryImpl implements CustomReviewRepository {
 
+    private static final String SCORE = "score";
+    private static final int MAX_RELEVANT_PAGE_SIZE = 50;
+
     private final ReactiveMongoOperations mongoOps;
+    private final int cursorBatchSize;
+
+    public CustomReviewRepositoryImpl(ReactiveMongoOperations mongoOps,
+                                      @Value("${findaroom.mongo.cursor-batch-size:256}") int cursorBatchSize) {
+        this.mongoOps = mongoOps;
+        this.cursorBatchSize = cursorBatchSize;
+    }
 
     @Override
     public Flux<Review> findAllByFilter(ReviewSearchFilter filter) {
+        return Mono
+                .fromCallable(() -> toQuery(filter).cursorBatchSize(cursorBatchSize))
+                .flatMap(q -> continueAfterCursor(q, filter, mongoOps.getConverter(), Review.class))
+                .flatMapMany(q -> trackNextCursor(mongoOps.find(q, Review.class), q, filter, mongoOps.getConverter(), Review.class));
+    }
 
-        var query = new Query();
+    @Override
+    public Flux<Scored<Review>> findAllRelevantByFilter(ReviewSearchFilter filter) {
+        return Mono
+                .fromCallable(() -> new Query()
+                        .with(by(DESC, SCORE, "rating", "createTime", "reviewId"))
+                        .limit(Math.min(toPageable(filter).getPageSize(), MAX_RELEVANT_PAGE_SIZE)))
+                .flatMap(page -> continueAfterCursor(page, filter, mongoOps.getConverter(), Review.class))
+                .flatMapMany(page -> {
+                    var ranked = mongoOps
+                            .aggregate(toRelevanceAggregation(toQuery(filter), page), Document.class)
+                            .map(document -> Scored.of(
+                                    mongoOps.getConverter().read(Review.class, document),
+                                    document.get(SCORE, Number.class).doubleValue()));
+                    return trackNextCursor(ranked, page, filter, this::relevanceSortValues);
+                });
+    }
 
-        return convertToCriteria(filter)
-                .map(query::addCriteria)
-                .then(filter.getPageable())
-                .map(query::with)
-                .flatMapMany(q -> mongoOps.find(q, Review.class));
+    private List<Object> relevanceSortValues(Scored<Review> last) {
+        var review = last.getResult();
+        return List.of(
+                last.getScore(),
+                review.getRating(),
+                mongoOps.getConverter().convertToMongoType(review.getCreateTime()),
+                review.getReviewId());
     }
 
-    private Flux<CriteriaDefinition> convertToCriteria(ReviewSearchFilter params) {
+    private TypedAggregation<Review> toRelevanceAggregation(Query search, Query page) {
 
-        var accommodationFilter = params.getAccommodationId().map(where("accommodationId")::is);
-        var userFilter = params.getUserId().map(where("userId")::is);
-        var bookingFilter = params.getBookingId().map(where("bookingId")::is);
-        var ratingFilter = params.getRating().map(where("rating")::gte);
-        var textFilter = params.getQ()
-                .map(words -> TextCriteria.forDefaultLanguage()
-                        .matchingAny(words.split(" "))
-                        .caseSensitive(false));
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(context -> new Document("$match", context.getMappedObject(search.getQueryObject())));
+        operations.add(context -> new Document("$addFields", new Document(SCORE, new Document("$meta", "textScore"))));
+        if (!page.getQueryObject().isEmpty()) {
+            operations.add(context -> new Document("$match", context.getMappedObject(page.getQueryObject())));
+        }
+        operations.add(context -> new Document("$sort", context.getMappedObject(page.getSortObject())));
+        operations.add(limit(page.getLimit()));
 
-        return Flux.merge(accommodationFilter, userFilter, bookingFilter, ratingFilter, textFilter);
+        return newAggregation(Review.class, operations)
+                .withOptions(newAggregationOptions().cursorBatchSize(cursorBatchSize).build());
     }
 }
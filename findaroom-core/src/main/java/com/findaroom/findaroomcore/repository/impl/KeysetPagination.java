@@ -0,0 +1,167 @@
+package com.findaroom.findaroomcore.repository.impl;
+
+import com.findaroom.findaroomcore.controller.filter.PagingAndSortingFilter;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static com.findaroom.findaroomcore.utils.ErrorUtils.badRequest;
+import static com.findaroom.findaroomcore.utils.MessageUtils.INVALID_CURSOR;
+import static com.findaroom.findaroomcore.utils.MessageUtils.UNSORTABLE_FIELD;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.by;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class KeysetPagination {
+
+    private static final String SORT_KEYS = "s";
+    private static final String SORT_VALUES = "v";
+
+    static Mono<Query> requireSortable(Query query, MongoConverter converter, Class<?> type) {
+
+        var sortable = new HashSet<String>();
+        var nested = new HashSet<String>();
+        converter.getMappingContext()
+                .getRequiredPersistentEntity(type)
+                .doWithProperties((PropertyHandler<MongoPersistentProperty>) property -> {
+                    var field = property.isIdProperty() ? property.getName() : property.getFieldName();
+                    sortable.add(field);
+                    if (property.isEntity()) {
+                        nested.add(field + ".");
+                    }
+                });
+
+        var unsortable = query.getSortObject().keySet().stream()
+                .anyMatch(key -> !sortable.contains(key) && nested.stream().noneMatch(key::startsWith));
+
+        return unsortable
+                ? Mono.error(badRequest(UNSORTABLE_FIELD))
+                : Mono.just(query);
+    }
+
+    static Mono<Query> continueAfterCursor(Query query, PagingAndSortingFilter filter, MongoConverter converter, Class<?> type) {
+        var sorted = withTiebreaker(query, converter, type);
+        return filter
+                .getCursor()
+                .map(cursor -> decode(cursor, sorted.getSortObject()))
+                .map(sorted::addCriteria)
+                .defaultIfEmpty(sorted);
+    }
+
+    static Query withTiebreaker(Query query, MongoConverter converter, Class<?> type) {
+        var idProperty = converter.getMappingContext().getRequiredPersistentEntity(type).getRequiredIdProperty().getName();
+        if (!query.getSortObject().containsKey(idProperty)) {
+            query.with(by(ASC, idProperty));
+        }
+        return query;
+    }
+
+    static <T> Flux<T> trackNextCursor(Flux<T> results, Query query, PagingAndSortingFilter filter, MongoConverter converter, Class<T> type) {
+        return trackNextCursor(results, query, filter, last -> sortValues(last, query.getSortObject(), converter, type));
+    }
+
+    static <T> Flux<T> trackNextCursor(Flux<T> results, Query query, PagingAndSortingFilter filter, Function<T, List<Object>> sortValues) {
+
+        if (query.getLimit() <= 0) {
+            return results;
+        }
+
+        return Flux.defer(() -> {
+            var last = new AtomicReference<T>();
+            var count = new AtomicInteger();
+            return results
+                    .doOnNext(result -> {
+                        last.set(result);
+                        count.incrementAndGet();
+                    })
+                    .doOnComplete(() -> {
+                        if (count.get() == query.getLimit()) {
+                            filter.continueWith(encode(query.getSortObject(), sortValues.apply(last.get())));
+                        }
+                    });
+        });
+    }
+
+    private static List<Object> sortValues(Object last, Document sort, MongoConverter converter, Class<?> type) {
+
+        var document = new Document();
+        converter.write(last, document);
+
+        var entity = converter.getMappingContext().getRequiredPersistentEntity(type);
+        var mappedSort = new QueryMapper(converter).getMappedSort(sort, entity);
+
+        var values = new ArrayList<>();
+        for (String path : mappedSort.keySet()) {
+            values.add(valueAt(document, path));
+        }
+        return values;
+    }
+
+    private static String encode(Document sort, List<Object> values) {
+        var cursor = new Document(SORT_KEYS, new ArrayList<>(sort.keySet())).append(SORT_VALUES, values);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Criteria decode(String cursor, Document sort) {
+
+        Document decoded;
+        try {
+            decoded = Document.parse(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (RuntimeException ex) {
+            throw badRequest(INVALID_CURSOR).get();
+        }
+
+        var keys = new ArrayList<>(sort.keySet());
+        var values = decoded.get(SORT_VALUES, List.class);
+        if (!Objects.equals(decoded.get(SORT_KEYS), keys) || values == null || values.size() != keys.size()) {
+            throw badRequest(INVALID_CURSOR).get();
+        }
+
+        var alternatives = new ArrayList<Criteria>();
+        for (int i = 0; i < keys.size(); i++) {
+            var alternative = new ArrayList<Criteria>();
+            for (int j = 0; j < i; j++) {
+                alternative.add(where(keys.get(j)).is(values.get(j)));
+            }
+            var key = keys.get(i);
+            alternative.add(isAscending(sort, key) ? where(key).gt(values.get(i)) : where(key).lt(values.get(i)));
+            alternatives.add(new Criteria().andOperator(alternative.toArray(new Criteria[0])));
+        }
+
+        return new Criteria().orOperator(alternatives.toArray(new Criteria[0]));
+    }
+
+    private static boolean isAscending(Document sort, String key) {
+        return ((Number) sort.get(key)).intValue() > 0;
+    }
+
+    private static Object valueAt(Document document, String path) {
+        Object value = document;
+        for (String segment : path.split("\\.")) {
+            if (!(value instanceof Document)) {
+                return null;
+            }
+            value = ((Document) value).get(segment);
+        }
+        return value;
+    }
+}
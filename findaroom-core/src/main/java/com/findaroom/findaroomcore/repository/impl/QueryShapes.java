@@ -0,0 +1,94 @@
+package com.findaroom.findaroomcore.repository.impl;
+
+import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
+import com.findaroom.findaroomcore.controller.filter.BookingSearchFilter;
+import com.findaroom.findaroomcore.controller.filter.ReviewSearchFilter;
+import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.domain.Review;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.util.json.ParameterBindingDocumentCodec;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static com.findaroom.findaroomcore.controller.filter.FilterQueries.toQuery;
+import static com.findaroom.findaroomcore.repository.impl.KeysetPagination.withTiebreaker;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class QueryShapes {
+
+    public static Query of(AccommodationSearchFilter filter, Class<?> type, MongoConverter converter) {
+        return withTiebreaker(toQuery(filter), converter, type);
+    }
+
+    public static Query of(BookingSearchFilter filter, MongoConverter converter) {
+        return withTiebreaker(toQuery(filter), converter, Booking.class);
+    }
+
+    public static Query of(ReviewSearchFilter filter, MongoConverter converter) {
+        return withTiebreaker(toQuery(filter), converter, Review.class);
+    }
+
+    public static Query of(Class<?> repository, String methodName, MongoConverter converter, Object... arguments) {
+
+        var method = Arrays.stream(repository.getMethods())
+                .filter(candidate -> candidate.getName().equals(methodName))
+                .filter(candidate -> candidate.getParameterCount() == arguments.length)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No repository method " + methodName + " on " + repository.getSimpleName()));
+
+        var annotated = method.getAnnotation(org.springframework.data.mongodb.repository.Query.class);
+        return annotated != null
+                ? bind(annotated.value(), converter, arguments)
+                : derive(method, AbstractRepositoryMetadata.getMetadata(repository).getDomainType(), arguments);
+    }
+
+    private static Query bind(String json, MongoConverter converter, Object[] arguments) {
+        var values = Arrays.stream(arguments).map(converter::convertToMongoType).toArray();
+        return new BasicQuery(new ParameterBindingDocumentCodec().decode(json, values));
+    }
+
+    private static Query derive(Method method, Class<?> type, Object[] arguments) {
+        var query = new Query();
+        var values = Arrays.asList(arguments).iterator();
+        for (var part : new PartTree(method.getName(), type).getParts()) {
+            query.addCriteria(criterion(where(part.getProperty().toDotPath()), part.getType(), values.next()));
+        }
+        return query;
+    }
+
+    private static Criteria criterion(Criteria criteria, Part.Type type, Object value) {
+        switch (type) {
+            case SIMPLE_PROPERTY:
+                return criteria.is(value);
+            case NEGATING_SIMPLE_PROPERTY:
+                return criteria.ne(value);
+            case IN:
+                return criteria.in((Collection<?>) value);
+            case NOT_IN:
+                return criteria.nin((Collection<?>) value);
+            case AFTER:
+            case GREATER_THAN:
+                return criteria.gt(value);
+            case GREATER_THAN_EQUAL:
+                return criteria.gte(value);
+            case BEFORE:
+            case LESS_THAN:
+                return criteria.lt(value);
+            case LESS_THAN_EQUAL:
+                return criteria.lte(value);
+            default:
+                throw new IllegalArgumentException("Unsupported query keyword " + type);
+        }
+    }
+}
@@ -5,35 +5,43 @@ import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
 import com.findaroom.findaroomcore.controller.filter.BookingSearchFilter;
 import com.findaroom.findaroomcore.domain.Accommodation;
 import com.findaroom.findaroomcore.domain.Booking;
-import com.findaroom.findaroomcore.domain.enums.BookingStatus;
 import com.findaroom.findaroomcore.repository.AccommodationRepository;
 import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.repository.ReservationRepository;
+import com.findaroom.findaroomcore.service.availability.AvailabilityIndex;
+import com.findaroom.findaroomcore.service.cache.AccommodationCache;
+import com.findaroom.findaroomcore.service.search.SearchProjection;
 import com.findaroom.findaroomcore.service.validation.AccommodationVerifier;
 import com.findaroom.findaroomcore.service.validation.BookingVerifier;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
 
-import java.util.List;
-import java.util.function.Consumer;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
-import static com.findaroom.findaroomcore.domain.enums.BookingStatus.CANCELLED;
-import static com.findaroom.findaroomcore.domain.enums.BookingStatus.CONFIRMED;
+import static com.findaroom.findaroomcore.utils.ErrorUtils.conflict;
 import static com.findaroom.findaroomcore.utils.ErrorUtils.notFound;
+import static com.findaroom.findaroomcore.utils.MessageUtils.ACCOMMODATION_MODIFIED_CONCURRENTLY;
 import static com.findaroom.findaroomcore.utils.MessageUtils.ACCOMMODATION_NOT_FOUND;
+import static com.findaroom.findaroomcore.utils.MessageUtils.BOOKING_MODIFIED_CONCURRENTLY;
 import static com.findaroom.findaroomcore.utils.MessageUtils.BOOKING_NOT_FOUND;
 
 @Service
 @RequiredArgsConstructor
 public class HostOperationsService {
 
+    private static final int CANCELLATION_BATCH_SIZE = 256;
+
     private final AccommodationRepository accommodationRepo;
     private final BookingRepository bookingRepo;
+    private final ReservationRepository reservationRepo;
     private final AccommodationVerifier accommodationVerifier;
     private final BookingVerifier bookingVerifier;
+    private final AccommodationCache accommodationCache;
+    private final AvailabilityIndex availabilityIndex;
+    private final SearchProjection searchProjection;
 
     public Flux<Accommodation> findAccommodationsByHostId(String hostId, AccommodationSearchFilter filter) {
         filter.setHostId(hostId);
@@ -51,63 +59,71 @@ public class HostOperationsService {
 
     public Mono<Accommodation> updateAccommodation(String accommodationId, String hostId, UpdateAccommodation update) {
         return accommodationRepo
-                .findByAccommodationIdAndHostId(accommodationId, hostId)
+                .updateDetails(accommodationId, hostId, update)
                 .switchIfEmpty(Mono.error(notFound(ACCOMMODATION_NOT_FOUND)))
-                .map(accommodation -> accommodation.updateWith(update))
-                .flatMap(accommodationRepo::save);
+                .flatMap(searchProjection::project)
+                .doOnNext(updated -> accommodationCache.evictAccommodation(updated.getAccommodationId()));
     }
 
     public Mono<Booking> confirmBooking(String accommodationId, String bookingId, String hostId) {
         return updateBookingStatus(accommodationId, bookingId, hostId,
-                bookingVerifier::verifyBookingIsPending, booking -> booking.setStatus(CONFIRMED));
+                bookingRepo::confirmAccommodationBooking, bookingVerifier::verifyBookingIsPending);
     }
 
     public Mono<Booking> cancelBooking(String accommodationId, String bookingId, String hostId) {
         return updateBookingStatus(accommodationId, bookingId, hostId,
-                bookingVerifier::verifyBookingIsActive, booking -> booking.setStatus(CANCELLED));
+                bookingRepo::cancelAccommodationBooking, bookingVerifier::verifyBookingIsActive)
+                .flatMap(cancelled -> reservationRepo.deleteByBookingId(cancelled.getBookingId()).thenReturn(cancelled))
+                .flatMap(cancelled -> searchProjection.refreshAvailability(accommodationId).thenReturn(cancelled));
     }
 
     public Mono<Accommodation> unlistAccommodation(String accommodationId, String hostId) {
         return unlistAccommodationInternal(accommodationId, hostId)
-                .flatMap(unlisted -> cancelAllBookings(accommodationId).thenReturn(unlisted));
+                .flatMap(unlisted -> cancelAllBookings(accommodationId).thenReturn(unlisted))
+                .flatMap(searchProjection::project)
+                .doOnNext(unlisted -> accommodationCache.evictAccommodation(unlisted.getAccommodationId()));
     }
 
     private Mono<Booking> updateBookingStatus(String accommodationId, String bookingId, String hostId,
-                                              Function<Booking, Mono<Booking>> verifyStatus, Consumer<Booking> changeStatus) {
-
-        var accommodationById = accommodationRepo
-                .findByAccommodationIdAndHostId(accommodationId, hostId)
-                .switchIfEmpty(Mono.error(notFound(ACCOMMODATION_NOT_FOUND)));
+                                              BiFunction<String, String, Mono<Booking>> transition,
+                                              Function<Booking, Mono<Booking>> verifyStatus) {
 
-        var bookingById = bookingRepo
+        var rejected = Mono.defer(() -> bookingRepo
                 .findByBookingIdAndAccommodationId(bookingId, accommodationId)
                 .switchIfEmpty(Mono.error(notFound(BOOKING_NOT_FOUND)))
-                .flatMap(verifyStatus);
+                .flatMap(verifyStatus)
+                .flatMap(unchanged -> Mono.<Booking>error(conflict(BOOKING_MODIFIED_CONCURRENTLY))));
 
-        return Mono.zip(accommodationById, bookingById)
-                .map(Tuple2::getT2)
-                .doOnNext(changeStatus)
-                .flatMap(bookingRepo::save);
+        return accommodationRepo
+                .findByAccommodationIdAndHostId(accommodationId, hostId)
+                .switchIfEmpty(Mono.error(notFound(ACCOMMODATION_NOT_FOUND)))
+                .flatMap(accommodation -> transition.apply(bookingId, accommodationId).switchIfEmpty(rejected))
+                .doOnNext(availabilityIndex::track)
+                .doOnNext(changed -> accommodationCache.evictAvailability());
     }
 
     private Mono<Accommodation> unlistAccommodationInternal(String accommodationId, String hostId) {
-        return accommodationRepo
+
+        var rejected = Mono.defer(() -> accommodationRepo
                 .findByAccommodationIdAndHostId(accommodationId, hostId)
                 .switchIfEmpty(Mono.error(notFound(ACCOMMODATION_NOT_FOUND)))
                 .flatMap(accommodationVerifier::verifyAccommodationIsListed)
-                .doOnNext(listed -> listed.setListed(false))
-                .flatMap(accommodationRepo::save);
+                .flatMap(unchanged -> Mono.<Accommodation>error(conflict(ACCOMMODATION_MODIFIED_CONCURRENTLY))));
+
+        return accommodationRepo
+                .unlist(accommodationId, hostId)
+                .switchIfEmpty(rejected);
     }
 
-    private Mono<List<Booking>> cancelAllBookings(String accommodationId) {
-        var filter = new BookingSearchFilter();
-        filter.setAccommodationId(accommodationId);
-        filter.setStatus(BookingStatus.activeStates());
+    private Mono<Long> cancelAllBookings(String accommodationId) {
         return bookingRepo
-                .findAllByFilter(filter)
-                .doOnNext(booking -> booking.setStatus(CANCELLED))
-                .collectList()
-                .flatMapMany(bookingRepo::saveAll)
-                .collectList();
+                .cancelActiveBookings(accommodationId)
+                .flatMap(cancellation -> cancellation
+                        .getBookingIds()
+                        .buffer(CANCELLATION_BATCH_SIZE)
+                        .concatMap(bookingIds -> reservationRepo
+                                .deleteByBookingIdIn(bookingIds)
+                                .doOnSuccess(released -> availabilityIndex.release(accommodationId, bookingIds)))
+                        .then(Mono.just(cancellation.getCancelledCount())));
     }
 }
@@ -1,55 +1,110 @@
 package com.findaroom.findaroomcore.service;
 
 import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
-import com.findaroom.findaroomcore.controller.filter.BookingSearchFilter;
 import com.findaroom.findaroomcore.controller.filter.ReviewSearchFilter;
 import com.findaroom.findaroomcore.domain.Accommodation;
-import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.domain.AccommodationSummary;
+import com.findaroom.findaroomcore.domain.Nearby;
 import com.findaroom.findaroomcore.domain.Review;
+import com.findaroom.findaroomcore.domain.Scored;
+import com.findaroom.findaroomcore.domain.SearchFacets;
 import com.findaroom.findaroomcore.repository.AccommodationRepository;
-import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.repository.AccommodationSearchRepository;
 import com.findaroom.findaroomcore.repository.ReviewRepository;
+import com.findaroom.findaroomcore.service.batch.AccommodationLoader;
+import com.findaroom.findaroomcore.service.cache.AccommodationCache;
+import com.findaroom.findaroomcore.service.search.SearchProjection;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
+import static com.findaroom.findaroomcore.utils.ErrorUtils.badRequest;
 import static com.findaroom.findaroomcore.utils.ErrorUtils.notFound;
 import static com.findaroom.findaroomcore.utils.MessageUtils.ACCOMMODATION_NOT_FOUND;
+import static com.findaroom.findaroomcore.utils.MessageUtils.NEARBY_CENTRE_REQUIRED;
+import static com.findaroom.findaroomcore.utils.MessageUtils.SEARCH_TERMS_REQUIRED;
+import static com.findaroom.findaroomcore.utils.MessageUtils.TOO_MANY_IDS;
 
 @Service
 @RequiredArgsConstructor
 public class PublicApiService {
 
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final AccommodationRepository accommodationRepo;
-    private final BookingRepository bookingRepo;
+    private final AccommodationSearchRepository accommodationSearchRepo;
     private final ReviewRepository reviewRepo;
+    private final AccommodationCache accommodationCache;
+    private final AccommodationLoader accommodationLoader;
+    private final SearchProjection searchProjection;
 
     public Flux<Accommodation> findAccommodationsByFilter(AccommodationSearchFilter filter) {
-        return filter
-                .getBookingDates()
-                .map(BookingSearchFilter::new)
-                .flatMapMany(bookingRepo::findAllByFilter)
-                .map(Booking::getAccommodationId)
-                .distinct()
-                .collectList()
-                .doOnNext(filter::setExclude)
-                .then(Mono.just(filter))
-                .flatMapMany(accommodationRepo::findAllByFilter);
+        if (!searchProjection.isBuilt()) {
+            return accommodationCache.search(filter, Accommodation.class, accommodationRepo::findAllAvailableByFilter);
+        }
+        return accommodationCache.search(filter, Accommodation.class, accommodationSearchRepo::findAllAvailableByFilter);
+    }
+
+    public Flux<AccommodationSummary> findAccommodationSummariesByFilter(AccommodationSearchFilter filter) {
+        return accommodationCache.search(filter, AccommodationSummary.class, accommodationRepo::findAllAvailableSummariesByFilter);
+    }
+
+    public Mono<SearchFacets> countAccommodationFacetsByFilter(AccommodationSearchFilter filter) {
+        return accommodationRepo.countFacetsByFilter(filter);
+    }
+
+    public Flux<Nearby<Accommodation>> findNearbyAccommodationsByFilter(AccommodationSearchFilter filter) {
+        return requireNearPoint(filter).thenMany(accommodationRepo.findAllAvailableNearby(filter));
+    }
+
+    public Flux<Nearby<AccommodationSummary>> findNearbyAccommodationSummariesByFilter(AccommodationSearchFilter filter) {
+        return requireNearPoint(filter).thenMany(accommodationRepo.findAllAvailableSummariesNearby(filter));
     }
 
     public Mono<Accommodation> findAccommodationById(String accommodationId) {
-        return accommodationRepo
-                .findById(accommodationId)
+        return accommodationCache
+                .findById(accommodationId, accommodationLoader::load)
                 .switchIfEmpty(Mono.error(notFound(ACCOMMODATION_NOT_FOUND)));
     }
 
+    public Flux<Accommodation> findAccommodationsByIds(List<String> accommodationIds) {
+        return Flux.fromIterable(accommodationIds)
+                .distinct()
+                .collectList()
+                .filter(ids -> ids.size() <= MAX_BATCH_SIZE)
+                .switchIfEmpty(Mono.error(badRequest(TOO_MANY_IDS)))
+                .flatMapMany(Flux::fromIterable)
+                .flatMapSequential(id -> accommodationCache.findById(id, accommodationLoader::load));
+    }
+
     public Flux<Review> findAccommodationReviewsByFilter(String accommodationId, ReviewSearchFilter filter) {
-        return accommodationRepo
-                .findById(accommodationId)
+        return accommodationCache
+                .findById(accommodationId, accommodationLoader::load)
                 .switchIfEmpty(Mono.error(notFound(ACCOMMODATION_NOT_FOUND)))
                 .doOnNext(accommodation -> filter.setAccommodationId(accommodation.getAccommodationId()))
                 .then(Mono.just(filter))
                 .flatMapMany(reviewRepo::findAllByFilter);
     }
+
+    public Flux<Scored<Review>> findRelevantAccommodationReviewsByFilter(String accommodationId, ReviewSearchFilter filter) {
+        return filter
+                .getQ()
+                .filter(q -> !q.isBlank())
+                .switchIfEmpty(Mono.error(badRequest(SEARCH_TERMS_REQUIRED)))
+                .flatMap(q -> accommodationCache.findById(accommodationId, accommodationLoader::load))
+                .switchIfEmpty(Mono.error(notFound(ACCOMMODATION_NOT_FOUND)))
+                .doOnNext(accommodation -> filter.setAccommodationId(accommodation.getAccommodationId()))
+                .then(Mono.just(filter))
+                .flatMapMany(reviewRepo::findAllRelevantByFilter);
+    }
+
+    private static Mono<Void> requireNearPoint(AccommodationSearchFilter filter) {
+        return filter
+                .getNearPoint()
+                .switchIfEmpty(Mono.error(badRequest(NEARBY_CENTRE_REQUIRED)))
+                .then();
+    }
 }
@@ -12,20 +12,24 @@ import com.findaroom.findaroomcore.domain.Booking;
 import com.findaroom.findaroomcore.domain.Review;
 import com.findaroom.findaroomcore.repository.AccommodationRepository;
 import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.repository.ReservationRepository;
 import com.findaroom.findaroomcore.repository.ReviewRepository;
+import com.findaroom.findaroomcore.service.availability.AvailabilityIndex;
+import com.findaroom.findaroomcore.service.cache.AccommodationCache;
+import com.findaroom.findaroomcore.service.search.SearchProjection;
 import com.findaroom.findaroomcore.service.validation.AccommodationVerifier;
 import com.findaroom.findaroomcore.service.validation.BookingVerifier;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.function.Tuple2;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
-import static com.findaroom.findaroomcore.domain.enums.BookingStatus.CANCELLED;
 import static com.findaroom.findaroomcore.domain.enums.BookingStatus.activeStates;
+import static com.findaroom.findaroomcore.utils.ErrorUtils.conflict;
 import static com.findaroom.findaroomcore.utils.ErrorUtils.notFound;
 import static com.findaroom.findaroomcore.utils.ErrorUtils.unprocessableEntity;
 import static com.findaroom.findaroomcore.utils.MessageUtils.*;
@@ -37,8 +41,12 @@ public class UserOperationsService {
     private final AccommodationRepository accommodationRepo;
     private final BookingRepository bookingRepo;
     private final ReviewRepository reviewRepo;
+    private final ReservationRepository reservationRepo;
     private final AccommodationVerifier accommodationVerifier;
     private final BookingVerifier bookingVerifier;
+    private final AccommodationCache accommodationCache;
+    private final AvailabilityIndex availabilityIndex;
+    private final SearchProjection searchProjection;
 
     public Flux<Booking> findBookingsByUserId(String userId, BookingSearchFilter filter) {
         filter.setUserId(userId);
@@ -62,7 +70,10 @@ public class UserOperationsService {
     }
 
     public Mono<Accommodation> saveAccommodation(String userId, boolean superHost, CreateAccommodation create) {
-        return accommodationRepo.save(Accommodation.from(userId, superHost, create));
+        return accommodationRepo
+                .save(Accommodation.from(userId, superHost, create))
+                .flatMap(searchProjection::project)
+                .doOnNext(saved -> accommodationCache.evictAccommodation(saved.getAccommodationId()));
     }
 
     public Mono<Booking> bookAccommodation(String accommodationId, String userId, BookAccommodation book) {
@@ -80,7 +91,10 @@ public class UserOperationsService {
                 .switchIfEmpty(Mono.error(unprocessableEntity(USER_HAS_BOOKINGS_BETWEEN_DATES)));
 
         return Mono.zip(accommodationById, userIsAvailableBetweenDates)
-                .flatMap(t -> bookingRepo.save(Booking.from(accommodationId, userId, book)));
+                .map(t -> Booking.from(accommodationId, userId, book))
+                .flatMap(this::reserveAndSave)
+                .flatMap(booked -> searchProjection.refreshAvailability(accommodationId).thenReturn(booked))
+                .doOnNext(booked -> accommodationCache.evictAvailability());
     }
 
     public Mono<Review> reviewAccommodation(String accommodationId, String bookingId, String userId, ReviewAccommodation review) {
@@ -100,12 +114,19 @@ public class UserOperationsService {
     }
 
     public Mono<Booking> cancelBooking(String bookingId, String userId) {
-        return bookingRepo
+        var rejected = Mono.defer(() -> bookingRepo
                 .findByBookingIdAndUserId(bookingId, userId)
                 .switchIfEmpty(Mono.error(notFound(BOOKING_NOT_FOUND)))
                 .flatMap(bookingVerifier::verifyBookingIsActive)
-                .doOnNext(booking -> booking.setStatus(CANCELLED))
-                .flatMap(bookingRepo::save);
+                .flatMap(unchanged -> Mono.<Booking>error(conflict(BOOKING_MODIFIED_CONCURRENTLY))));
+
+        return bookingRepo
+                .cancelUserBooking(bookingId, userId)
+                .switchIfEmpty(rejected)
+                .doOnNext(availabilityIndex::track)
+                .flatMap(cancelled -> reservationRepo.deleteByBookingId(cancelled.getBookingId()).thenReturn(cancelled))
+                .flatMap(cancelled -> searchProjection.refreshAvailability(cancelled.getAccommodationId()).thenReturn(cancelled))
+                .doOnNext(cancelled -> accommodationCache.evictAvailability());
     }
 
     public Mono<Booking> rescheduleBooking(String bookingId, String userId, BookingDates dates) {
@@ -128,23 +149,45 @@ public class UserOperationsService {
 
         return Mono.zip(bookingById, userIsAvailableBetweenDates)
                 .map(Tuple2::getT1)
-                .doOnNext(booking -> booking.rescheduleWith(dates))
-                .flatMap(bookingRepo::save);
+                .flatMap(booking -> reservationRepo
+                        .hold(booking.getAccommodationId(), booking.getBookingId(), dates.occupiedDates())
+                        .filter(reserved -> reserved)
+                        .switchIfEmpty(Mono.error(unprocessableEntity(ACCOMMODATION_ALREADY_BOOKED)))
+                        .thenReturn(booking))
+                .flatMap(booking -> {
+                    var originalDates = new BookingDates(booking.getCheckin(), booking.getCheckout());
+                    return bookingRepo
+                            .rescheduleUserBooking(bookingId, userId, dates)
+                            .flatMap(rescheduled -> reservationRepo
+                                    .reschedule(rescheduled.getAccommodationId(), bookingId, dates.occupiedDates())
+                                    .thenReturn(rescheduled))
+                            .switchIfEmpty(Mono.defer(() -> reservationRepo
+                                    .reschedule(booking.getAccommodationId(), bookingId, originalDates.occupiedDates())
+                                    .then(Mono.<Booking>error(conflict(BOOKING_MODIFIED_CONCURRENTLY)))));
+                })
+                .doOnNext(availabilityIndex::track)
+                .flatMap(rescheduled -> searchProjection.refreshAvailability(rescheduled.getAccommodationId()).thenReturn(rescheduled))
+                .doOnNext(rescheduled -> accommodationCache.evictAvailability());
+    }
+
+    private Mono<Booking> reserveAndSave(Booking booking) {
+        booking.setBookingId(new ObjectId().toHexString());
+        var dates = new BookingDates(booking.getCheckin(), booking.getCheckout());
+        return reservationRepo
+                .reserve(booking.getAccommodationId(), booking.getBookingId(), dates.occupiedDates())
+                .filter(reserved -> reserved)
+                .switchIfEmpty(Mono.error(unprocessableEntity(ACCOMMODATION_ALREADY_BOOKED)))
+                .flatMap(reserved -> bookingRepo
+                        .save(booking)
+                        .onErrorResume(ex -> reservationRepo.deleteByBookingId(booking.getBookingId()).then(Mono.error(ex))));
     }
 
     private Mono<Review> reviewAccommodationInternal(Accommodation accommodation, Review review) {
         return reviewRepo.save(review)
-                .flatMap(saved -> calculateNewAverageRating(accommodation.getAccommodationId())
-                        .doOnNext(accommodation::setRating)
-                        .then(accommodationRepo.save(accommodation))
+                .flatMap(saved -> accommodationRepo
+                        .addRating(accommodation.getAccommodationId(), saved.getRating())
+                        .flatMap(searchProjection::project)
+                        .doOnNext(rated -> accommodationCache.evictAccommodation(rated.getAccommodationId()))
                         .thenReturn(saved));
     }
-
-    private Mono<Double> calculateNewAverageRating(String accommodationId) {
-        var filter = new ReviewSearchFilter();
-        filter.setAccommodationId(accommodationId);
-        return reviewRepo
-                .findAllByFilter(filter)
-                .collect(Collectors.averagingDouble(Review::getRating));
-    }
 }
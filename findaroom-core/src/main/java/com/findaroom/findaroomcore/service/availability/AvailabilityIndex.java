@@ -0,0 +1,127 @@
+package com.findaroom.findaroomcore.service.availability;
+
+import com.findaroom.findaroomcore.controller.event.BookingDates;
+import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.MongoMappingEvent;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.findaroom.findaroomcore.domain.enums.BookingStatus.activeStates;
+
+@Slf4j
+@Component
+public class AvailabilityIndex extends AbstractMongoEventListener<Booking> {
+
+    private static final String BOOKINGS = "bookings";
+    private static final Duration MAX_SEED_BACKOFF = Duration.ofMinutes(1);
+
+    private final BookingRepository bookingRepo;
+    private final Duration seedBackoff;
+    private final Map<String, Map<String, BookingDates>> bookedDates = new ConcurrentHashMap<>();
+    private final AtomicReference<Disposable> seeding = new AtomicReference<>();
+    private volatile boolean ready;
+
+    public AvailabilityIndex(BookingRepository bookingRepo,
+                             @Value("${findaroom.availability.seed-backoff:1s}") Duration seedBackoff) {
+        this.bookingRepo = bookingRepo;
+        this.seedBackoff = seedBackoff;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void seed() {
+        ready = false;
+        var previous = seeding.getAndSet(null);
+        if (previous != null) {
+            previous.dispose();
+        }
+        bookedDates.clear();
+        seeding.set(bookingRepo
+                .findByStatusInAndCheckoutAfter(activeStates(), LocalDate.now().minusDays(1))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, seedBackoff)
+                        .maxBackoff(MAX_SEED_BACKOFF)
+                        .doBeforeRetry(signal -> log.warn("Availability index seeding failed, retrying", signal.failure())))
+                .subscribe(this::track, error -> log.error("Availability index seeding aborted", error), () -> ready = true));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean isAvailable(String accommodationId, BookingDates dates) {
+        return isAvailableExcludingBooking(accommodationId, null, dates);
+    }
+
+    public boolean isAvailableExcludingBooking(String accommodationId, @Nullable String bookingId, BookingDates dates) {
+        return bookedDates
+                .getOrDefault(accommodationId, Map.of())
+                .entrySet()
+                .stream()
+                .filter(booked -> !Objects.equals(booked.getKey(), bookingId))
+                .noneMatch(booked -> overlap(booked.getValue(), dates));
+    }
+
+    public void track(Booking booking) {
+        var today = LocalDate.now();
+        bookedDates.compute(booking.getAccommodationId(), (accommodationId, booked) -> {
+            var updated = new HashMap<String, BookingDates>();
+            if (booked != null) {
+                booked.forEach((bookingId, dates) -> {
+                    if (!dates.getCheckout().isBefore(today)) {
+                        updated.put(bookingId, dates);
+                    }
+                });
+            }
+            if (activeStates().contains(booking.getStatus())) {
+                updated.put(booking.getBookingId(), new BookingDates(booking.getCheckin(), booking.getCheckout()));
+            } else {
+                updated.remove(booking.getBookingId());
+            }
+            return updated.isEmpty() ? null : Map.copyOf(updated);
+        });
+    }
+
+    public void release(String accommodationId, Collection<String> bookingIds) {
+        bookedDates.computeIfPresent(accommodationId, (id, booked) -> {
+            var updated = new HashMap<>(booked);
+            updated.keySet().removeAll(bookingIds);
+            return updated.isEmpty() ? null : Map.copyOf(updated);
+        });
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Booking> event) {
+        track(event.getSource());
+    }
+
+    @Override
+    public void onApplicationEvent(MongoMappingEvent<?> event) {
+        if (event instanceof AfterDeleteEvent && Objects.equals(event.getCollectionName(), BOOKINGS)) {
+            seed();
+            return;
+        }
+        super.onApplicationEvent(event);
+    }
+
+    private static boolean overlap(BookingDates booked, BookingDates dates) {
+        return !booked.getCheckout().isBefore(dates.getCheckin()) && !booked.getCheckin().isAfter(dates.getCheckout());
+    }
+}
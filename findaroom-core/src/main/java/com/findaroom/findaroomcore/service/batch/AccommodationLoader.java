@@ -0,0 +1,73 @@
+package com.findaroom.findaroomcore.service.batch;
+
+import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.repository.AccommodationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.UnicastProcessor;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+@Component
+public class AccommodationLoader {
+
+    private final AccommodationRepository accommodationRepo;
+    private final FluxSink<Lookup> lookups;
+    private final Disposable batching;
+
+    public AccommodationLoader(AccommodationRepository accommodationRepo,
+                               @Value("${findaroom.batch.accommodation.maximum-size:100}") int maximumSize,
+                               @Value("${findaroom.batch.accommodation.window:5ms}") Duration window) {
+
+        this.accommodationRepo = accommodationRepo;
+
+        var processor = UnicastProcessor.<Lookup>create();
+        this.lookups = processor.sink();
+        this.batching = processor
+                .bufferTimeout(maximumSize, window)
+                .flatMap(this::loadBatch)
+                .subscribe();
+    }
+
+    public Mono<Accommodation> load(String accommodationId) {
+        return Mono.defer(() -> {
+            var lookup = new Lookup(accommodationId, new CompletableFuture<>());
+            lookups.next(lookup);
+            return Mono.fromFuture(lookup.getResult());
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lookups.complete();
+        batching.dispose();
+    }
+
+    private Mono<Void> loadBatch(List<Lookup> batch) {
+        var ids = batch.stream()
+                .map(Lookup::getAccommodationId)
+                .distinct()
+                .collect(Collectors.toList());
+        return accommodationRepo
+                .findAllById(ids)
+                .collectMap(Accommodation::getAccommodationId)
+                .doOnNext(found -> batch.forEach(lookup -> lookup.getResult().complete(found.get(lookup.getAccommodationId()))))
+                .doOnError(error -> batch.forEach(lookup -> lookup.getResult().completeExceptionally(error)))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    @lombok.Value
+    private static class Lookup {
+
+        String accommodationId;
+        CompletableFuture<Accommodation> result;
+    }
+}
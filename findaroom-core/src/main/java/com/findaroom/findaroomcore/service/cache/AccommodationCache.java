@@ -0,0 +1,148 @@
+package com.findaroom.findaroomcore.service.cache;
+
+import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
+import com.findaroom.findaroomcore.domain.Accommodation;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.MongoClientSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+@Component
+public class AccommodationCache {
+
+    private static final Codec<Document> DOCUMENT_CODEC = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+
+    private final MongoConverter converter;
+    private final long searchMaximumEntrySize;
+    private final AsyncCache<SearchKey, SearchPage> searches;
+    private final AsyncCache<String, RawBsonDocument> accommodations;
+
+    public AccommodationCache(MeterRegistry registry,
+                              MongoConverter converter,
+                              @Value("${findaroom.cache.search.maximum-weight:64MB}") DataSize searchMaximumWeight,
+                              @Value("${findaroom.cache.search.maximum-entry-size:256KB}") DataSize searchMaximumEntrySize,
+                              @Value("${findaroom.cache.search.time-to-live:30s}") Duration searchTimeToLive,
+                              @Value("${findaroom.cache.accommodation.maximum-weight:64MB}") DataSize accommodationMaximumWeight,
+                              @Value("${findaroom.cache.accommodation.time-to-live:5m}") Duration accommodationTimeToLive) {
+
+        this.converter = converter;
+        this.searchMaximumEntrySize = searchMaximumEntrySize.toBytes();
+        this.searches = Caffeine.newBuilder()
+                .maximumWeight(searchMaximumWeight.toBytes())
+                .<SearchKey, SearchPage>weigher((key, page) -> page.getWeight())
+                .expireAfterWrite(searchTimeToLive)
+                .recordStats()
+                .buildAsync();
+        this.accommodations = Caffeine.newBuilder()
+                .maximumWeight(accommodationMaximumWeight.toBytes())
+                .<String, RawBsonDocument>weigher((id, accommodation) -> weightOf(accommodation))
+                .expireAfterWrite(accommodationTimeToLive)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(registry, searches.synchronous(), "accommodation.search");
+        CaffeineCacheMetrics.monitor(registry, accommodations.synchronous(), "accommodation");
+    }
+
+    public <T> Flux<T> search(AccommodationSearchFilter filter, Class<T> view, Function<AccommodationSearchFilter, Flux<T>> query) {
+        return filter
+                .getBookingDates()
+                .hasElement()
+                .map(dated -> new SearchKey(view.getSimpleName(), filter.searchKey(), dated))
+                .flatMap(key -> {
+                    var page = searches.get(key, (k, executor) -> load(filter, query).toFuture());
+                    return Mono.fromFuture(page).doOnNext(loaded -> {
+                        if (loaded.getWeight() > searchMaximumEntrySize) {
+                            searches.asMap().remove(key, page);
+                        }
+                    });
+                })
+                .doOnNext(page -> {
+                    if (page.getNextCursor() != null) {
+                        filter.continueWith(page.getNextCursor());
+                    }
+                })
+                .flatMapIterable(SearchPage::getResults)
+                .map(result -> restore(view, result));
+    }
+
+    public Mono<Accommodation> findById(String accommodationId, Function<String, Mono<Accommodation>> query) {
+        return Mono
+                .fromFuture(accommodations.get(accommodationId, (id, executor) -> query.apply(id).map(this::snapshot).toFuture()))
+                .map(snapshot -> restore(Accommodation.class, snapshot));
+    }
+
+    public void evictAccommodation(String accommodationId) {
+        accommodations.synchronous().invalidate(accommodationId);
+        searches.synchronous().invalidateAll();
+    }
+
+    public void evictAvailability() {
+        var dated = searches.synchronous().asMap().keySet().stream()
+                .filter(SearchKey::isDated)
+                .toArray(SearchKey[]::new);
+        searches.synchronous().invalidateAll(List.of(dated));
+    }
+
+    public void evictAll() {
+        accommodations.synchronous().invalidateAll();
+        searches.synchronous().invalidateAll();
+    }
+
+    private <T> Mono<SearchPage> load(AccommodationSearchFilter filter, Function<AccommodationSearchFilter, Flux<T>> query) {
+        return query.apply(filter)
+                .map(this::snapshot)
+                .collectList()
+                .flatMap(results -> filter
+                        .getNextCursor()
+                        .map(cursor -> new SearchPage(results, cursor))
+                        .defaultIfEmpty(new SearchPage(results, null)));
+    }
+
+    private RawBsonDocument snapshot(Object value) {
+        var document = new Document();
+        converter.write(value, document);
+        return new RawBsonDocument(document, DOCUMENT_CODEC);
+    }
+
+    private <T> T restore(Class<T> type, RawBsonDocument snapshot) {
+        return converter.read(type, snapshot.decode(DOCUMENT_CODEC));
+    }
+
+    private static int weightOf(RawBsonDocument document) {
+        return document.getByteBuffer().remaining();
+    }
+
+    @lombok.Value
+    private static class SearchKey {
+
+        String view;
+        String filter;
+        boolean dated;
+    }
+
+    @lombok.Value
+    private static class SearchPage {
+
+        List<RawBsonDocument> results;
+        String nextCursor;
+
+        int getWeight() {
+            return results.stream().mapToInt(AccommodationCache::weightOf).sum();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.findaroom.findaroomcore.service.indexing;
+
+import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
+import com.findaroom.findaroomcore.controller.filter.BookingSearchFilter;
+import com.findaroom.findaroomcore.controller.filter.ReviewSearchFilter;
+import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.domain.AccommodationSearch;
+import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.domain.Reservation;
+import com.findaroom.findaroomcore.domain.Review;
+import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.repository.ReservationRepository;
+import com.findaroom.findaroomcore.repository.impl.QueryShapes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.findaroom.findaroomcore.domain.enums.BookingStatus.activeStates;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexAdvisor {
+
+    private static final String REPORT_ON_STARTUP = "findaroom.index-advisor.enabled";
+
+    private final ReactiveMongoOperations mongoOps;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        if (!event.getApplicationContext().getEnvironment().getProperty(REPORT_ON_STARTUP, Boolean.class, false)) {
+            return;
+        }
+        explainCanonicalQueries()
+                .subscribe(this::log, error -> log.warn("Index advisor report failed", error));
+    }
+
+    public Flux<QueryPlan> explainCanonicalQueries() {
+        return Flux
+                .fromIterable(canonicalQueries(mongoOps.getConverter()).entrySet())
+                .concatMap(shape -> explain(shape.getKey(), shape.getValue()));
+    }
+
+    private Mono<QueryPlan> explain(String shape, CanonicalQuery canonical) {
+
+        var converter = mongoOps.getConverter();
+        var entity = converter.getMappingContext().getRequiredPersistentEntity(canonical.type);
+        var mapper = new QueryMapper(converter);
+        var collection = mongoOps.getCollectionName(canonical.type);
+
+        var find = new Document("find", collection)
+                .append("filter", mapper.getMappedObject(canonical.query.getQueryObject(), entity))
+                .append("sort", mapper.getMappedSort(canonical.query.getSortObject(), entity));
+
+        return mongoOps
+                .executeCommand(new Document("explain", find).append("verbosity", "queryPlanner"))
+                .map(explained -> QueryPlan.of(shape, collection, stagesOf(winningPlan(explained))));
+    }
+
+    private void log(QueryPlan plan) {
+        if (plan.isCollectionScan()) {
+            log.warn("Query shape '{}' on '{}' runs a collection scan: {}", plan.getShape(), plan.getCollection(), plan.getStages());
+        } else {
+            log.info("Query shape '{}' on '{}' uses {}", plan.getShape(), plan.getCollection(), plan.getStages());
+        }
+    }
+
+    private static Map<String, CanonicalQuery> canonicalQueries(MongoConverter converter) {
+
+        var today = LocalDate.now();
+        var shapes = new LinkedHashMap<String, CanonicalQuery>();
+
+        shapes.put("accommodation-bookings-between-dates", new CanonicalQuery(Booking.class,
+                QueryShapes.of(BookingRepository.class, "countActiveAccommodationBookingsBetweenDates", converter, "", today, today, activeStates())));
+        shapes.put("user-bookings-between-dates", new CanonicalQuery(Booking.class,
+                QueryShapes.of(BookingRepository.class, "countActiveUserBookingsBetweenDates", converter, "", today, today, activeStates())));
+        shapes.put("upcoming-active-bookings", new CanonicalQuery(Booking.class,
+                QueryShapes.of(BookingRepository.class, "findByStatusInAndCheckoutAfter", converter, activeStates(), today)));
+        shapes.put("accommodation-bookings", new CanonicalQuery(Booking.class,
+                QueryShapes.of(bookingFilter(filter -> filter.setAccommodationId("")), converter)));
+        shapes.put("user-bookings", new CanonicalQuery(Booking.class,
+                QueryShapes.of(bookingFilter(filter -> filter.setUserId("")), converter)));
+        shapes.put("accommodation-search", new CanonicalQuery(AccommodationSearch.class,
+                QueryShapes.of(accommodationFilter(filter -> {
+                    filter.setCity("");
+                    filter.setPricePerNight(0.0);
+                    filter.setRating(0.0);
+                }), AccommodationSearch.class, converter)));
+        shapes.put("host-accommodations", new CanonicalQuery(Accommodation.class,
+                QueryShapes.of(accommodationFilter(filter -> filter.setHostId("")), Accommodation.class, converter)));
+        shapes.put("accommodation-reviews", new CanonicalQuery(Review.class,
+                QueryShapes.of(reviewFilter(filter -> {
+                    filter.setAccommodationId("");
+                    filter.setRating(0.0);
+                }), converter)));
+        shapes.put("user-reviews", new CanonicalQuery(Review.class,
+                QueryShapes.of(reviewFilter(filter -> {
+                    filter.setUserId("");
+                    filter.setRating(0.0);
+                }), converter)));
+        shapes.put("booking-reservations", new CanonicalQuery(Reservation.class,
+                QueryShapes.of(ReservationRepository.class, "findByBookingId", converter, "")));
+
+        return shapes;
+    }
+
+    private static AccommodationSearchFilter accommodationFilter(Consumer<AccommodationSearchFilter> shape) {
+        var filter = new AccommodationSearchFilter();
+        shape.accept(filter);
+        return filter;
+    }
+
+    private static BookingSearchFilter bookingFilter(Consumer<BookingSearchFilter> shape) {
+        var filter = new BookingSearchFilter();
+        shape.accept(filter);
+        return filter;
+    }
+
+    private static ReviewSearchFilter reviewFilter(Consumer<ReviewSearchFilter> shape) {
+        var filter = new ReviewSearchFilter();
+        shape.accept(filter);
+        return filter;
+    }
+
+    private static Document winningPlan(Document explained) {
+        var planner = explained.get("queryPlanner", Document.class);
+        return planner == null ? new Document() : planner.get("winningPlan", new Document());
+    }
+
+    private static List<String> stagesOf(Document plan) {
+        var stages = new ArrayList<String>();
+        if (plan.containsKey("stage")) {
+            stages.add(plan.getString("stage"));
+        }
+        if (plan.containsKey("inputStage")) {
+            stages.addAll(stagesOf(plan.get("inputStage", Document.class)));
+        }
+        if (plan.containsKey("inputStages")) {
+            plan.getList("inputStages", Document.class).forEach(input -> stages.addAll(stagesOf(input)));
+        }
+        return stages;
+    }
+
+    @RequiredArgsConstructor
+    private static class CanonicalQuery {
+
+        private final Class<?> type;
+        private final Query query;
+    }
+}
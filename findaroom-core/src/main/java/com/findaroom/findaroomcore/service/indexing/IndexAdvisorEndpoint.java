@@ -0,0 +1,28 @@
+package com.findaroom.findaroomcore.service.indexing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "indexadvisor")
+public class IndexAdvisorEndpoint {
+
+    private final IndexAdvisor indexAdvisor;
+
+    @ReadOperation
+    public Mono<Map<String, Object>> report() {
+        return indexAdvisor
+                .explainCanonicalQueries()
+                .collectList()
+                .map(plans -> Map.of(
+                        "collectionScans", plans.stream().filter(QueryPlan::isCollectionScan).collect(Collectors.toList()),
+                        "plans", plans));
+    }
+}
@@ -0,0 +1,17 @@
+package com.findaroom.findaroomcore.service.indexing;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value(staticConstructor = "of")
+public class QueryPlan {
+
+    String shape;
+    String collection;
+    List<String> stages;
+
+    public boolean isCollectionScan() {
+        return stages.contains("COLLSCAN");
+    }
+}
@@ -0,0 +1,23 @@
+package com.findaroom.findaroomcore.service.migration;
+
+import com.findaroom.findaroomcore.repository.AccommodationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AmenitiesMaskMigration implements SmartInitializingSingleton {
+
+    private final AccommodationRepository accommodationRepo;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        var backfilled = accommodationRepo.backfillAmenitiesMask().block();
+        if (backfilled != null && backfilled > 0) {
+            log.info("Backfilled amenities mask of {} accommodations", backfilled);
+        }
+    }
+}
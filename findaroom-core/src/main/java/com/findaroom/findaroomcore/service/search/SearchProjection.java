@@ -0,0 +1,182 @@
+package com.findaroom.findaroomcore.service.search;
+
+import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.domain.AccommodationSearch;
+import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.repository.AccommodationRepository;
+import com.findaroom.findaroomcore.repository.AccommodationSearchRepository;
+import com.findaroom.findaroomcore.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.findaroom.findaroomcore.domain.enums.BookingStatus.activeStates;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchProjection {
+
+    private static final String REBUILD_ON_STARTUP = "findaroom.search.rebuild-on-startup";
+    private static final String REPAIR_INTERVAL = "findaroom.search.repair-interval";
+
+    private final AccommodationRepository accommodationRepo;
+    private final AccommodationSearchRepository accommodationSearchRepo;
+    private final BookingRepository bookingRepo;
+
+    private final AtomicBoolean built = new AtomicBoolean();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final Disposable.Swap repairing = Disposables.swap();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup(ApplicationReadyEvent event) {
+        var rebuildRequested = event.getApplicationContext().getEnvironment().getProperty(REBUILD_ON_STARTUP, Boolean.class, false);
+        accommodationSearchRepo
+                .count()
+                .doOnNext(projected -> {
+                    if (projected > 0) {
+                        built.set(true);
+                    }
+                })
+                .filter(projected -> projected == 0 || rebuildRequested)
+                .flatMap(projected -> rebuild())
+                .subscribe(
+                        count -> log.info("Rebuilt search projection for {} accommodations", count),
+                        error -> log.warn("Search projection rebuild failed", error));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void repairPeriodically(ApplicationReadyEvent event) {
+        var interval = event.getApplicationContext().getEnvironment().getProperty(REPAIR_INTERVAL, Duration.class, Duration.ofSeconds(30));
+        repairing.update(Flux
+                .interval(interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> repairDirty())
+                .subscribe(repaired -> {
+                    if (repaired > 0) {
+                        log.info("Repaired search projection of {} accommodations", repaired);
+                    }
+                }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        repairing.dispose();
+    }
+
+    public boolean isBuilt() {
+        return built.get();
+    }
+
+    public Set<String> getDirty() {
+        return Set.copyOf(dirty);
+    }
+
+    public Mono<Long> repairDirty() {
+        return Flux
+                .defer(() -> Flux.fromIterable(List.copyOf(dirty)))
+                .concatMap(this::repair)
+                .filter(Boolean::booleanValue)
+                .count();
+    }
+
+    public Mono<Long> rebuild() {
+        var pending = List.copyOf(dirty);
+        var startedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        var today = LocalDate.now();
+        var activeBookings = bookingRepo
+                .findByStatusInAndCheckoutAfter(activeStates(), today.minusDays(1))
+                .collectMultimap(Booking::getAccommodationId);
+        return activeBookings
+                .flatMapMany(booked -> accommodationRepo
+                        .findAll()
+                        .map(accommodation -> AccommodationSearch.of(accommodation,
+                                nextAvailable(today, booked.getOrDefault(accommodation.getAccommodationId(), List.of())))))
+                .transform(accommodationSearchRepo::saveAll)
+                .count()
+                .flatMap(count -> accommodationSearchRepo.deleteByProjectedAtBefore(startedAt).thenReturn(count))
+                .doOnSuccess(count -> {
+                    built.set(true);
+                    dirty.removeAll(pending);
+                });
+    }
+
+    public Mono<Accommodation> project(Accommodation accommodation) {
+        return write(accommodation)
+                .doOnError(error -> markDirty(accommodation.getAccommodationId(), error))
+                .onErrorResume(error -> Mono.empty())
+                .thenReturn(accommodation);
+    }
+
+    public Mono<Void> refreshAvailability(String accommodationId) {
+        var today = LocalDate.now();
+        return activeBookings(accommodationId, today)
+                .flatMap(booked -> accommodationSearchRepo.updateNextAvailable(accommodationId, nextAvailable(today, booked)))
+                .doOnError(error -> markDirty(accommodationId, error))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private Mono<Boolean> repair(String accommodationId) {
+        return accommodationRepo
+                .findById(accommodationId)
+                .flatMap(this::write)
+                .then(Mono.fromCallable(() -> dirty.remove(accommodationId)))
+                .doOnError(error -> log.warn("Search projection repair of accommodation {} failed", accommodationId, error))
+                .onErrorReturn(false);
+    }
+
+    private Mono<AccommodationSearch> write(Accommodation accommodation) {
+        var today = LocalDate.now();
+        return activeBookings(accommodation.getAccommodationId(), today)
+                .map(booked -> AccommodationSearch.of(accommodation, nextAvailable(today, booked)))
+                .flatMap(accommodationSearchRepo::save);
+    }
+
+    private void markDirty(String accommodationId, Throwable error) {
+        log.warn("Search projection of accommodation {} failed, scheduling repair", accommodationId, error);
+        dirty.add(accommodationId);
+    }
+
+    private Mono<List<Booking>> activeBookings(String accommodationId, LocalDate today) {
+        return bookingRepo
+                .findByAccommodationIdAndStatusInAndCheckoutAfter(accommodationId, activeStates(), today.minusDays(1))
+                .collectList();
+    }
+
+    private static LocalDate nextAvailable(LocalDate today, Collection<Booking> booked) {
+        var next = today;
+        var byCheckin = booked.stream()
+                .sorted(Comparator.comparing(Booking::getCheckin))
+                .iterator();
+        while (byCheckin.hasNext()) {
+            var booking = byCheckin.next();
+            if (booking.getCheckin().isAfter(next)) {
+                break;
+            }
+            if (!booking.getCheckout().isBefore(next)) {
+                next = booking.getCheckout().plusDays(1);
+            }
+        }
+        return next;
+    }
+}
@@ -0,0 +1,28 @@
+package com.findaroom.findaroomcore.service.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "searchprojection")
+public class SearchProjectionEndpoint {
+
+    private final SearchProjection searchProjection;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of("built", searchProjection.isBuilt(), "dirty", searchProjection.getDirty());
+    }
+
+    @WriteOperation
+    public Mono<Map<String, Object>> rebuild() {
+        return searchProjection.rebuild().map(rebuilt -> Map.of("rebuilt", rebuilt));
+    }
+}
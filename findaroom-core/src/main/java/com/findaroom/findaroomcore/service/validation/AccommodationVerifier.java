@@ -3,7 +3,9 @@ package com.findaroom.findaroomcore.service.validation;
 import com.findaroom.findaroomcore.controller.event.BookingDates;
 import com.findaroom.findaroomcore.domain.Accommodation;
 import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.service.availability.AvailabilityIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
@@ -15,6 +17,7 @@ import static com.findaroom.findaroomcore.utils.MessageUtils.*;
 public class AccommodationVerifier implements BusinessVerifier {
 
     private final BookingRepository bookingRepo;
+    private final AvailabilityIndex availabilityIndex;
 
     public Mono<Accommodation> verifyUserIsNotAccommodationHost(Accommodation object, String userId) {
         return verify(
@@ -43,7 +46,9 @@ public class AccommodationVerifier implements BusinessVerifier {
     public Mono<Accommodation> verifyAccommodationIsAvailable(Accommodation object, BookingDates dates) {
         return verifyAsync(
                 object,
-                accommodation -> bookingRepo
+                accommodation -> availableInIndex(accommodation.getAccommodationId(), null, dates)
+                        ? Mono.just(true)
+                        : bookingRepo
                         .countActiveAccommodationBookingsBetweenDates(
                                 accommodation.getAccommodationId(), dates.getCheckin(), dates.getCheckout(), activeStates())
                         .map(count -> count == 0),
@@ -54,11 +59,17 @@ public class AccommodationVerifier implements BusinessVerifier {
     public Mono<Accommodation> verifyAccommodationIsAvailableExcludingBooking(Accommodation object, String bookingId, BookingDates dates) {
         return verifyAsync(
                 object,
-                accommodation -> bookingRepo
+                accommodation -> availableInIndex(accommodation.getAccommodationId(), bookingId, dates)
+                        ? Mono.just(true)
+                        : bookingRepo
                         .countActiveAccommodationBookingsBetweenDatesExcludingBooking(
                                 accommodation.getAccommodationId(), bookingId, dates.getCheckin(), dates.getCheckout(), activeStates())
                         .map(count -> count == 0),
                 ACCOMMODATION_ALREADY_BOOKED
         );
     }
+
+    private boolean availableInIndex(String accommodationId, @Nullable String bookingId, BookingDates dates) {
+        return availabilityIndex.isReady() && availabilityIndex.isAvailableExcludingBooking(accommodationId, bookingId, dates);
+    }
 }
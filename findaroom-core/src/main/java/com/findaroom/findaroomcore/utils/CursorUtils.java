@@ -0,0 +1,38 @@
+package com.findaroom.findaroomcore.utils;
+
+import com.findaroom.findaroomcore.controller.filter.PagingAndSortingFilter;
+import com.findaroom.findaroomcore.domain.NextCursor;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.findaroom.findaroomcore.config.CodecConfig.isStreaming;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CursorUtils {
+
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+    public static final String NEXT_CURSOR_EVENT = "next-cursor";
+
+    public static <T> Flux<Object> withNextCursor(ServerHttpResponse response, PagingAndSortingFilter filter, Flux<T> results) {
+        response.beforeCommit(() -> filter
+                .getNextCursor()
+                .doOnNext(cursor -> response.getHeaders().set(NEXT_CURSOR, cursor))
+                .then());
+        return Flux.concat(results, Mono.defer(() -> nextCursorElement(response.getHeaders().getContentType(), filter)));
+    }
+
+    private static Mono<Object> nextCursorElement(MediaType contentType, PagingAndSortingFilter filter) {
+        if (!isStreaming(contentType)) {
+            return Mono.empty();
+        }
+        if (MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(contentType)) {
+            return filter.getNextCursor().map(cursor -> ServerSentEvent.builder(cursor).event(NEXT_CURSOR_EVENT).build());
+        }
+        return filter.getNextCursor().map(NextCursor::of);
+    }
+}
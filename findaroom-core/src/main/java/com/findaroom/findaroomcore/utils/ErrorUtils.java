@@ -7,16 +7,26 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.function.Supplier;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class ErrorUtils {
 
+    public static Supplier<ResponseStatusException> badRequest(@Nullable String reason) {
+        return () -> new ResponseStatusException(BAD_REQUEST, reason);
+    }
+
     public static Supplier<ResponseStatusException> notFound(@Nullable String reason) {
         return () -> new ResponseStatusException(NOT_FOUND, reason);
     }
 
+    public static Supplier<ResponseStatusException> conflict(@Nullable String reason) {
+        return () -> new ResponseStatusException(CONFLICT, reason);
+    }
+
     public static Supplier<ResponseStatusException> unprocessableEntity(@Nullable String reason) {
         return () -> new ResponseStatusException(UNPROCESSABLE_ENTITY, reason);
     }
@@ -11,13 +11,22 @@ public final class MessageUtils {
     public static final String ACCOMMODATION_MAX_GUESTS_EXCEEDED = "Number of guests exceeds accommodation capacity.";
     public static final String ACCOMMODATION_ALREADY_UNLISTED = "Accommodation is already unlisted.";
     public static final String ACCOMMODATION_ALREADY_BOOKED = "Accommodation is already booked between selected dates.";
+    public static final String ACCOMMODATION_MODIFIED_CONCURRENTLY = "Accommodation was modified by another request.";
 
     public static final String BOOKING_NOT_FOUND = "Booking not found";
     public static final String BOOKING_NOT_COMPLETED = "Booking is not completed.";
     public static final String BOOKING_NOT_ACTIVE = "Booking is not active.";
     public static final String BOOKING_NOT_PENDING = "Booking is not pending.";
     public static final String BOOKING_DATES_SAME_AS_RESCHEDULE_DATES = "Booking dates and reschedule dates are the same.";
+    public static final String BOOKING_MODIFIED_CONCURRENTLY = "Booking was modified by another request.";
 
     public static final String USER_HAS_BOOKINGS_BETWEEN_DATES = "User already has bookings between selected dates.";
 
+    public static final String NEARBY_CENTRE_REQUIRED = "Nearby search requires lat and lng.";
+    public static final String TOO_MANY_IDS = "Too many ids requested at once.";
+    public static final String SEARCH_TERMS_REQUIRED = "Relevance search requires search terms.";
+
+    public static final String INVALID_CURSOR = "Cursor is not valid for the selected sorting.";
+    public static final String UNSORTABLE_FIELD = "Results cannot be sorted by the selected field.";
+
 }
@@ -0,0 +1,37 @@
+package com.findaroom.findaroomcore.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestMemo {
+
+    private static final String KEY = RequestMemo.class.getName();
+
+    public static Context open(Context context) {
+        return context.hasKey(KEY) ? context : context.put(KEY, new ConcurrentHashMap<List<Object>, Mono<?>>());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Mono<T> memoize(Class<T> type, Object id, Supplier<Mono<T>> query) {
+        return Mono.subscriberContext().flatMap(context -> context
+                .<Map<List<Object>, Mono<?>>>getOrEmpty(KEY)
+                .map(memo -> (Mono<T>) memo.computeIfAbsent(List.of(type, id), key -> query.get().cache()))
+                .orElseGet(query));
+    }
+
+    public static <T> Mono<T> remember(Class<T> type, Object id, T value) {
+        return Mono.subscriberContext()
+                .doOnNext(context -> context
+                        .<Map<List<Object>, Mono<?>>>getOrEmpty(KEY)
+                        .ifPresent(memo -> memo.put(List.of(type, id), Mono.just(value))))
+                .thenReturn(value);
+    }
+}
@@ -5,7 +5,9 @@ import com.findaroom.findaroomcore.domain.Accommodation;
 import com.findaroom.findaroomcore.domain.Booking;
 import com.findaroom.findaroomcore.repository.AccommodationRepository;
 import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.repository.ReservationRepository;
 import com.findaroom.findaroomcore.repository.ReviewRepository;
+import com.findaroom.findaroomcore.service.cache.AccommodationCache;
 import com.findaroom.findaroomcore.utils.TestPojos;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,6 +43,12 @@ public class HostOperationsIntegrationTest {
     @Autowired
     private ReviewRepository reviewRepo;
 
+    @Autowired
+    private ReservationRepository reservationRepo;
+
+    @Autowired
+    private AccommodationCache accommodationCache;
+
     @MockBean
     private ReactiveJwtDecoder jwtDecoder;
 
@@ -49,6 +57,8 @@ public class HostOperationsIntegrationTest {
         accommodationRepo.deleteAll().block();
         bookingRepo.deleteAll().block();
         reviewRepo.deleteAll().block();
+        reservationRepo.deleteAll().block();
+        accommodationCache.evictAll();
     }
 
     @Test
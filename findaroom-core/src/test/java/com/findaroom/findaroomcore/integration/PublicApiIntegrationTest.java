@@ -4,8 +4,12 @@ import com.findaroom.findaroomcore.domain.Accommodation;
 import com.findaroom.findaroomcore.domain.Booking;
 import com.findaroom.findaroomcore.domain.Review;
 import com.findaroom.findaroomcore.repository.AccommodationRepository;
+import com.findaroom.findaroomcore.repository.AccommodationSearchRepository;
 import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.repository.ReservationRepository;
 import com.findaroom.findaroomcore.repository.ReviewRepository;
+import com.findaroom.findaroomcore.service.cache.AccommodationCache;
+import com.findaroom.findaroomcore.service.search.SearchProjection;
 import com.findaroom.findaroomcore.utils.TestPojos;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +43,18 @@ public class PublicApiIntegrationTest {
     @Autowired
     private ReviewRepository reviewRepo;
 
+    @Autowired
+    private ReservationRepository reservationRepo;
+
+    @Autowired
+    private AccommodationCache accommodationCache;
+
+    @Autowired
+    private AccommodationSearchRepository accommodationSearchRepo;
+
+    @Autowired
+    private SearchProjection searchProjection;
+
     @MockBean
     private ReactiveJwtDecoder jwtDecoder;
 
@@ -47,6 +63,9 @@ public class PublicApiIntegrationTest {
         accommodationRepo.deleteAll().block();
         bookingRepo.deleteAll().block();
         reviewRepo.deleteAll().block();
+        reservationRepo.deleteAll().block();
+        accommodationSearchRepo.deleteAll().block();
+        accommodationCache.evictAll();
     }
 
     @Test
@@ -57,6 +76,7 @@ public class PublicApiIntegrationTest {
         Accommodation acc2 = TestPojos.accommodation();
         acc2.setAccommodationId("456");
         accommodationRepo.saveAll(Flux.just(acc1, acc2)).blockLast();
+        searchProjection.rebuild().block();
 
         webTestClient
                 .get()
@@ -91,6 +111,7 @@ public class PublicApiIntegrationTest {
         book2.setCheckin(LocalDate.now().plusDays(4));
         book2.setCheckout(LocalDate.now().plusDays(9));
         bookingRepo.saveAll(Flux.just(book1, book2)).blockLast();
+        searchProjection.rebuild().block();
 
         webTestClient
                 .get()
@@ -126,6 +147,27 @@ public class PublicApiIntegrationTest {
                 .jsonPath("@.accommodationId").isEqualTo("123");
     }
 
+    @Test
+    public void getAccommodationsByIds() {
+
+        Accommodation acc1 = TestPojos.accommodation();
+        acc1.setAccommodationId("123");
+        Accommodation acc2 = TestPojos.accommodation();
+        acc2.setAccommodationId("456");
+        accommodationRepo.saveAll(Flux.just(acc1, acc2)).blockLast();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations/batch?ids=456,123,789")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("@.length()").isEqualTo(2)
+                .jsonPath("@.[0].accommodationId").isEqualTo("456")
+                .jsonPath("@.[1].accommodationId").isEqualTo("123");
+    }
+
     @Test
     public void getAccommodationReviews() {
 
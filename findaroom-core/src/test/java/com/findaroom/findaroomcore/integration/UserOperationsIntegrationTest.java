@@ -8,7 +8,9 @@ import com.findaroom.findaroomcore.domain.Booking;
 import com.findaroom.findaroomcore.domain.Review;
 import com.findaroom.findaroomcore.repository.AccommodationRepository;
 import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.repository.ReservationRepository;
 import com.findaroom.findaroomcore.repository.ReviewRepository;
+import com.findaroom.findaroomcore.service.cache.AccommodationCache;
 import com.findaroom.findaroomcore.utils.TestPojos;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -46,6 +48,12 @@ public class UserOperationsIntegrationTest {
     @Autowired
     private ReviewRepository reviewRepo;
 
+    @Autowired
+    private ReservationRepository reservationRepo;
+
+    @Autowired
+    private AccommodationCache accommodationCache;
+
     @MockBean
     private ReactiveJwtDecoder jwtDecoder;
 
@@ -54,6 +62,8 @@ public class UserOperationsIntegrationTest {
         accommodationRepo.deleteAll().block();
         bookingRepo.deleteAll().block();
         reviewRepo.deleteAll().block();
+        reservationRepo.deleteAll().block();
+        accommodationCache.evictAll();
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.findaroom.findaroomcore.unit.controller;
 
+import com.findaroom.findaroomcore.config.CodecConfig;
 import com.findaroom.findaroomcore.config.SecurityConfig;
 import com.findaroom.findaroomcore.controller.HostOperationsController;
 import com.findaroom.findaroomcore.controller.event.UpdateAccommodation;
@@ -17,6 +18,8 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import static com.findaroom.findaroomcore.config.CodecConfig.APPLICATION_NDJSON;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -25,7 +28,7 @@ import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
 
 @WebFluxTest(HostOperationsController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, CodecConfig.class})
 public class HostOperationsControllerTest {
 
     @Autowired
@@ -56,6 +59,28 @@ public class HostOperationsControllerTest {
                 .jsonPath("@.[0]").isNotEmpty();
     }
 
+    @Test
+    public void getHostAccommodations_withNdjsonAccept_shouldStreamDocuments() {
+
+        when(hostOps.findAccommodationsByHostId(anyString(), any())).thenReturn(Flux.just(TestPojos.accommodation(), TestPojos.accommodation()));
+
+        var jwtMutator = mockJwt().authorities(new SimpleGrantedAuthority("host"));
+
+        String body = webTestClient
+                .mutateWith(jwtMutator)
+                .get()
+                .uri("/api/v1/host-ops/my-accommodations")
+                .accept(APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(body.lines()).hasSize(2).allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+    }
+
     @Test
     public void getHostAccommodations_whenNoHostAuthority_shouldReturnForbidden() {
 
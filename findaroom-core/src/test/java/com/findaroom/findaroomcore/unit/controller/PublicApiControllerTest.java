@@ -1,29 +1,51 @@
 package com.findaroom.findaroomcore.unit.controller;
 
+import com.findaroom.findaroomcore.config.CodecConfig;
+import com.findaroom.findaroomcore.config.HttpCachingConfig;
 import com.findaroom.findaroomcore.config.SecurityConfig;
 import com.findaroom.findaroomcore.controller.PublicApiController;
+import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
+import com.findaroom.findaroomcore.domain.Nearby;
 import com.findaroom.findaroomcore.domain.Review;
+import com.findaroom.findaroomcore.domain.Scored;
+import com.findaroom.findaroomcore.domain.SearchFacets;
 import com.findaroom.findaroomcore.service.PublicApiService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static com.findaroom.findaroomcore.config.CodecConfig.APPLICATION_NDJSON;
+import static com.findaroom.findaroomcore.domain.enums.AccommodationType.WHOLE_APARTMENT;
+import static com.findaroom.findaroomcore.domain.enums.Amenity.WIFI;
+import static com.findaroom.findaroomcore.utils.CursorUtils.NEXT_CURSOR;
+import static com.findaroom.findaroomcore.utils.CursorUtils.NEXT_CURSOR_EVENT;
 import static com.findaroom.findaroomcore.utils.TestPojos.accommodation;
+import static com.findaroom.findaroomcore.utils.TestPojos.accommodationSummary;
 import static com.findaroom.findaroomcore.utils.TestPojos.review;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
 
 @WebFluxTest(PublicApiController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, HttpCachingConfig.class, CodecConfig.class})
 public class PublicApiControllerTest {
 
     @Autowired
@@ -52,6 +74,210 @@ public class PublicApiControllerTest {
                 .jsonPath("@.[1]").isNotEmpty();
     }
 
+    @Test
+    public void getAccommodations_whenPageIsFull_shouldReturnNextCursor() {
+
+        when(publicApi.findAccommodationsByFilter(any())).thenAnswer(invocation -> {
+            invocation.<AccommodationSearchFilter>getArgument(0).continueWith("abc");
+            return Flux.just(accommodation(), accommodation());
+        });
+
+        webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations?size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(NEXT_CURSOR, "abc")
+                .expectBody()
+                .jsonPath("@").value(hasSize(2));
+    }
+
+    @Test
+    public void getAccommodations_withNdjsonAccept_shouldStreamWithoutEtag() {
+
+        when(publicApi.findAccommodationsByFilter(any())).thenReturn(Flux.just(accommodation()).concatWith(Flux.never()));
+
+        var result = webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations")
+                .accept(APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(APPLICATION_NDJSON)
+                .returnResult(String.class);
+
+        assertThat(result.getResponseHeaders().getETag()).isNull();
+        StepVerifier
+                .create(result.getResponseBody())
+                .assertNext(line -> assertThat(line).contains("\"name\":\"name\""))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void getAccommodations_withNdjsonAccept_shouldPageWithInBandCursor() {
+
+        when(publicApi.findAccommodationsByFilter(any())).thenAnswer(invocation -> {
+            var filter = invocation.<AccommodationSearchFilter>getArgument(0);
+            if (filter.getCursor().blockOptional().isPresent()) {
+                return Flux.just(accommodation());
+            }
+            filter.continueWith("abc");
+            return Flux.just(accommodation(), accommodation());
+        });
+
+        var firstPage = webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations?size=2")
+                .accept(APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody();
+
+        StepVerifier
+                .create(firstPage)
+                .assertNext(line -> assertThat(line).contains("\"name\":\"name\""))
+                .assertNext(line -> assertThat(line).contains("\"name\":\"name\""))
+                .expectNext("{\"nextCursor\":\"abc\"}")
+                .verifyComplete();
+
+        var lastPage = webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations?size=2&cursor=abc")
+                .accept(APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody();
+
+        StepVerifier
+                .create(lastPage)
+                .assertNext(line -> assertThat(line).contains("\"name\":\"name\""))
+                .verifyComplete();
+    }
+
+    @Test
+    public void getAccommodations_withEventStreamAccept_shouldSendNextCursorEvent() {
+
+        when(publicApi.findAccommodationsByFilter(any())).thenAnswer(invocation -> {
+            invocation.<AccommodationSearchFilter>getArgument(0).continueWith("abc");
+            return Flux.just(accommodation());
+        });
+
+        Flux<ServerSentEvent<String>> events = webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations?size=1")
+                .accept(TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                .getResponseBody();
+
+        StepVerifier
+                .create(events)
+                .assertNext(event -> assertThat(event.data()).contains("\"name\":\"name\""))
+                .assertNext(event -> {
+                    assertThat(event.event()).isEqualTo(NEXT_CURSOR_EVENT);
+                    assertThat(event.data()).isEqualTo("abc");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void getAccommodationSummaries() {
+
+        when(publicApi.findAccommodationSummariesByFilter(any())).thenReturn(Flux.just(accommodationSummary(), accommodationSummary()));
+
+        webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations?view=summary")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("@").value(hasSize(2))
+                .jsonPath("@.[0].city").isEqualTo("city")
+                .jsonPath("@.[0].image.url").isEqualTo("url")
+                .jsonPath("@.[0].images").doesNotExist()
+                .jsonPath("@.[0].description").doesNotExist();
+    }
+
+    @Test
+    public void getAccommodationFacets() {
+
+        var facets = SearchFacets.of(3, Map.of(WHOLE_APARTMENT, 3L), Map.of(WIFI, 2L), List.of(SearchFacets.PriceBucket.of(0.0, 50.0, 3)), 1);
+        when(publicApi.countAccommodationFacetsByFilter(any())).thenReturn(Mono.just(facets));
+
+        webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations/facets?city=city")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("@.total").isEqualTo(3)
+                .jsonPath("@.types.WHOLE_APARTMENT").isEqualTo(3)
+                .jsonPath("@.amenities.WIFI").isEqualTo(2)
+                .jsonPath("@.prices[0].max").isEqualTo(50.0)
+                .jsonPath("@.superHosts").isEqualTo(1);
+    }
+
+    @Test
+    public void getNearbyAccommodationSummaries() {
+
+        when(publicApi.findNearbyAccommodationSummariesByFilter(any())).thenReturn(Flux.just(Nearby.of(accommodationSummary(), 1.5)));
+
+        webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations/nearby?lat=45.45&lng=9.165&radius=5&view=summary")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("@.[0].name").isEqualTo("name")
+                .jsonPath("@.[0].distance").isEqualTo(1.5)
+                .jsonPath("@.[0].accommodation").doesNotExist();
+    }
+
+    @Test
+    public void getNearbyAccommodationSummaries_withEventStreamAccept_shouldStreamEvents() {
+
+        when(publicApi.findNearbyAccommodationSummariesByFilter(any()))
+                .thenReturn(Flux.just(Nearby.of(accommodationSummary(), 1.5), Nearby.of(accommodationSummary(), 2.5)));
+
+        Flux<String> events = webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations/nearby?lat=45.45&lng=9.165&view=summary")
+                .accept(TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(TEXT_EVENT_STREAM)
+                .returnResult(String.class)
+                .getResponseBody();
+
+        StepVerifier
+                .create(events)
+                .assertNext(event -> assertThat(event).contains("\"distance\":1.5"))
+                .assertNext(event -> assertThat(event).contains("\"distance\":2.5"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void getAccommodationsByIds() {
+
+        when(publicApi.findAccommodationsByIds(List.of("123", "456"))).thenReturn(Flux.just(accommodation(), accommodation()));
+
+        webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations/batch?ids=123,456")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("@.length()").isEqualTo(2);
+    }
+
     @Test
     public void getAccommodationById() {
 
@@ -67,6 +293,43 @@ public class PublicApiControllerTest {
                 .jsonPath("@").isNotEmpty();
     }
 
+    @Test
+    public void getAccommodationById_shouldReturnPublicCacheHeaders() {
+
+        when(publicApi.findAccommodationById("123")).thenReturn(Mono.just(accommodation()));
+
+        webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations/{accommodationId}", "123")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=30, public")
+                .expectHeader().valueMatches(HttpHeaders.ETAG, "\"[0-9a-f]{32}\"");
+    }
+
+    @Test
+    public void getAccommodationById_withMatchingEtag_shouldReturnNotModified() {
+
+        when(publicApi.findAccommodationById("123")).thenReturn(Mono.just(accommodation()));
+
+        String etag = webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations/{accommodationId}", "123")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations/{accommodationId}", "123")
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
     @Test
     public void getAccommodationReviews() {
 
@@ -80,4 +343,20 @@ public class PublicApiControllerTest {
                 .expectHeader().contentType(APPLICATION_JSON)
                 .expectBodyList(Review.class).hasSize(2);
     }
+
+    @Test
+    public void getRelevantAccommodationReviews() {
+
+        when(publicApi.findRelevantAccommodationReviewsByFilter(anyString(), any())).thenReturn(Flux.just(Scored.of(review(), 2.25)));
+
+        webTestClient
+                .get()
+                .uri("/api/v1/public/accommodations/{accommodationId}/reviews/relevant?q=great", "123")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("@.[0].score").isEqualTo(2.25)
+                .jsonPath("@.[0].message").isEqualTo(review().getMessage());
+    }
 }
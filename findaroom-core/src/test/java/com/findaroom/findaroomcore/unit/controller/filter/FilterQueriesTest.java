@@ -0,0 +1,115 @@
+package com.findaroom.findaroomcore.unit.controller.filter;
+
+import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
+import com.findaroom.findaroomcore.controller.filter.BookingSearchFilter;
+import com.findaroom.findaroomcore.controller.filter.FilterQueries;
+import com.findaroom.findaroomcore.controller.filter.ReviewSearchFilter;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.findaroom.findaroomcore.domain.enums.AccommodationType.WHOLE_APARTMENT;
+import static com.findaroom.findaroomcore.domain.enums.Amenity.WIFI;
+import static com.findaroom.findaroomcore.domain.enums.BookingStatus.activeStates;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FilterQueriesTest {
+
+    @Test
+    public void toQuery_withAccommodationSearchFilter() {
+
+        var filter = new AccommodationSearchFilter();
+        filter.setPricePerNight(100.0);
+        filter.setCity("Rome");
+        filter.setType(List.of(WHOLE_APARTMENT));
+        filter.setAmenities(List.of(WIFI));
+        filter.setSw_lng(1.0);
+        filter.setSw_lat(2.0);
+        filter.setNe_lng(3.0);
+        filter.setNe_lat(4.0);
+
+        var query = FilterQueries.toQuery(filter).getQueryObject();
+
+        assertThat(query.keySet()).containsExactly("listed", "pricePerNight", "type", "address.city", "amenitiesMask", "address.location");
+        assertThat(query.get("listed")).isEqualTo(true);
+        assertThat(query.get("pricePerNight")).isEqualTo(new Document("$lte", 100.0));
+        assertThat(query.get("address.city")).isEqualTo("Rome");
+        assertThat(query.get("amenitiesMask")).isEqualTo(new Document("$bitsAllSet", WIFI.mask()));
+        assertThat(query.get("address.location", Document.class)).containsKey("$geoWithin");
+    }
+
+    @Test
+    public void toQuery_withIncompleteGeoBox_shouldIgnoreBox() {
+
+        var filter = new AccommodationSearchFilter();
+        filter.setSw_lng(1.0);
+        filter.setSw_lat(2.0);
+        filter.setNe_lng(3.0);
+
+        assertThat(FilterQueries.toQuery(filter).getQueryObject()).containsOnlyKeys("listed");
+    }
+
+    @Test
+    public void toQuery_withBookingSearchFilter() {
+
+        var filter = new BookingSearchFilter();
+        filter.setUserId("444");
+        filter.setStatus(activeStates());
+        filter.setCheckin(LocalDate.now());
+
+        var query = FilterQueries.toQuery(filter).getQueryObject();
+
+        assertThat(query).containsOnlyKeys("userId", "status");
+
+        filter.setCheckout(LocalDate.now().plusDays(5));
+
+        assertThat(FilterQueries.toQuery(filter).getQueryObject()).containsOnlyKeys("userId", "status", "checkout", "$and");
+    }
+
+    @Test
+    public void toQuery_withReviewSearchFilter() {
+
+        var filter = new ReviewSearchFilter();
+        filter.setAccommodationId("123");
+        filter.setRating(3.0);
+        filter.setQ("nice place");
+
+        var query = FilterQueries.toQuery(filter).getQueryObject();
+
+        assertThat(query).containsOnlyKeys("accommodationId", "rating", "$text");
+        assertThat(query.get("$text", Document.class).get("$search")).isEqualTo("nice place");
+    }
+
+    @Test
+    public void toPageable() {
+
+        var filter = new ReviewSearchFilter();
+        filter.setPage(2);
+        filter.setSize(5);
+        filter.setSortBy(List.of("rating"));
+        filter.setDirection("desc");
+
+        var pageable = FilterQueries.toPageable(filter);
+
+        assertThat(pageable.getPageNumber()).isEqualTo(2);
+        assertThat(pageable.getPageSize()).isEqualTo(5);
+        assertThat(pageable.getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "rating"));
+
+        filter.setCursor("abc");
+
+        assertThat(FilterQueries.toPageable(filter).getPageNumber()).isZero();
+    }
+
+    @Test
+    public void toPageable_withDefaults() {
+
+        var pageable = FilterQueries.toPageable(new BookingSearchFilter());
+
+        assertThat(pageable.getPageNumber()).isZero();
+        assertThat(pageable.getPageSize()).isEqualTo(10);
+        assertThat(pageable.getSort().isUnsorted()).isTrue();
+    }
+}
@@ -1,10 +1,13 @@
 package com.findaroom.findaroomcore.unit.domain;
 
 import com.findaroom.findaroomcore.controller.event.CreateAccommodation;
-import com.findaroom.findaroomcore.controller.event.UpdateAccommodation;
 import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.domain.enums.Amenity;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
+import static com.findaroom.findaroomcore.domain.enums.Amenity.*;
 import static com.findaroom.findaroomcore.utils.TestPojos.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -34,23 +37,28 @@ public class AccommodationTest {
         assertThat(acc.getAddress().getLocation().getX()).isEqualTo(create.getAddress().getLocation().getX());
         assertThat(acc.getAddress().getLocation().getY()).isEqualTo(create.getAddress().getLocation().getY());
         assertThat(acc.getAmenities()).containsAll(create.getAmenities());
+        assertThat(Amenity.fromMask(acc.getAmenitiesMask())).containsExactlyInAnyOrderElementsOf(create.getAmenities());
     }
 
     @Test
-    public void updateWith_shouldReturnAccommodationWithUpdatedProperties() {
-
-        UpdateAccommodation update = updateAccommodation();
-        Accommodation updated = accommodation().updateWith(update);
-
-        assertThat(updated.getName()).isEqualTo(update.getName());
-        assertThat(updated.getDescription()).isEqualTo(update.getDescription());
-        assertThat(updated.getPricePerNight()).isEqualTo(update.getPricePerNight());
-        assertThat(updated.getMaxGuests()).isEqualTo(update.getMaxGuests());
-        assertThat(updated.getRestrooms()).isEqualTo(update.getRestrooms());
-        assertThat(updated.getBedrooms()).isEqualTo(update.getBedrooms());
-        assertThat(updated.getBeds()).isEqualTo(update.getBeds());
-        assertThat(updated.getType()).isEqualTo(update.getType());
-        assertThat(updated.getAmenities()).containsAll(update.getAmenities());
+    public void hasAmenities_shouldMatchEveryRequiredAmenity() {
+
+        Accommodation acc = accommodation();
+        acc.setAmenities(List.of(WIFI, KITCHEN, PARKING_SPOT));
+
+        assertThat(acc.hasAmenities(List.of(WIFI, PARKING_SPOT))).isTrue();
+        assertThat(acc.hasAmenities(List.of())).isTrue();
+        assertThat(acc.hasAmenities(List.of(WIFI, TV))).isFalse();
     }
 
+    @Test
+    public void averageRating_shouldReturnRatingSumOverRatingCount() {
+
+        Accommodation acc = accommodation();
+        assertThat(acc.averageRating()).isEqualTo(0.0);
+
+        acc.setRatingSum(9.0);
+        acc.setRatingCount(2);
+        assertThat(acc.averageRating()).isEqualTo(4.5);
+    }
 }
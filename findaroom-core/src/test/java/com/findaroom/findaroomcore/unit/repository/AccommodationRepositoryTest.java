@@ -2,22 +2,41 @@ package com.findaroom.findaroomcore.unit.repository;
 
 import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
 import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.domain.AccommodationSummary;
+import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.domain.Nearby;
+import com.findaroom.findaroomcore.domain.Review;
+import com.findaroom.findaroomcore.domain.SearchFacets;
+import com.findaroom.findaroomcore.domain.enums.Amenity;
 import com.findaroom.findaroomcore.repository.AccommodationRepository;
+import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.utils.TestPredicates;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import static com.findaroom.findaroomcore.domain.enums.AccommodationType.*;
 import static com.findaroom.findaroomcore.domain.enums.Amenity.*;
+import static com.findaroom.findaroomcore.domain.enums.BookingStatus.CANCELLED;
 import static com.findaroom.findaroomcore.utils.TestPojos.accommodation;
+import static com.findaroom.findaroomcore.utils.MessageUtils.INVALID_CURSOR;
+import static com.findaroom.findaroomcore.utils.MessageUtils.UNSORTABLE_FIELD;
+import static com.findaroom.findaroomcore.utils.TestPojos.booking;
+import static com.findaroom.findaroomcore.utils.TestPojos.updateAccommodation;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 @DataMongoTest
 public class AccommodationRepositoryTest {
@@ -25,9 +44,16 @@ public class AccommodationRepositoryTest {
     @Autowired
     private AccommodationRepository repo;
 
+    @Autowired
+    private BookingRepository bookingRepo;
+
+    @Autowired
+    private ReactiveMongoOperations mongoOps;
+
     @BeforeEach
     public void setup() {
         repo.deleteAll().block();
+        bookingRepo.deleteAll().block();
     }
 
     @Test
@@ -319,6 +345,176 @@ public class AccommodationRepositoryTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void findAllAvailableNearby_shouldReturnNearestFirstWithinRadius() {
+
+        Accommodation acc1 = accommodation();
+        acc1.setAccommodationId("1");
+        acc1.getAddress().setLocation(new GeoJsonPoint(9.16773, 45.46777));
+        Accommodation acc2 = accommodation();
+        acc2.setAccommodationId("2");
+        acc2.getAddress().setLocation(new GeoJsonPoint(9.16648, 45.45192));
+        Accommodation acc3 = accommodation();
+        acc3.setAccommodationId("3");
+        acc3.getAddress().setLocation(new GeoJsonPoint(9.15065, 45.44421));
+        acc3.setPricePerNight(500.0);
+        Accommodation acc4 = accommodation();
+        acc4.setAccommodationId("4");
+        acc4.getAddress().setLocation(new GeoJsonPoint(33.21848, 10.12651));
+
+        var filter = new AccommodationSearchFilter();
+        filter.setLat(45.45);
+        filter.setLng(9.165);
+        filter.setRadius(5.0);
+        filter.setPricePerNight(200.0);
+
+        Flux<Nearby<Accommodation>> nearby = repo
+                .saveAll(Flux.just(acc1, acc2, acc3, acc4))
+                .thenMany(repo.findAllAvailableNearby(filter));
+
+        StepVerifier
+                .create(nearby)
+                .assertNext(n -> {
+                    assertThat(n.getAccommodation().getAccommodationId()).isEqualTo("2");
+                    assertThat(n.getDistance()).isBetween(0.0, 1.0);
+                })
+                .assertNext(n -> {
+                    assertThat(n.getAccommodation().getAccommodationId()).isEqualTo("1");
+                    assertThat(n.getDistance()).isBetween(1.0, 5.0);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void countFacetsByFilter_shouldCountEveryFacetInOneQuery() {
+
+        Accommodation acc1 = accommodation();
+        acc1.setType(WHOLE_APARTMENT);
+        acc1.setAmenities(List.of(WIFI, KITCHEN));
+        acc1.setPricePerNight(40.0);
+        acc1.getHost().setSuperHost(true);
+        Accommodation acc2 = accommodation();
+        acc2.setType(WHOLE_APARTMENT);
+        acc2.setAmenities(List.of(WIFI));
+        acc2.setPricePerNight(120.0);
+        Accommodation acc3 = accommodation();
+        acc3.setType(WHOLE_LOFT);
+        acc3.setAmenities(List.of(WIFI, PARKING_SPOT));
+        acc3.setPricePerNight(800.0);
+        Accommodation acc4 = accommodation();
+        acc4.getAddress().setCity("elsewhere");
+
+        var filter = new AccommodationSearchFilter();
+        filter.setCity("city");
+
+        Mono<SearchFacets> facets = repo
+                .saveAll(Flux.just(acc1, acc2, acc3, acc4))
+                .then(repo.countFacetsByFilter(filter));
+
+        StepVerifier
+                .create(facets)
+                .assertNext(f -> {
+                    assertThat(f.getTotal()).isEqualTo(3);
+                    assertThat(f.getTypes()).containsExactly(entry(WHOLE_APARTMENT, 2L), entry(WHOLE_LOFT, 1L));
+                    assertThat(f.getAmenities()).containsEntry(WIFI, 3L).containsEntry(KITCHEN, 1L).containsEntry(PARKING_SPOT, 1L);
+                    assertThat(f.getPrices()).extracting(SearchFacets.PriceBucket::getCount).containsExactly(1L, 0L, 1L, 0L, 0L, 0L, 1L);
+                    assertThat(f.getPrices().get(6).getMax()).isNull();
+                    assertThat(f.getSuperHosts()).isEqualTo(1);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void countFacetsByFilter_withoutMatches_shouldReturnZeroCounts() {
+
+        var filter = new AccommodationSearchFilter();
+        filter.setCity("nowhere");
+
+        StepVerifier
+                .create(repo.countFacetsByFilter(filter))
+                .assertNext(f -> {
+                    assertThat(f.getTotal()).isZero();
+                    assertThat(f.getTypes()).isEmpty();
+                    assertThat(f.getPrices()).allMatch(bucket -> bucket.getCount() == 0);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void backfillAmenitiesMask_shouldOnlyUpdateAccommodationsWithoutMask() {
+
+        Accommodation acc = accommodation();
+        acc.setAccommodationId("123");
+        acc.setAmenities(List.of(WIFI, FRIDGE));
+
+        var legacy = new Document("_id", new ObjectId()).append("listed", true).append("amenities", List.of("KITCHEN", "TV"));
+
+        Mono<Long> backfilled = repo.save(acc)
+                .then(mongoOps.insert(legacy, "accommodations"))
+                .then(repo.backfillAmenitiesMask());
+
+        StepVerifier
+                .create(backfilled)
+                .expectNext(1L)
+                .verifyComplete();
+
+        StepVerifier
+                .create(mongoOps.findById(legacy.get("_id"), Document.class, "accommodations"))
+                .assertNext(d -> assertThat(d.get("amenitiesMask")).isEqualTo(KITCHEN.mask() | TV.mask()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void unlist_shouldOnlyUnlistListedAccommodationsOfHost() {
+
+        Accommodation acc = accommodation();
+        acc.setAccommodationId("123");
+
+        Mono<Accommodation> unlisted = repo.save(acc)
+                .then(repo.unlist("123", "otherHostId"))
+                .switchIfEmpty(repo.unlist("123", "12345"));
+
+        StepVerifier
+                .create(unlisted)
+                .assertNext(a -> assertThat(a.isListed()).isFalse())
+                .verifyComplete();
+
+        StepVerifier
+                .create(repo.unlist("123", "12345"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void updateDetails_shouldOnlySetEditableFieldsOfHostAccommodation() {
+
+        Accommodation acc = accommodation();
+        acc.setAccommodationId("123");
+        acc.setRating(4.0);
+        acc.setRatingSum(8.0);
+        acc.setRatingCount(2);
+
+        var update = updateAccommodation();
+        update.setName("new");
+        update.setAmenities(List.of(WIFI, KITCHEN));
+
+        Mono<Accommodation> updated = repo.save(acc)
+                .then(repo.updateDetails("123", "otherHostId", update))
+                .switchIfEmpty(repo.updateDetails("123", "12345", update))
+                .then(repo.findById("123"));
+
+        StepVerifier
+                .create(updated)
+                .assertNext(a -> {
+                    assertThat(a.getName()).isEqualTo("new");
+                    assertThat(a.getAmenitiesMask()).isEqualTo(Amenity.toMask(List.of(WIFI, KITCHEN)));
+                    assertThat(a.getRating()).isEqualTo(4.0);
+                    assertThat(a.getRatingSum()).isEqualTo(8.0);
+                    assertThat(a.getRatingCount()).isEqualTo(2);
+                    assertThat(a.isListed()).isTrue();
+                })
+                .verifyComplete();
+    }
+
     @Test
     public void findAllByFilter_withPaging_shouldReturnPagedResults() {
 
@@ -373,6 +569,344 @@ public class AccommodationRepositoryTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void findAllAvailableByFilter_withNoDateFilters_shouldReturnListedResults() {
+
+        Accommodation unlisted = accommodation();
+        unlisted.setListed(false);
+
+        Flux<Accommodation> accommodations = repo
+                .saveAll(Flux.just(accommodation(), accommodation(), unlisted))
+                .thenMany(repo.findAllAvailableByFilter(new AccommodationSearchFilter()));
+
+        StepVerifier
+                .create(accommodations)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllAvailableByFilter_withDateFilters_shouldReturnAvailableResults() {
+
+        Accommodation acc1 = accommodation();
+        acc1.setAccommodationId("123");
+        Accommodation acc2 = accommodation();
+        acc2.setAccommodationId("456");
+        Accommodation acc3 = accommodation();
+        acc3.setAccommodationId("789");
+
+        Booking book1 = booking();
+        book1.setAccommodationId("123");
+        book1.setCheckin(LocalDate.now().plusDays(5));
+        book1.setCheckout(LocalDate.now().plusDays(10));
+        Booking book2 = booking();
+        book2.setStatus(CANCELLED);
+        book2.setAccommodationId("456");
+        book2.setCheckin(LocalDate.now().plusDays(4));
+        book2.setCheckout(LocalDate.now().plusDays(9));
+        Booking book3 = booking();
+        book3.setAccommodationId("789");
+        book3.setCheckin(LocalDate.now().plusDays(9));
+        book3.setCheckout(LocalDate.now().plusDays(12));
+
+        var filter = new AccommodationSearchFilter();
+        filter.setCheckin(LocalDate.now().plusDays(3));
+        filter.setCheckout(LocalDate.now().plusDays(8));
+        filter.setSortBy(List.of("accommodationId"));
+
+        Flux<Accommodation> accommodations = repo
+                .saveAll(Flux.just(acc1, acc2, acc3))
+                .thenMany(bookingRepo.saveAll(Flux.just(book1, book2, book3)))
+                .thenMany(repo.findAllAvailableByFilter(filter));
+
+        StepVerifier
+                .create(accommodations)
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("456"))
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("789"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllAvailableByFilter_withDateFiltersAndGeneratedIds_shouldReturnAvailableResults() {
+
+        Accommodation booked = repo.save(accommodation()).block();
+        Accommodation available = repo.save(accommodation()).block();
+
+        Booking book = booking();
+        book.setAccommodationId(booked.getAccommodationId());
+        book.setCheckin(LocalDate.now().plusDays(5));
+        book.setCheckout(LocalDate.now().plusDays(10));
+
+        var filter = new AccommodationSearchFilter();
+        filter.setCheckin(LocalDate.now().plusDays(3));
+        filter.setCheckout(LocalDate.now().plusDays(8));
+
+        Flux<Accommodation> accommodations = bookingRepo
+                .save(book)
+                .thenMany(repo.findAllAvailableByFilter(filter));
+
+        StepVerifier
+                .create(accommodations)
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo(available.getAccommodationId()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllAvailableByFilter_withDateFiltersAndPaging_shouldPageAvailableResults() {
+
+        Accommodation acc1 = accommodation();
+        acc1.setAccommodationId("123");
+        acc1.setPricePerNight(50.0);
+        Accommodation acc2 = accommodation();
+        acc2.setAccommodationId("456");
+        acc2.setPricePerNight(60.0);
+        Accommodation acc3 = accommodation();
+        acc3.setAccommodationId("789");
+        acc3.setPricePerNight(70.0);
+
+        Booking book = booking();
+        book.setAccommodationId("123");
+        book.setCheckin(LocalDate.now().plusDays(5));
+        book.setCheckout(LocalDate.now().plusDays(10));
+
+        var filter = new AccommodationSearchFilter();
+        filter.setCheckin(LocalDate.now().plusDays(3));
+        filter.setCheckout(LocalDate.now().plusDays(8));
+        filter.setSortBy(List.of("pricePerNight"));
+        filter.setDirection("ASC");
+        filter.setPage(1);
+        filter.setSize(1);
+
+        Flux<Accommodation> accommodations = repo
+                .saveAll(Flux.just(acc1, acc2, acc3))
+                .then(bookingRepo.save(book))
+                .thenMany(repo.findAllAvailableByFilter(filter));
+
+        StepVerifier
+                .create(accommodations)
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("789"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllAvailableByFilter_withDateFiltersAndCursor_shouldContinueAfterPreviousPage() {
+
+        Accommodation acc1 = accommodation();
+        acc1.setAccommodationId("123");
+        acc1.setPricePerNight(50.0);
+        Accommodation acc2 = accommodation();
+        acc2.setAccommodationId("456");
+        acc2.setPricePerNight(60.0);
+        Accommodation acc3 = accommodation();
+        acc3.setAccommodationId("789");
+        acc3.setPricePerNight(70.0);
+
+        Booking book = booking();
+        book.setAccommodationId("456");
+        book.setCheckin(LocalDate.now().plusDays(5));
+        book.setCheckout(LocalDate.now().plusDays(10));
+
+        var firstPage = new AccommodationSearchFilter();
+        firstPage.setCheckin(LocalDate.now().plusDays(3));
+        firstPage.setCheckout(LocalDate.now().plusDays(8));
+        firstPage.setSortBy(List.of("pricePerNight"));
+        firstPage.setSize(1);
+
+        Flux<Accommodation> accommodations = repo
+                .saveAll(Flux.just(acc1, acc2, acc3))
+                .then(bookingRepo.save(book))
+                .thenMany(repo.findAllAvailableByFilter(firstPage));
+
+        StepVerifier
+                .create(accommodations)
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("123"))
+                .verifyComplete();
+
+        var nextPage = new AccommodationSearchFilter();
+        nextPage.setCheckin(LocalDate.now().plusDays(3));
+        nextPage.setCheckout(LocalDate.now().plusDays(8));
+        nextPage.setSortBy(List.of("pricePerNight"));
+        nextPage.setSize(1);
+        nextPage.setCursor(firstPage.getNextCursor().block());
+
+        StepVerifier
+                .create(repo.findAllAvailableByFilter(nextPage))
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("789"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllByFilter_withCursorForDifferentSorting_shouldReturnBadRequest() {
+
+        var firstPage = new AccommodationSearchFilter();
+        firstPage.setSize(1);
+
+        repo.saveAll(Flux.just(accommodation(), accommodation()))
+                .thenMany(repo.findAllByFilter(firstPage))
+                .blockLast();
+
+        var nextPage = new AccommodationSearchFilter();
+        nextPage.setSortBy(List.of("pricePerNight"));
+        nextPage.setSize(1);
+        nextPage.setCursor(firstPage.getNextCursor().block());
+
+        StepVerifier
+                .create(repo.findAllByFilter(nextPage))
+                .expectErrorMatches(TestPredicates.badRequest(INVALID_CURSOR))
+                .verify();
+    }
+
+    @Test
+    public void findAllAvailableSummariesByFilter_shouldReturnSummaryFieldsOnly() {
+
+        Accommodation acc = accommodation();
+        acc.setAccommodationId("123");
+
+        Flux<AccommodationSummary> summaries = repo
+                .save(acc)
+                .thenMany(repo.findAllAvailableSummariesByFilter(new AccommodationSearchFilter()));
+
+        StepVerifier
+                .create(summaries)
+                .assertNext(a -> {
+                    assertThat(a.getAccommodationId()).isEqualTo("123");
+                    assertThat(a.getName()).isEqualTo(acc.getName());
+                    assertThat(a.getPricePerNight()).isEqualTo(acc.getPricePerNight());
+                    assertThat(a.getCity()).isEqualTo(acc.getAddress().getCity());
+                    assertThat(a.getLocation()).isEqualTo(acc.getAddress().getLocation());
+                    assertThat(a.getImages()).containsExactly(acc.getImages().get(0));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllAvailableSummariesByFilter_withPaging_shouldContinueAfterSummaryCursor() {
+
+        Accommodation acc1 = accommodation();
+        acc1.setAccommodationId("123");
+        acc1.setPricePerNight(80.0);
+        Accommodation acc2 = accommodation();
+        acc2.setAccommodationId("456");
+        acc2.setPricePerNight(120.0);
+
+        var firstPage = new AccommodationSearchFilter();
+        firstPage.setSize(1);
+        firstPage.setSortBy(List.of("address.city", "pricePerNight"));
+
+        StepVerifier
+                .create(repo.saveAll(Flux.just(acc1, acc2)).thenMany(repo.findAllAvailableSummariesByFilter(firstPage)))
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("123"))
+                .verifyComplete();
+
+        var nextPage = new AccommodationSearchFilter();
+        nextPage.setSize(1);
+        nextPage.setSortBy(List.of("address.city", "pricePerNight"));
+        nextPage.setCursor(firstPage.getNextCursor().block());
+
+        StepVerifier
+                .create(repo.findAllAvailableSummariesByFilter(nextPage))
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("456"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllAvailableSummariesByFilter_withSortFieldNotInSummary_shouldReturnBadRequest() {
+
+        var filter = new AccommodationSearchFilter();
+        filter.setSortBy(List.of("maxGuests"));
+
+        StepVerifier
+                .create(repo.save(accommodation()).thenMany(repo.findAllAvailableSummariesByFilter(filter)))
+                .expectErrorMatches(TestPredicates.badRequest(UNSORTABLE_FIELD))
+                .verify();
+    }
+
+    @Test
+    public void findAllAvailableSummariesByFilter_withDateFilters_shouldReturnAvailableSummaries() {
+
+        Accommodation booked = accommodation();
+        booked.setAccommodationId("123");
+        Accommodation available = accommodation();
+        available.setAccommodationId("456");
+
+        Booking book = booking();
+        book.setAccommodationId("123");
+        book.setCheckin(LocalDate.now().plusDays(5));
+        book.setCheckout(LocalDate.now().plusDays(10));
+
+        var filter = new AccommodationSearchFilter();
+        filter.setCheckin(LocalDate.now().plusDays(3));
+        filter.setCheckout(LocalDate.now().plusDays(8));
+
+        Flux<AccommodationSummary> summaries = repo
+                .saveAll(Flux.just(booked, available))
+                .then(bookingRepo.save(book))
+                .thenMany(repo.findAllAvailableSummariesByFilter(filter));
+
+        StepVerifier
+                .create(summaries)
+                .assertNext(a -> {
+                    assertThat(a.getAccommodationId()).isEqualTo("456");
+                    assertThat(a.getCity()).isEqualTo(available.getAddress().getCity());
+                    assertThat(a.getImages()).containsExactly(available.getImages().get(0));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void addRating_shouldUpdateAverageRating() {
+
+        Accommodation acc = accommodation();
+        acc.setAccommodationId("123");
+
+        Mono<Accommodation> accommodation = repo.save(acc)
+                .then(repo.addRating("123", 4.0))
+                .then(repo.addRating("123", 2.0))
+                .then(repo.findById("123"));
+
+        StepVerifier
+                .create(accommodation)
+                .assertNext(a -> {
+                    assertThat(a.getRatingCount()).isEqualTo(2);
+                    assertThat(a.getRatingSum()).isEqualTo(6.0);
+                    assertThat(a.getRating()).isEqualTo(3.0);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void backfillRatings_shouldRateUnratedAccommodationsFromTheirReviews() {
+
+        Accommodation unrated = accommodation();
+        unrated.setAccommodationId("123");
+        Accommodation rated = accommodation();
+        rated.setAccommodationId("456");
+        rated.setRating(5.0);
+        rated.setRatingSum(5.0);
+        rated.setRatingCount(1);
+
+        Mono<Long> backfilled = mongoOps.remove(new Query(), Review.class)
+                .then(repo.saveAll(List.of(unrated, rated)).then())
+                .then(mongoOps.insertAll(List.of(review("123", 4.0), review("123", 2.0), review("456", 1.0))).then())
+                .then(repo.backfillRatings());
+
+        StepVerifier
+                .create(backfilled)
+                .expectNext(1L)
+                .verifyComplete();
+
+        StepVerifier
+                .create(repo.findAllById(List.of("123", "456")).collectMap(Accommodation::getAccommodationId))
+                .assertNext(found -> {
+                    assertThat(found.get("123").getRatingCount()).isEqualTo(2);
+                    assertThat(found.get("123").getRatingSum()).isEqualTo(6.0);
+                    assertThat(found.get("123").getRating()).isEqualTo(3.0);
+                    assertThat(found.get("456").getRatingCount()).isEqualTo(1);
+                    assertThat(found.get("456").getRating()).isEqualTo(5.0);
+                })
+                .verifyComplete();
+    }
+
     @Test
     public void findByAccommodationIdAndHostId() {
 
@@ -391,4 +925,8 @@ public class AccommodationRepositoryTest {
                 })
                 .verifyComplete();
     }
+
+    private static Review review(String accommodationId, double rating) {
+        return Review.of(accommodationId, "userId", new ObjectId().toHexString(), rating, "message");
+    }
 }
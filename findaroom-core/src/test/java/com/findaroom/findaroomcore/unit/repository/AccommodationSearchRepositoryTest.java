@@ -0,0 +1,216 @@
+package com.findaroom.findaroomcore.unit.repository;
+
+import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
+import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.domain.AccommodationSearch;
+import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.repository.AccommodationRepository;
+import com.findaroom.findaroomcore.repository.AccommodationSearchRepository;
+import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.utils.TestPojos;
+import com.findaroom.findaroomcore.utils.TestPredicates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.findaroom.findaroomcore.utils.MessageUtils.UNSORTABLE_FIELD;
+import static com.findaroom.findaroomcore.utils.TestPojos.booking;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+public class AccommodationSearchRepositoryTest {
+
+    @Autowired
+    private AccommodationSearchRepository repo;
+
+    @Autowired
+    private AccommodationRepository accommodationRepo;
+
+    @Autowired
+    private BookingRepository bookingRepo;
+
+    @BeforeEach
+    public void setup() {
+        repo.deleteAll().block();
+        accommodationRepo.deleteAll().block();
+        bookingRepo.deleteAll().block();
+    }
+
+    @Test
+    public void findAllAvailableByFilter_shouldReturnListedAccommodationsInSearchOrder() {
+
+        Accommodation acc1 = accommodation("123", 80.0);
+        Accommodation acc2 = accommodation("456", 120.0);
+        Accommodation acc3 = accommodation("789", 100.0);
+        acc3.setListed(false);
+
+        var filter = new AccommodationSearchFilter();
+        filter.setSortBy(List.of("pricePerNight"));
+        filter.setDirection("desc");
+
+        Flux<Accommodation> accommodations = project(acc1, acc2, acc3)
+                .thenMany(repo.findAllAvailableByFilter(filter));
+
+        StepVerifier
+                .create(accommodations)
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("456"))
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("123"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllAvailableByFilter_withStaleListing_shouldStillReturnFullPage() {
+
+        Accommodation acc1 = accommodation("123", 80.0);
+        Accommodation acc2 = accommodation("456", 100.0);
+        Accommodation acc3 = accommodation("789", 120.0);
+
+        var filter = new AccommodationSearchFilter();
+        filter.setSize(2);
+        filter.setSortBy(List.of("pricePerNight"));
+
+        Flux<Accommodation> accommodations = project(acc1, acc2, acc3)
+                .then(Mono.fromRunnable(() -> acc2.setListed(false)))
+                .then(accommodationRepo.save(acc2))
+                .thenMany(repo.findAllAvailableByFilter(filter));
+
+        StepVerifier
+                .create(accommodations)
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("123"))
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("789"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllAvailableByFilter_withDateFilters_shouldReturnAvailableAccommodations() {
+
+        Accommodation acc1 = accommodation("123", 80.0);
+        Accommodation acc2 = accommodation("456", 80.0);
+        Accommodation acc3 = accommodation("789", 80.0);
+
+        Booking book = booking();
+        book.setAccommodationId("456");
+        book.setCheckin(LocalDate.now().plusDays(5));
+        book.setCheckout(LocalDate.now().plusDays(10));
+
+        var filter = new AccommodationSearchFilter();
+        filter.setCheckin(LocalDate.now().plusDays(3));
+        filter.setCheckout(LocalDate.now().plusDays(8));
+        filter.setSortBy(List.of("accommodationId"));
+
+        Flux<Accommodation> accommodations = accommodationRepo
+                .saveAll(Flux.just(acc1, acc2, acc3))
+                .thenMany(repo.saveAll(Flux.just(
+                        AccommodationSearch.of(acc1, LocalDate.now().plusDays(4)),
+                        AccommodationSearch.of(acc2, LocalDate.now()),
+                        AccommodationSearch.of(acc3, LocalDate.now()))))
+                .thenMany(bookingRepo.save(book))
+                .thenMany(repo.findAllAvailableByFilter(filter));
+
+        StepVerifier
+                .create(accommodations)
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("789"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllAvailableByFilter_withPaging_shouldContinueAfterCursor() {
+
+        var firstPage = new AccommodationSearchFilter();
+        firstPage.setSize(1);
+        firstPage.setSortBy(List.of("pricePerNight"));
+
+        Flux<Accommodation> accommodations = project(accommodation("123", 80.0), accommodation("456", 120.0))
+                .thenMany(repo.findAllAvailableByFilter(firstPage));
+
+        StepVerifier
+                .create(accommodations)
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("123"))
+                .verifyComplete();
+
+        var nextPage = new AccommodationSearchFilter();
+        nextPage.setSize(1);
+        nextPage.setSortBy(List.of("pricePerNight"));
+        nextPage.setCursor(firstPage.getNextCursor().block());
+
+        StepVerifier
+                .create(repo.findAllAvailableByFilter(nextPage))
+                .assertNext(a -> assertThat(a.getAccommodationId()).isEqualTo("456"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllAvailableByFilter_withSortFieldNotProjected_shouldReturnBadRequest() {
+
+        var filter = new AccommodationSearchFilter();
+        filter.setSortBy(List.of("name"));
+
+        StepVerifier
+                .create(project(accommodation("123", 80.0)).thenMany(repo.findAllAvailableByFilter(filter)))
+                .expectErrorMatches(TestPredicates.badRequest(UNSORTABLE_FIELD))
+                .verify();
+    }
+
+    @Test
+    public void updateNextAvailable_shouldOnlyChangeNextAvailableDate() {
+
+        var nextAvailable = LocalDate.now().plusDays(7);
+
+        StepVerifier
+                .create(project(accommodation("123", 80.0)).then(repo.updateNextAvailable("123", nextAvailable)))
+                .expectNext(true)
+                .verifyComplete();
+
+        StepVerifier
+                .create(repo.findById("123"))
+                .assertNext(projected -> {
+                    assertThat(projected.getNextAvailable()).isEqualTo(nextAvailable);
+                    assertThat(projected.getPricePerNight()).isEqualTo(80.0);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void updateNextAvailable_withUnknownAccommodation_shouldReturnFalse() {
+
+        StepVerifier
+                .create(repo.updateNextAvailable("123", LocalDate.now()))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    public void deleteByProjectedAtBefore_shouldDropStaleEntries() {
+
+        var cutoff = Instant.now().plusSeconds(60);
+
+        StepVerifier
+                .create(project(accommodation("123", 80.0))
+                        .then(repo.deleteByProjectedAtBefore(cutoff))
+                        .then(repo.count()))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    private Flux<AccommodationSearch> project(Accommodation... accommodations) {
+        return accommodationRepo
+                .saveAll(Flux.just(accommodations))
+                .map(saved -> AccommodationSearch.of(saved, LocalDate.now()))
+                .transform(repo::saveAll);
+    }
+
+    private static Accommodation accommodation(String accommodationId, double pricePerNight) {
+        Accommodation acc = TestPojos.accommodation();
+        acc.setAccommodationId(accommodationId);
+        acc.setPricePerNight(pricePerNight);
+        return acc;
+    }
+}
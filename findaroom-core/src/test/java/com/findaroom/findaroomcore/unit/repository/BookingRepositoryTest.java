@@ -1,9 +1,12 @@
 package com.findaroom.findaroomcore.unit.repository;
 
+import com.findaroom.findaroomcore.controller.event.BookingDates;
 import com.findaroom.findaroomcore.controller.filter.BookingSearchFilter;
 import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.domain.BulkCancellation;
 import com.findaroom.findaroomcore.domain.enums.BookingStatus;
 import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.utils.RequestMemo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +18,7 @@ import reactor.test.StepVerifier;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
@@ -165,6 +169,45 @@ public class BookingRepositoryTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void findAllByFilter_withCursor_shouldContinueAfterPreviousPage() {
+
+        Booking book1 = booking();
+        book1.setCheckin(LocalDate.now().plusDays(1));
+        Booking book2 = booking();
+        book2.setCheckin(LocalDate.now().plusDays(3));
+        Booking book3 = booking();
+        book3.setCheckin(LocalDate.now().plusDays(2));
+
+        var firstPage = new BookingSearchFilter();
+        firstPage.setSortBy(List.of("checkin"));
+        firstPage.setDirection("DESC");
+        firstPage.setSize(2);
+
+        Flux<Booking> bookings = repo
+                .saveAll(Flux.just(book1, book2, book3))
+                .thenMany(repo.findAllByFilter(firstPage));
+
+        StepVerifier
+                .create(bookings)
+                .assertNext(b -> assertThat(b.getCheckin()).isEqualTo(book2.getCheckin()))
+                .assertNext(b -> assertThat(b.getCheckin()).isEqualTo(book3.getCheckin()))
+                .verifyComplete();
+
+        var nextPage = new BookingSearchFilter();
+        nextPage.setSortBy(List.of("checkin"));
+        nextPage.setDirection("DESC");
+        nextPage.setSize(2);
+        nextPage.setCursor(firstPage.getNextCursor().block());
+
+        StepVerifier
+                .create(repo.findAllByFilter(nextPage))
+                .assertNext(b -> assertThat(b.getCheckin()).isEqualTo(book1.getCheckin()))
+                .verifyComplete();
+
+        assertThat(nextPage.getNextCursor().blockOptional()).isEmpty();
+    }
+
     @Test
     public void findAllByFilter_withSorting_shouldReturnSortedResults() {
 
@@ -337,4 +380,169 @@ public class BookingRepositoryTest {
                 .assertNext(cnt -> assertThat(cnt).isEqualTo(1))
                 .verifyComplete();
     }
+
+    @Test
+    public void cancelActiveBookings_shouldCancelOnlyActiveAccommodationBookings() {
+
+        Booking book1 = booking();
+        book1.setBookingId("111");
+        book1.setAccommodationId("123");
+        book1.setStatus(PENDING);
+        Booking book2 = booking();
+        book2.setBookingId("222");
+        book2.setAccommodationId("123");
+        book2.setStatus(CONFIRMED);
+        Booking book3 = booking();
+        book3.setBookingId("333");
+        book3.setAccommodationId("123");
+        book3.setStatus(DONE);
+        Booking book4 = booking();
+        book4.setBookingId("444");
+        book4.setAccommodationId("456");
+        book4.setStatus(PENDING);
+
+        BulkCancellation cancellation = repo.saveAll(Flux.just(book1, book2, book3, book4))
+                .then(repo.cancelActiveBookings("123"))
+                .block();
+
+        assertThat(cancellation.getCancelledCount()).isEqualTo(2);
+        StepVerifier
+                .create(cancellation.getBookingIds())
+                .recordWith(ArrayList::new)
+                .expectNextCount(2)
+                .consumeRecordedWith(bookingIds -> assertThat(bookingIds).containsExactlyInAnyOrder("111", "222"))
+                .verifyComplete();
+
+        StepVerifier
+                .create(repo.findAllById(List.of("111", "222")))
+                .recordWith(ArrayList::new)
+                .expectNextCount(2)
+                .consumeRecordedWith(bookings -> assertThat(bookings).extracting(Booking::getCancellationId).containsOnlyNulls())
+                .verifyComplete();
+
+        StepVerifier
+                .create(repo.findAllById(List.of("111", "222", "333", "444")).map(Booking::getStatus))
+                .recordWith(ArrayList::new)
+                .expectNextCount(4)
+                .consumeRecordedWith(statuses -> assertThat(statuses).containsExactlyInAnyOrder(CANCELLED, CANCELLED, DONE, PENDING))
+                .verifyComplete();
+    }
+
+    @Test
+    public void cancelActiveBookings_withoutActiveBookings_shouldReturnNone() {
+
+        StepVerifier
+                .create(repo.cancelActiveBookings("123"))
+                .assertNext(cancellation -> assertThat(cancellation.getCancelledCount()).isZero())
+                .verifyComplete();
+    }
+
+    @Test
+    public void findByBookingIdAndUserId_withOtherUser_shouldReturnEmpty() {
+
+        Booking book = booking();
+        book.setBookingId("111");
+
+        Mono<Booking> booking = repo.save(book)
+                .then(repo.findByBookingIdAndUserId("111", "otherUserId"));
+
+        StepVerifier
+                .create(booking)
+                .verifyComplete();
+    }
+
+    @Test
+    public void findByBookingIdAndUserId_withinRequest_shouldReuseFirstRead() {
+
+        Booking book = booking();
+        book.setBookingId("111");
+
+        Mono<Booking> booking = repo.save(book)
+                .then(Mono.defer(() -> repo.findByBookingIdAndUserId("111", "userId")
+                        .then(repo.deleteById("111"))
+                        .then(repo.findByBookingIdAndAccommodationIdAndUserId("111", "accommodationId", "userId"))
+                        .subscriberContext(RequestMemo::open)));
+
+        StepVerifier
+                .create(booking)
+                .assertNext(b -> assertThat(b.getBookingId()).isEqualTo("111"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void confirmAccommodationBooking_whenPending_shouldReturnConfirmedBooking() {
+
+        Booking book = booking();
+        book.setBookingId("111");
+        book.setStatus(PENDING);
+
+        Mono<Booking> booking = repo.save(book)
+                .then(repo.confirmAccommodationBooking("111", "accommodationId"));
+
+        StepVerifier
+                .create(booking)
+                .assertNext(b -> {
+                    assertThat(b.getStatus()).isEqualTo(CONFIRMED);
+                    assertThat(b.getCheckin()).isEqualTo(book.getCheckin());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void confirmAccommodationBooking_whenNotPending_shouldLeaveBookingUnchanged() {
+
+        Booking book = booking();
+        book.setBookingId("111");
+        book.setStatus(CANCELLED);
+
+        Mono<Booking> booking = repo.save(book)
+                .then(repo.confirmAccommodationBooking("111", "accommodationId"));
+
+        StepVerifier
+                .create(booking)
+                .verifyComplete();
+
+        StepVerifier
+                .create(repo.findById("111").map(Booking::getStatus))
+                .expectNext(CANCELLED)
+                .verifyComplete();
+    }
+
+    @Test
+    public void cancelUserBooking_whenCheckinHasPassed_shouldLeaveBookingUnchanged() {
+
+        Booking book = booking();
+        book.setBookingId("111");
+        book.setStatus(CONFIRMED);
+        book.setCheckin(LocalDate.now());
+
+        Mono<Booking> booking = repo.save(book)
+                .then(repo.cancelUserBooking("111", "userId"));
+
+        StepVerifier
+                .create(booking)
+                .verifyComplete();
+    }
+
+    @Test
+    public void rescheduleUserBooking_shouldSetDatesAndResetStatus() {
+
+        Booking book = booking();
+        book.setBookingId("111");
+        book.setStatus(CONFIRMED);
+        BookingDates dates = new BookingDates(LocalDate.now().plusDays(20), LocalDate.now().plusDays(25));
+
+        Mono<Booking> booking = repo.save(book)
+                .then(repo.rescheduleUserBooking("111", "userId", dates));
+
+        StepVerifier
+                .create(booking)
+                .assertNext(b -> {
+                    assertThat(b.getCheckin()).isEqualTo(dates.getCheckin());
+                    assertThat(b.getCheckout()).isEqualTo(dates.getCheckout());
+                    assertThat(b.getStatus()).isEqualTo(PENDING);
+                    assertThat(b.getGuests()).isEqualTo(book.getGuests());
+                })
+                .verifyComplete();
+    }
 }
@@ -0,0 +1,130 @@
+package com.findaroom.findaroomcore.unit.repository;
+
+import com.findaroom.findaroomcore.domain.Reservation;
+import com.findaroom.findaroomcore.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+public class ReservationRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(10);
+
+    @Autowired
+    private ReservationRepository repo;
+
+    @BeforeEach
+    public void setup() {
+        repo.deleteAll().block();
+    }
+
+    @Test
+    public void reserve() {
+
+        Mono<Boolean> reserved = repo.reserve("123", "111", List.of(DAY, DAY.plusDays(1)));
+
+        StepVerifier
+                .create(reserved)
+                .expectNext(true)
+                .verifyComplete();
+
+        StepVerifier
+                .create(repo.findByBookingId("111"))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    public void reserve_whenDatesOverlap_shouldReleaseReservedDatesAndReturnFalse() {
+
+        Mono<Boolean> reserved = repo
+                .reserve("123", "111", List.of(DAY.plusDays(2), DAY.plusDays(3)))
+                .then(repo.reserve("123", "222", List.of(DAY, DAY.plusDays(1), DAY.plusDays(2))));
+
+        StepVerifier
+                .create(reserved)
+                .expectNext(false)
+                .verifyComplete();
+
+        StepVerifier
+                .create(repo.findByBookingId("222"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void reserve_whenDatesOverlapOnAnotherAccommodation_shouldReturnTrue() {
+
+        Mono<Boolean> reserved = repo
+                .reserve("123", "111", List.of(DAY))
+                .then(repo.reserve("456", "222", List.of(DAY)));
+
+        StepVerifier
+                .create(reserved)
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    public void hold_shouldKeepCurrentDatesAndReserveNewOnes() {
+
+        Mono<Boolean> held = repo
+                .reserve("123", "111", List.of(DAY, DAY.plusDays(1)))
+                .then(repo.hold("123", "111", List.of(DAY.plusDays(1), DAY.plusDays(2))));
+
+        StepVerifier
+                .create(held)
+                .expectNext(true)
+                .verifyComplete();
+
+        StepVerifier
+                .create(repo.findByBookingId("111").map(Reservation::getDate).collectList())
+                .assertNext(dates -> assertThat(dates).containsExactlyInAnyOrder(DAY, DAY.plusDays(1), DAY.plusDays(2)))
+                .verifyComplete();
+    }
+
+    @Test
+    public void reschedule() {
+
+        Mono<Boolean> rescheduled = repo
+                .reserve("123", "111", List.of(DAY, DAY.plusDays(1)))
+                .then(repo.reschedule("123", "111", List.of(DAY.plusDays(1), DAY.plusDays(2))));
+
+        StepVerifier
+                .create(rescheduled)
+                .expectNext(true)
+                .verifyComplete();
+
+        StepVerifier
+                .create(repo.findByBookingId("111").map(Reservation::getDate).collectList())
+                .assertNext(dates -> assertThat(dates).containsExactlyInAnyOrder(DAY.plusDays(1), DAY.plusDays(2)))
+                .verifyComplete();
+    }
+
+    @Test
+    public void reschedule_whenDatesOverlap_shouldKeepCurrentDatesAndReturnFalse() {
+
+        Mono<Boolean> rescheduled = repo
+                .reserve("123", "111", List.of(DAY, DAY.plusDays(1)))
+                .then(repo.reserve("123", "222", List.of(DAY.plusDays(3))))
+                .then(repo.reschedule("123", "111", List.of(DAY.plusDays(2), DAY.plusDays(3))));
+
+        StepVerifier
+                .create(rescheduled)
+                .expectNext(false)
+                .verifyComplete();
+
+        StepVerifier
+                .create(repo.findByBookingId("111").map(Reservation::getDate).collectList())
+                .assertNext(dates -> assertThat(dates).containsExactlyInAnyOrder(DAY, DAY.plusDays(1)))
+                .verifyComplete();
+    }
+}
@@ -2,6 +2,7 @@ package com.findaroom.findaroomcore.unit.repository;
 
 import com.findaroom.findaroomcore.controller.filter.ReviewSearchFilter;
 import com.findaroom.findaroomcore.domain.Review;
+import com.findaroom.findaroomcore.domain.Scored;
 import com.findaroom.findaroomcore.repository.ReviewRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -151,6 +152,69 @@ public class ReviewRepositoryTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void findAllRelevantByFilter_shouldRankByTextScoreThenRating() {
+
+        Review rev1 = review();
+        rev1.setMessage("Great place");
+        rev1.setRating(3.0);
+        Review rev2 = review();
+        rev2.setMessage("Great place, really great place");
+        Review rev3 = review();
+        rev3.setMessage("Great place");
+        rev3.setRating(5.0);
+        Review rev4 = review();
+        rev4.setMessage("Had a blast");
+
+        var filter = new ReviewSearchFilter();
+        filter.setQ("great place");
+
+        Flux<Scored<Review>> reviews = repo
+                .saveAll(Flux.just(rev1, rev2, rev3, rev4))
+                .thenMany(repo.findAllRelevantByFilter(filter));
+
+        StepVerifier
+                .create(reviews)
+                .assertNext(r -> assertThat(r.getResult().getMessage()).isEqualTo(rev2.getMessage()))
+                .assertNext(r -> assertThat(r.getResult().getRating()).isEqualTo(5.0))
+                .assertNext(r -> assertThat(r.getResult().getRating()).isEqualTo(3.0))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllRelevantByFilter_withPaging_shouldContinueAfterCursor() {
+
+        Review rev1 = review();
+        rev1.setMessage("Great place");
+        rev1.setRating(3.0);
+        Review rev2 = review();
+        rev2.setMessage("Great place");
+        rev2.setRating(5.0);
+
+        var firstPage = new ReviewSearchFilter();
+        firstPage.setQ("great");
+        firstPage.setSize(1);
+
+        Flux<Scored<Review>> reviews = repo
+                .saveAll(Flux.just(rev1, rev2))
+                .thenMany(repo.findAllRelevantByFilter(firstPage));
+
+        StepVerifier
+                .create(reviews)
+                .assertNext(r -> assertThat(r.getResult().getRating()).isEqualTo(5.0))
+                .verifyComplete();
+
+        var nextPage = new ReviewSearchFilter();
+        nextPage.setQ("great");
+        nextPage.setSize(1);
+        nextPage.setCursor(firstPage.getNextCursor().block());
+
+        StepVerifier
+                .create(repo.findAllRelevantByFilter(nextPage))
+                .assertNext(r -> assertThat(r.getResult().getRating()).isEqualTo(3.0))
+                .verifyComplete();
+    }
+
     @Test
     public void findAllByFilter_withPaging_shouldReturnPagedResults() {
 
@@ -172,6 +236,38 @@ public class ReviewRepositoryTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void findAllByFilter_withCursorAndTiedSortValues_shouldNotRepeatOrSkipResults() {
+
+        Review rev1 = review();
+        rev1.setRating(4.0);
+        Review rev2 = review();
+        rev2.setRating(4.0);
+        Review rev3 = review();
+        rev3.setRating(4.0);
+
+        var firstPage = new ReviewSearchFilter();
+        firstPage.setSortBy(List.of("rating"));
+        firstPage.setSize(2);
+
+        List<Review> first = repo
+                .saveAll(Flux.just(rev1, rev2, rev3))
+                .thenMany(repo.findAllByFilter(firstPage))
+                .collectList()
+                .block();
+
+        var nextPage = new ReviewSearchFilter();
+        nextPage.setSortBy(List.of("rating"));
+        nextPage.setSize(2);
+        nextPage.setCursor(firstPage.getNextCursor().block());
+
+        List<Review> next = repo.findAllByFilter(nextPage).collectList().block();
+
+        assertThat(first).hasSize(2);
+        assertThat(next).hasSize(1);
+        assertThat(first).extracting(Review::getReviewId).doesNotContain(next.get(0).getReviewId());
+    }
+
     @Test
     public void findAllByFilter_withSorting_shouldReturnSortedResults() {
 
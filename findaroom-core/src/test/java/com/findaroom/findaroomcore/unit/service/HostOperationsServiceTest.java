@@ -4,14 +4,20 @@ import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
 import com.findaroom.findaroomcore.controller.filter.BookingSearchFilter;
 import com.findaroom.findaroomcore.domain.Accommodation;
 import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.domain.BulkCancellation;
 import com.findaroom.findaroomcore.repository.AccommodationRepository;
 import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.repository.ReservationRepository;
 import com.findaroom.findaroomcore.service.HostOperationsService;
+import com.findaroom.findaroomcore.service.availability.AvailabilityIndex;
+import com.findaroom.findaroomcore.service.cache.AccommodationCache;
+import com.findaroom.findaroomcore.service.search.SearchProjection;
 import com.findaroom.findaroomcore.service.validation.AccommodationVerifier;
 import com.findaroom.findaroomcore.service.validation.BookingVerifier;
 import com.findaroom.findaroomcore.utils.ErrorUtils;
 import com.findaroom.findaroomcore.utils.TestPojos;
 import com.findaroom.findaroomcore.utils.TestPredicates;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -21,11 +27,14 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static com.findaroom.findaroomcore.domain.enums.BookingStatus.CANCELLED;
 import static com.findaroom.findaroomcore.domain.enums.BookingStatus.CONFIRMED;
 import static com.findaroom.findaroomcore.utils.MessageUtils.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -37,15 +46,33 @@ public class HostOperationsServiceTest {
     @Mock
     private BookingRepository bookingRepo;
 
+    @Mock
+    private ReservationRepository reservationRepo;
+
     @Mock
     private AccommodationVerifier accommodationVerifier;
 
     @Mock
     private BookingVerifier bookingVerifier;
 
+    @Mock
+    private AccommodationCache accommodationCache;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private SearchProjection searchProjection;
+
     @InjectMocks
     private HostOperationsService hostOps;
 
+    @BeforeEach
+    public void setup() {
+        when(searchProjection.project(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(searchProjection.refreshAvailability(any())).thenReturn(Mono.empty());
+    }
+
     @Test
     public void findAccommodationsByHostId() {
 
@@ -111,11 +138,11 @@ public class HostOperationsServiceTest {
     public void updateAccommodation() {
 
         Accommodation acc = TestPojos.accommodation();
-        when(accommodationRepo.findByAccommodationIdAndHostId(anyString(), anyString())).thenReturn(Mono.just(acc));
-        when(accommodationRepo.save(any())).thenReturn(Mono.just(acc));
-
+        acc.setName("new");
         var update = TestPojos.updateAccommodation();
         update.setName("new");
+        when(accommodationRepo.updateDetails("123", "444", update)).thenReturn(Mono.just(acc));
+
         Mono<Accommodation> accommodation = hostOps.updateAccommodation("123", "444", update);
 
         StepVerifier
@@ -127,7 +154,7 @@ public class HostOperationsServiceTest {
     @Test
     public void updateAccommodation_whenAccommodationNotFound_shouldReturnNotFound() {
 
-        when(accommodationRepo.findByAccommodationIdAndHostId(anyString(), anyString())).thenReturn(Mono.empty());
+        when(accommodationRepo.updateDetails(anyString(), anyString(), any())).thenReturn(Mono.empty());
 
         Mono<Accommodation> accommodation = hostOps.updateAccommodation("123", "444", TestPojos.updateAccommodation());
 
@@ -141,10 +168,9 @@ public class HostOperationsServiceTest {
     public void confirmBooking() {
 
         Booking book = TestPojos.booking();
+        book.setStatus(CONFIRMED);
         when(accommodationRepo.findByAccommodationIdAndHostId(anyString(), anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
-        when(bookingRepo.findByBookingIdAndAccommodationId(anyString(), anyString())).thenReturn(Mono.just(book));
-        when(bookingVerifier.verifyBookingIsPending(any())).thenReturn(Mono.just(book));
-        when(bookingRepo.save(any())).thenReturn(Mono.just(book));
+        when(bookingRepo.confirmAccommodationBooking(anyString(), anyString())).thenReturn(Mono.just(book));
 
         Mono<Booking> booking = hostOps.confirmBooking("123", "111", "444");
 
@@ -174,6 +200,7 @@ public class HostOperationsServiceTest {
     public void confirmBooking_whenBookingNotFound_shouldReturnNotFound() {
 
         when(accommodationRepo.findByAccommodationIdAndHostId(anyString(), anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
+        when(bookingRepo.confirmAccommodationBooking(anyString(), anyString())).thenReturn(Mono.empty());
         when(bookingRepo.findByBookingIdAndAccommodationId(anyString(), anyString())).thenReturn(Mono.empty());
 
         Mono<Booking> booking = hostOps.confirmBooking("123", "111", "444");
@@ -190,6 +217,7 @@ public class HostOperationsServiceTest {
         Booking book = TestPojos.booking();
         book.setStatus(CANCELLED);
         when(accommodationRepo.findByAccommodationIdAndHostId(anyString(), anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
+        when(bookingRepo.confirmAccommodationBooking(anyString(), anyString())).thenReturn(Mono.empty());
         when(bookingRepo.findByBookingIdAndAccommodationId(anyString(), anyString())).thenReturn(Mono.just(book));
         when(bookingVerifier.verifyBookingIsPending(any())).thenReturn(Mono.error(ErrorUtils.unprocessableEntity(BOOKING_NOT_PENDING)));
 
@@ -202,13 +230,30 @@ public class HostOperationsServiceTest {
     }
 
     @Test
-    public void cancelBooking() {
+    public void confirmBooking_whenBookingChangedConcurrently_shouldReturnConflict() {
 
         Booking book = TestPojos.booking();
         when(accommodationRepo.findByAccommodationIdAndHostId(anyString(), anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
+        when(bookingRepo.confirmAccommodationBooking(anyString(), anyString())).thenReturn(Mono.empty());
         when(bookingRepo.findByBookingIdAndAccommodationId(anyString(), anyString())).thenReturn(Mono.just(book));
-        when(bookingVerifier.verifyBookingIsActive(any())).thenReturn(Mono.just(book));
-        when(bookingRepo.save(any())).thenReturn(Mono.just(book));
+        when(bookingVerifier.verifyBookingIsPending(any())).thenReturn(Mono.just(book));
+
+        Mono<Booking> booking = hostOps.confirmBooking("123", "111", "444");
+
+        StepVerifier
+                .create(booking)
+                .expectErrorMatches(TestPredicates.conflict(BOOKING_MODIFIED_CONCURRENTLY))
+                .verify();
+    }
+
+    @Test
+    public void cancelBooking() {
+
+        Booking book = TestPojos.booking();
+        book.setStatus(CANCELLED);
+        when(accommodationRepo.findByAccommodationIdAndHostId(anyString(), anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
+        when(bookingRepo.cancelAccommodationBooking(anyString(), anyString())).thenReturn(Mono.just(book));
+        when(reservationRepo.deleteByBookingId(any())).thenReturn(Mono.empty());
 
         Mono<Booking> booking = hostOps.cancelBooking("123", "111", "444");
 
@@ -238,6 +283,7 @@ public class HostOperationsServiceTest {
     public void cancelBooking_whenBookingNotFound_shouldReturnNotFound() {
 
         when(accommodationRepo.findByAccommodationIdAndHostId(anyString(), anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
+        when(bookingRepo.cancelAccommodationBooking(anyString(), anyString())).thenReturn(Mono.empty());
         when(bookingRepo.findByBookingIdAndAccommodationId(anyString(), anyString())).thenReturn(Mono.empty());
 
         Mono<Booking> booking = hostOps.cancelBooking("123", "111", "444");
@@ -254,10 +300,10 @@ public class HostOperationsServiceTest {
         Booking book = TestPojos.booking();
         book.setStatus(CANCELLED);
         when(accommodationRepo.findByAccommodationIdAndHostId(anyString(), anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
+        when(bookingRepo.cancelAccommodationBooking(anyString(), anyString())).thenReturn(Mono.empty());
         when(bookingRepo.findByBookingIdAndAccommodationId(anyString(), anyString())).thenReturn(Mono.just(book));
         when(bookingVerifier.verifyBookingIsActive(any())).thenReturn(Mono.error(ErrorUtils.unprocessableEntity(BOOKING_NOT_ACTIVE)));
 
-
         Mono<Booking> booking = hostOps.cancelBooking("123", "111", "444");
 
         StepVerifier
@@ -270,29 +316,26 @@ public class HostOperationsServiceTest {
     public void unlistAccommodation() {
 
         Accommodation acc = TestPojos.accommodation();
-        Booking book1 = TestPojos.booking();
-        Booking book2 = TestPojos.booking();
-        when(accommodationRepo.findByAccommodationIdAndHostId(anyString(), anyString())).thenReturn(Mono.just(acc));
-        when(accommodationVerifier.verifyAccommodationIsListed(any())).thenReturn(Mono.just(acc));
-        when(accommodationRepo.save(any())).thenReturn(Mono.just(acc));
-        when(bookingRepo.findAllByFilter(any())).thenReturn(Flux.just(book1, book2));
-        when(bookingRepo.saveAll(anyIterable())).thenReturn(Flux.just(book1, book2));
+        acc.setListed(false);
+        when(accommodationRepo.unlist(anyString(), anyString())).thenReturn(Mono.just(acc));
+        when(bookingRepo.cancelActiveBookings(anyString())).thenReturn(Mono.just(BulkCancellation.of(2, Flux.just("111", "222"))));
+        when(reservationRepo.deleteByBookingIdIn(anyList())).thenReturn(Mono.empty());
 
         Mono<Accommodation> unlisted = hostOps.unlistAccommodation("123", "444");
 
         StepVerifier
                 .create(unlisted)
-                .assertNext(a -> {
-                    assertThat(a.isListed()).isFalse();
-                    assertThat(book1.getStatus()).isEqualTo(CANCELLED);
-                    assertThat(book2.getStatus()).isEqualTo(CANCELLED);
-                })
+                .assertNext(a -> assertThat(a.isListed()).isFalse())
                 .verifyComplete();
+
+        verify(reservationRepo).deleteByBookingIdIn(List.of("111", "222"));
+        verify(availabilityIndex).release("123", List.of("111", "222"));
     }
 
     @Test
     public void unlistAccommodation_whenAccommodationNotFound_shouldReturnNotFound() {
 
+        when(accommodationRepo.unlist(anyString(), anyString())).thenReturn(Mono.empty());
         when(accommodationRepo.findByAccommodationIdAndHostId(anyString(), anyString())).thenReturn(Mono.empty());
 
         Mono<Accommodation> unlisted = hostOps.unlistAccommodation("123", "444");
@@ -308,6 +351,7 @@ public class HostOperationsServiceTest {
 
         Accommodation acc = TestPojos.accommodation();
         acc.setListed(false);
+        when(accommodationRepo.unlist(anyString(), anyString())).thenReturn(Mono.empty());
         when(accommodationRepo.findByAccommodationIdAndHostId(anyString(), anyString())).thenReturn(Mono.just(acc));
         when(accommodationVerifier.verifyAccommodationIsListed(any()))
                 .thenReturn(Mono.error(ErrorUtils.unprocessableEntity(ACCOMMODATION_ALREADY_UNLISTED)));
@@ -3,29 +3,49 @@ package com.findaroom.findaroomcore.unit.service;
 import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
 import com.findaroom.findaroomcore.controller.filter.ReviewSearchFilter;
 import com.findaroom.findaroomcore.domain.Accommodation;
-import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.domain.AccommodationSummary;
+import com.findaroom.findaroomcore.domain.Nearby;
 import com.findaroom.findaroomcore.domain.Review;
+import com.findaroom.findaroomcore.domain.Scored;
 import com.findaroom.findaroomcore.repository.AccommodationRepository;
-import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.repository.AccommodationSearchRepository;
 import com.findaroom.findaroomcore.repository.ReviewRepository;
 import com.findaroom.findaroomcore.service.PublicApiService;
+import com.findaroom.findaroomcore.service.batch.AccommodationLoader;
+import com.findaroom.findaroomcore.service.cache.AccommodationCache;
+import com.findaroom.findaroomcore.service.search.SearchProjection;
 import com.findaroom.findaroomcore.utils.TestPojos;
 import com.findaroom.findaroomcore.utils.TestPredicates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.unit.DataSize;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.findaroom.findaroomcore.utils.MessageUtils.ACCOMMODATION_NOT_FOUND;
+import static com.findaroom.findaroomcore.utils.MessageUtils.NEARBY_CENTRE_REQUIRED;
+import static com.findaroom.findaroomcore.utils.MessageUtils.SEARCH_TERMS_REQUIRED;
+import static com.findaroom.findaroomcore.utils.MessageUtils.TOO_MANY_IDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -35,42 +55,42 @@ public class PublicApiServiceTest {
     private AccommodationRepository accommodationRepo;
 
     @Mock
-    private BookingRepository bookingRepo;
-    
+    private AccommodationSearchRepository accommodationSearchRepo;
+
     @Mock
     private ReviewRepository reviewRepo;
 
+    @Mock
+    private AccommodationLoader accommodationLoader;
+
+    @Mock
+    private SearchProjection searchProjection;
+
+    @Spy
+    private AccommodationCache accommodationCache =
+            new AccommodationCache(new SimpleMeterRegistry(), converter(), DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), Duration.ofMinutes(1), DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+
     @InjectMocks
     private PublicApiService publicApi;
 
     @Test
-    public void findAccommodationsByFilter_withNoDateFilters() {
+    public void findAccommodationSummariesByFilter() {
 
-        when(bookingRepo.findAllByFilter(any())).thenReturn(Flux.empty());
-        when(accommodationRepo.findAllByFilter(any())).thenReturn(Flux.just(TestPojos.accommodation(), TestPojos.accommodation()));
+        when(accommodationRepo.findAllAvailableSummariesByFilter(any())).thenReturn(Flux.just(TestPojos.accommodationSummary()));
 
-        var filter = new AccommodationSearchFilter();
-        Flux<Accommodation> accommodations = publicApi.findAccommodationsByFilter(filter);
+        Flux<AccommodationSummary> summaries = publicApi.findAccommodationSummariesByFilter(new AccommodationSearchFilter());
 
         StepVerifier
-                .create(accommodations)
-                .expectNextCount(2)
+                .create(summaries)
+                .expectNextCount(1)
                 .verifyComplete();
-
-        assertThat(filter.getExclude().block()).isEmpty();
     }
 
     @Test
-    public void findAccommodationsByFilter_withDateFilters() {
+    public void findAccommodationsByFilter() {
 
-        Booking book1 = TestPojos.booking();
-        book1.setAccommodationId("123");
-        Booking book2 = TestPojos.booking();
-        book2.setAccommodationId("456");
-        Booking book3 = TestPojos.booking();
-        book3.setAccommodationId("456");
-        when(bookingRepo.findAllByFilter(any())).thenReturn(Flux.just(book1, book2, book3));
-        when(accommodationRepo.findAllByFilter(any())).thenReturn(Flux.just(TestPojos.accommodation(), TestPojos.accommodation()));
+        when(searchProjection.isBuilt()).thenReturn(true);
+        when(accommodationSearchRepo.findAllAvailableByFilter(any())).thenReturn(Flux.just(TestPojos.accommodation(), TestPojos.accommodation()));
 
         var filter = new AccommodationSearchFilter();
         filter.setCheckin(LocalDate.now());
@@ -81,14 +101,57 @@ public class PublicApiServiceTest {
                 .create(accommodations)
                 .expectNextCount(2)
                 .verifyComplete();
+    }
+
+    @Test
+    public void findAccommodationsByFilter_whenProjectionNotBuilt_shouldSearchAccommodations() {
+
+        when(searchProjection.isBuilt()).thenReturn(false);
+        when(accommodationRepo.findAllAvailableByFilter(any())).thenReturn(Flux.just(TestPojos.accommodation()));
 
-        assertThat(filter.getExclude().block()).containsExactlyInAnyOrder("123", "456");
+        Flux<Accommodation> accommodations = publicApi.findAccommodationsByFilter(new AccommodationSearchFilter());
+
+        StepVerifier
+                .create(accommodations)
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(accommodationSearchRepo, never()).findAllAvailableByFilter(any());
+    }
+
+    @Test
+    public void findNearbyAccommodationsByFilter() {
+
+        when(accommodationRepo.findAllAvailableNearby(any())).thenReturn(Flux.just(Nearby.of(TestPojos.accommodation(), 1.5)));
+
+        var filter = new AccommodationSearchFilter();
+        filter.setLat(45.45);
+        filter.setLng(9.165);
+        Flux<Nearby<Accommodation>> nearby = publicApi.findNearbyAccommodationsByFilter(filter);
+
+        StepVerifier
+                .create(nearby)
+                .assertNext(n -> assertThat(n.getDistance()).isEqualTo(1.5))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findNearbyAccommodationSummariesByFilter_withoutCentre_shouldReturnBadRequest() {
+
+        var filter = new AccommodationSearchFilter();
+        filter.setLat(45.45);
+        Flux<Nearby<AccommodationSummary>> nearby = publicApi.findNearbyAccommodationSummariesByFilter(filter);
+
+        StepVerifier
+                .create(nearby)
+                .expectErrorMatches(TestPredicates.badRequest(NEARBY_CENTRE_REQUIRED))
+                .verify();
     }
 
     @Test
     public void findAccommodationById() {
 
-        when(accommodationRepo.findById(anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
+        when(accommodationLoader.load(anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
 
         Mono<Accommodation> accommodation = publicApi.findAccommodationById("123");
 
@@ -101,7 +164,7 @@ public class PublicApiServiceTest {
     @Test
     public void findAccommodationById_whenAccommodationNotFound_shouldReturnNotFound() {
 
-        when(accommodationRepo.findById(anyString())).thenReturn(Mono.empty());
+        when(accommodationLoader.load(anyString())).thenReturn(Mono.empty());
 
         Mono<Accommodation> accommodation = publicApi.findAccommodationById("123");
 
@@ -111,10 +174,42 @@ public class PublicApiServiceTest {
                 .verify();
     }
 
+    @Test
+    public void findAccommodationsByIds() {
+
+        Accommodation acc1 = TestPojos.accommodation();
+        acc1.setAccommodationId("123");
+        Accommodation acc2 = TestPojos.accommodation();
+        acc2.setAccommodationId("456");
+        when(accommodationLoader.load("123")).thenReturn(Mono.just(acc1));
+        when(accommodationLoader.load("456")).thenReturn(Mono.just(acc2));
+        when(accommodationLoader.load("789")).thenReturn(Mono.empty());
+
+        Flux<Accommodation> accommodations = publicApi.findAccommodationsByIds(List.of("456", "123", "789", "456"));
+
+        StepVerifier
+                .create(accommodations.map(Accommodation::getAccommodationId))
+                .expectNext("456", "123")
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAccommodationsByIds_whenTooManyIds_shouldReturnBadRequest() {
+
+        var ids = IntStream.rangeClosed(0, 100).mapToObj(String::valueOf).collect(Collectors.toList());
+
+        Flux<Accommodation> accommodations = publicApi.findAccommodationsByIds(ids);
+
+        StepVerifier
+                .create(accommodations)
+                .expectErrorMatches(TestPredicates.badRequest(TOO_MANY_IDS))
+                .verify();
+    }
+
     @Test
     public void findAccommodationReviewsByFilter() {
 
-        when(accommodationRepo.findById(anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
+        when(accommodationLoader.load(anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
         when(reviewRepo.findAllByFilter(any())).thenReturn(Flux.just(TestPojos.review(), TestPojos.review()));
 
         Flux<Review> reviews = publicApi.findAccommodationReviewsByFilter("123", new ReviewSearchFilter());
@@ -128,7 +223,7 @@ public class PublicApiServiceTest {
     @Test
     public void findAccommodationReviewsByFilter_whenAccommodationNotFound_shouldReturnNotFound() {
 
-        when(accommodationRepo.findById(anyString())).thenReturn(Mono.empty());
+        when(accommodationLoader.load(anyString())).thenReturn(Mono.empty());
 
         Flux<Review> reviews = publicApi.findAccommodationReviewsByFilter("123", new ReviewSearchFilter());
 
@@ -141,7 +236,7 @@ public class PublicApiServiceTest {
     @Test
     public void findAccommodationReviewsByFilter_whenReviewsNotFound_shouldReturnEmpty() {
 
-        when(accommodationRepo.findById(anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
+        when(accommodationLoader.load(anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
         when(reviewRepo.findAllByFilter(any())).thenReturn(Flux.empty());
 
         Flux<Review> reviews = publicApi.findAccommodationReviewsByFilter("123", new ReviewSearchFilter());
@@ -150,4 +245,41 @@ public class PublicApiServiceTest {
                 .create(reviews)
                 .verifyComplete();
     }
+
+    @Test
+    public void findRelevantAccommodationReviewsByFilter() {
+
+        when(accommodationLoader.load(anyString())).thenReturn(Mono.just(TestPojos.accommodation()));
+        when(reviewRepo.findAllRelevantByFilter(any())).thenReturn(Flux.just(Scored.of(TestPojos.review(), 1.5)));
+
+        var filter = new ReviewSearchFilter();
+        filter.setQ("great place");
+        Flux<Scored<Review>> reviews = publicApi.findRelevantAccommodationReviewsByFilter("123", filter);
+
+        StepVerifier
+                .create(reviews)
+                .assertNext(r -> assertThat(r.getScore()).isEqualTo(1.5))
+                .verifyComplete();
+
+        assertThat(filter.getAccommodationId().block()).isEqualTo(TestPojos.accommodation().getAccommodationId());
+    }
+
+    @Test
+    public void findRelevantAccommodationReviewsByFilter_withoutSearchTerms_shouldReturnBadRequest() {
+
+        var filter = new ReviewSearchFilter();
+        filter.setQ(" ");
+        Flux<Scored<Review>> reviews = publicApi.findRelevantAccommodationReviewsByFilter("123", filter);
+
+        StepVerifier
+                .create(reviews)
+                .expectErrorMatches(TestPredicates.badRequest(SEARCH_TERMS_REQUIRED))
+                .verify();
+    }
+
+    private static MappingMongoConverter converter() {
+        var converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        return converter;
+    }
 }
@@ -10,13 +10,18 @@ import com.findaroom.findaroomcore.domain.Booking;
 import com.findaroom.findaroomcore.domain.Review;
 import com.findaroom.findaroomcore.repository.AccommodationRepository;
 import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.repository.ReservationRepository;
 import com.findaroom.findaroomcore.repository.ReviewRepository;
 import com.findaroom.findaroomcore.service.UserOperationsService;
+import com.findaroom.findaroomcore.service.availability.AvailabilityIndex;
+import com.findaroom.findaroomcore.service.cache.AccommodationCache;
+import com.findaroom.findaroomcore.service.search.SearchProjection;
 import com.findaroom.findaroomcore.service.validation.AccommodationVerifier;
 import com.findaroom.findaroomcore.service.validation.BookingVerifier;
 import com.findaroom.findaroomcore.utils.ErrorUtils;
 import com.findaroom.findaroomcore.utils.TestPojos;
 import com.findaroom.findaroomcore.utils.TestPredicates;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -28,12 +33,16 @@ import reactor.test.StepVerifier;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.findaroom.findaroomcore.domain.enums.BookingStatus.CANCELLED;
 import static com.findaroom.findaroomcore.domain.enums.BookingStatus.DONE;
 import static com.findaroom.findaroomcore.utils.MessageUtils.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -48,15 +57,33 @@ public class UserOperationsServiceTest {
     @Mock
     private ReviewRepository reviewRepo;
 
+    @Mock
+    private ReservationRepository reservationRepo;
+
     @Mock
     private AccommodationVerifier accommodationVerifier;
 
     @Mock
     private BookingVerifier bookingVerifier;
 
+    @Mock
+    private AccommodationCache accommodationCache;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private SearchProjection searchProjection;
+
     @InjectMocks
     private UserOperationsService userOps;
 
+    @BeforeEach
+    public void setup() {
+        when(searchProjection.project(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(searchProjection.refreshAvailability(any())).thenReturn(Mono.empty());
+    }
+
     @Test
     public void findBookingsByUserId() {
 
@@ -153,6 +180,7 @@ public class UserOperationsServiceTest {
         when(accommodationVerifier.verifyGuestsDoNotExceedCapacity(any(), anyInt())).thenReturn(Mono.just(acc));
         when(accommodationVerifier.verifyAccommodationIsAvailable(any(), any())).thenReturn(Mono.just(acc));
         when(bookingRepo.countActiveUserBookingsBetweenDates(anyString(), any(), any(), any())).thenReturn(Mono.just(0L));
+        when(reservationRepo.reserve(anyString(), anyString(), anyList())).thenReturn(Mono.just(true));
         when(bookingRepo.save(any())).thenReturn(Mono.just(TestPojos.booking()));
 
         Mono<Booking> booking = userOps.bookAccommodation("123", "444", TestPojos.bookAccommodation());
@@ -163,6 +191,49 @@ public class UserOperationsServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void bookAccommodation_whenDatesAreAlreadyReserved_shouldReturnUnprocessableEntity() {
+
+        Accommodation acc = TestPojos.accommodation();
+        when(accommodationRepo.findById(anyString())).thenReturn(Mono.just(acc));
+        when(accommodationVerifier.verifyUserIsNotAccommodationHost(any(), anyString())).thenReturn(Mono.just(acc));
+        when(accommodationVerifier.verifyGuestsDoNotExceedCapacity(any(), anyInt())).thenReturn(Mono.just(acc));
+        when(accommodationVerifier.verifyAccommodationIsAvailable(any(), any())).thenReturn(Mono.just(acc));
+        when(bookingRepo.countActiveUserBookingsBetweenDates(anyString(), any(), any(), any())).thenReturn(Mono.just(0L));
+        when(reservationRepo.reserve(anyString(), anyString(), anyList())).thenReturn(Mono.just(false));
+
+        Mono<Booking> booking = userOps.bookAccommodation("123", "444", TestPojos.bookAccommodation());
+
+        StepVerifier
+                .create(booking)
+                .expectErrorMatches(TestPredicates.unprocessableEntity(ACCOMMODATION_ALREADY_BOOKED))
+                .verify();
+    }
+
+    @Test
+    public void bookAccommodation_whenSaveFails_shouldReleaseReservedDates() {
+
+        Accommodation acc = TestPojos.accommodation();
+        var released = new AtomicBoolean();
+        when(accommodationRepo.findById(anyString())).thenReturn(Mono.just(acc));
+        when(accommodationVerifier.verifyUserIsNotAccommodationHost(any(), anyString())).thenReturn(Mono.just(acc));
+        when(accommodationVerifier.verifyGuestsDoNotExceedCapacity(any(), anyInt())).thenReturn(Mono.just(acc));
+        when(accommodationVerifier.verifyAccommodationIsAvailable(any(), any())).thenReturn(Mono.just(acc));
+        when(bookingRepo.countActiveUserBookingsBetweenDates(anyString(), any(), any(), any())).thenReturn(Mono.just(0L));
+        when(reservationRepo.reserve(anyString(), anyString(), anyList())).thenReturn(Mono.just(true));
+        when(reservationRepo.deleteByBookingId(anyString())).thenReturn(Mono.fromRunnable(() -> released.set(true)));
+        when(bookingRepo.save(any())).thenReturn(Mono.error(new IllegalStateException()));
+
+        Mono<Booking> booking = userOps.bookAccommodation("123", "444", TestPojos.bookAccommodation());
+
+        StepVerifier
+                .create(booking)
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertThat(released).isTrue();
+    }
+
     @Test
     public void bookAccommodation_whenAccommodationNotFound_shouldReturnNotFound() {
 
@@ -261,25 +332,19 @@ public class UserOperationsServiceTest {
         Booking book = TestPojos.booking();
         book.setCheckout(LocalDate.now().minusDays(6));
         book.setStatus(DONE);
-        Review rev1 = TestPojos.review();
-        rev1.setRating(4.0);
-        Review rev2 = TestPojos.review();
-        rev2.setRating(2.0);
+        Review rev = TestPojos.review();
+        rev.setRating(4.0);
         when(accommodationRepo.findById(anyString())).thenReturn(Mono.just(acc));
         when(bookingRepo.findByBookingIdAndAccommodationIdAndUserId(anyString(), anyString(), anyString())).thenReturn(Mono.just(book));
         when(bookingVerifier.verifyBookingIsCompleted(any())).thenReturn(Mono.just(book));
-        when(reviewRepo.save(any())).thenReturn(Mono.just(TestPojos.review()));
-        when(reviewRepo.findAllByFilter(any())).thenReturn(Flux.just(rev1, rev2));
-        when(accommodationRepo.save(any())).thenReturn(Mono.just(acc));
+        when(reviewRepo.save(any())).thenReturn(Mono.just(rev));
+        when(accommodationRepo.addRating("123", 4.0)).thenReturn(Mono.just(acc));
 
         Mono<Review> review = userOps.reviewAccommodation("123", "111", "444", TestPojos.reviewAccommodation());
 
         StepVerifier
                 .create(review)
-                .assertNext(r -> {
-                    assertThat(r).isNotNull();
-                    assertThat(acc.getRating()).isEqualTo(3.0);
-                })
+                .assertNext(r -> assertThat(r.getRating()).isEqualTo(4.0))
                 .verifyComplete();
     }
 
@@ -333,9 +398,9 @@ public class UserOperationsServiceTest {
     public void cancelBooking() {
 
         Booking book = TestPojos.booking();
-        when(bookingRepo.findByBookingIdAndUserId(anyString(), anyString())).thenReturn(Mono.just(book));
-        when(bookingVerifier.verifyBookingIsActive(any())).thenReturn(Mono.just(book));
-        when(bookingRepo.save(any())).thenReturn(Mono.just(book));
+        book.setStatus(CANCELLED);
+        when(bookingRepo.cancelUserBooking(anyString(), anyString())).thenReturn(Mono.just(book));
+        when(reservationRepo.deleteByBookingId(any())).thenReturn(Mono.empty());
 
         Mono<Booking> booking = userOps.cancelBooking("111", "444");
 
@@ -348,6 +413,7 @@ public class UserOperationsServiceTest {
     @Test
     public void cancelBooking_whenBookingNotFound_shouldReturnNotFound() {
 
+        when(bookingRepo.cancelUserBooking(anyString(), anyString())).thenReturn(Mono.empty());
         when(bookingRepo.findByBookingIdAndUserId(anyString(), anyString())).thenReturn(Mono.empty());
 
         Mono<Booking> booking = userOps.cancelBooking("111", "444");
@@ -363,6 +429,7 @@ public class UserOperationsServiceTest {
 
         Booking book = TestPojos.booking();
         book.setStatus(DONE);
+        when(bookingRepo.cancelUserBooking(anyString(), anyString())).thenReturn(Mono.empty());
         when(bookingRepo.findByBookingIdAndUserId(anyString(), anyString())).thenReturn(Mono.just(book));
         when(bookingVerifier.verifyBookingIsActive(any())).thenReturn(Mono.error(ErrorUtils.unprocessableEntity(BOOKING_NOT_ACTIVE)));
 
@@ -389,7 +456,10 @@ public class UserOperationsServiceTest {
         when(accommodationVerifier.verifyAccommodationIsAvailableExcludingBooking(any(), anyString(), any())).thenReturn(Mono.just(acc));
         when(bookingRepo.countActiveUserBookingsBetweenDatesExcludingBooking(anyString(), anyString(), any(), any(), any()))
                 .thenReturn(Mono.just(0L));
-        when(bookingRepo.save(any())).thenReturn(Mono.just(book));
+        when(reservationRepo.hold(anyString(), anyString(), anyList())).thenReturn(Mono.just(true));
+        when(reservationRepo.reschedule(anyString(), anyString(), anyList())).thenReturn(Mono.just(true));
+        when(bookingRepo.rescheduleUserBooking(anyString(), anyString(), any()))
+                .thenAnswer(invocation -> Mono.just(book.rescheduleWith(invocation.getArgument(2))));
 
         BookingDates reschedule = TestPojos.bookingDates();
         Mono<Booking> booking = userOps.rescheduleBooking("111", "444", reschedule);
@@ -401,6 +471,67 @@ public class UserOperationsServiceTest {
                     assertThat(b.getCheckout()).isEqualTo(reschedule.getCheckout());
                 })
                 .verifyComplete();
+
+        var order = inOrder(reservationRepo, bookingRepo);
+        order.verify(reservationRepo).hold("123", "111", reschedule.occupiedDates());
+        order.verify(bookingRepo).rescheduleUserBooking("111", "444", reschedule);
+        order.verify(reservationRepo).reschedule("123", "111", reschedule.occupiedDates());
+    }
+
+    @Test
+    public void rescheduleBooking_whenDatesAreAlreadyReserved_shouldReturnUnprocessableEntity() {
+
+        Booking book = TestPojos.booking();
+        book.setBookingId("111");
+        book.setAccommodationId("123");
+        Accommodation acc = TestPojos.accommodation();
+        acc.setAccommodationId("123");
+        when(bookingRepo.findByBookingIdAndUserId(anyString(), anyString())).thenReturn(Mono.just(book));
+        when(bookingVerifier.verifyBookingIsActive(any())).thenReturn(Mono.just(book));
+        when(bookingVerifier.verifyBookingHasDifferentDatesThan(any(), any())).thenReturn(Mono.just(book));
+        when(accommodationRepo.findById(anyString())).thenReturn(Mono.just(acc));
+        when(accommodationVerifier.verifyAccommodationIsAvailableExcludingBooking(any(), anyString(), any())).thenReturn(Mono.just(acc));
+        when(bookingRepo.countActiveUserBookingsBetweenDatesExcludingBooking(anyString(), anyString(), any(), any(), any()))
+                .thenReturn(Mono.just(0L));
+        when(reservationRepo.hold(anyString(), anyString(), anyList())).thenReturn(Mono.just(false));
+
+        Mono<Booking> booking = userOps.rescheduleBooking("111", "444", TestPojos.bookingDates());
+
+        StepVerifier
+                .create(booking)
+                .expectErrorMatches(TestPredicates.unprocessableEntity(ACCOMMODATION_ALREADY_BOOKED))
+                .verify();
+    }
+
+    @Test
+    public void rescheduleBooking_whenBookingChangedConcurrently_shouldRestoreOriginalDatesAndReturnConflict() {
+
+        Booking book = TestPojos.booking();
+        book.setBookingId("111");
+        book.setAccommodationId("123");
+        Accommodation acc = TestPojos.accommodation();
+        acc.setAccommodationId("123");
+        when(bookingRepo.findByBookingIdAndUserId(anyString(), anyString())).thenReturn(Mono.just(book));
+        when(bookingVerifier.verifyBookingIsActive(any())).thenReturn(Mono.just(book));
+        when(bookingVerifier.verifyBookingHasDifferentDatesThan(any(), any())).thenReturn(Mono.just(book));
+        when(accommodationRepo.findById(anyString())).thenReturn(Mono.just(acc));
+        when(accommodationVerifier.verifyAccommodationIsAvailableExcludingBooking(any(), anyString(), any())).thenReturn(Mono.just(acc));
+        when(bookingRepo.countActiveUserBookingsBetweenDatesExcludingBooking(anyString(), anyString(), any(), any(), any()))
+                .thenReturn(Mono.just(0L));
+        when(reservationRepo.hold(anyString(), anyString(), anyList())).thenReturn(Mono.just(true));
+        when(reservationRepo.reschedule(anyString(), anyString(), anyList())).thenReturn(Mono.just(true));
+        when(bookingRepo.rescheduleUserBooking(anyString(), anyString(), any())).thenReturn(Mono.empty());
+
+        Mono<Booking> booking = userOps.rescheduleBooking("111", "444", TestPojos.bookingDates());
+
+        StepVerifier
+                .create(booking)
+                .expectErrorMatches(TestPredicates.conflict(BOOKING_MODIFIED_CONCURRENTLY))
+                .verify();
+
+        var originalDates = new BookingDates(book.getCheckin(), book.getCheckout());
+        verify(reservationRepo).reschedule("123", "111", originalDates.occupiedDates());
+        verify(reservationRepo, never()).deleteByBookingId(anyString());
     }
 
     @Test
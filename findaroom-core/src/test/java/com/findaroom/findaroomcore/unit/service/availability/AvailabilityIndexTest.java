@@ -0,0 +1,164 @@
+package com.findaroom.findaroomcore.unit.service.availability;
+
+import com.findaroom.findaroomcore.controller.event.BookingDates;
+import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.service.availability.AvailabilityIndex;
+import com.findaroom.findaroomcore.utils.TestPojos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.findaroom.findaroomcore.domain.enums.BookingStatus.CANCELLED;
+import static com.findaroom.findaroomcore.domain.enums.BookingStatus.CONFIRMED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+public class AvailabilityIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepo;
+
+    private AvailabilityIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new AvailabilityIndex(bookingRepo, Duration.ofMillis(10));
+    }
+
+    @Test
+    public void seed_shouldIndexActiveBookings() {
+
+        Booking book = booking("111", "123", 5, 10);
+        when(bookingRepo.findByStatusInAndCheckoutAfter(anyList(), any())).thenReturn(Flux.just(book));
+
+        index.seed();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.isAvailable("123", dates(8, 12))).isFalse();
+        assertThat(index.isAvailable("123", dates(11, 12))).isTrue();
+        assertThat(index.isAvailable("456", dates(8, 12))).isTrue();
+    }
+
+    @Test
+    public void seed_whenSeedingFails_shouldNotBeReady() {
+
+        when(bookingRepo.findByStatusInAndCheckoutAfter(anyList(), any())).thenReturn(Flux.error(new IllegalStateException()));
+
+        index.seed();
+
+        assertThat(index.isReady()).isFalse();
+    }
+
+    @Test
+    public void seed_whenSeedingFailsTransiently_shouldRetryUntilReady() throws InterruptedException {
+
+        var attempts = new AtomicInteger();
+        when(bookingRepo.findByStatusInAndCheckoutAfter(anyList(), any())).thenReturn(Flux.defer(() -> attempts.incrementAndGet() == 1
+                ? Flux.error(new IllegalStateException())
+                : Flux.just(booking("111", "123", 5, 10))));
+
+        index.seed();
+
+        for (int i = 0; i < 100 && !index.isReady(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(index.isReady()).isTrue();
+        assertThat(attempts).hasValue(2);
+        assertThat(index.isAvailable("123", dates(8, 12))).isFalse();
+    }
+
+    @Test
+    public void seed_whenReseeded_shouldDropPreviousSeeding() {
+
+        when(bookingRepo.findByStatusInAndCheckoutAfter(anyList(), any()))
+                .thenReturn(Flux.just(booking("111", "123", 5, 10)).concatWith(Flux.never()))
+                .thenReturn(Flux.empty());
+
+        index.seed();
+        assertThat(index.isReady()).isFalse();
+        index.seed();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.isAvailable("123", dates(5, 10))).isTrue();
+    }
+
+    @Test
+    public void isAvailable_withAdjacentDates_shouldReturnFalse() {
+
+        index.track(booking("111", "123", 5, 10));
+
+        assertThat(index.isAvailable("123", dates(10, 12))).isFalse();
+        assertThat(index.isAvailable("123", dates(1, 5))).isFalse();
+    }
+
+    @Test
+    public void isAvailableExcludingBooking_shouldIgnoreExcludedBooking() {
+
+        index.track(booking("111", "123", 5, 10));
+        index.track(booking("222", "123", 20, 25));
+
+        assertThat(index.isAvailableExcludingBooking("123", "111", dates(6, 8))).isTrue();
+        assertThat(index.isAvailableExcludingBooking("123", "111", dates(6, 21))).isFalse();
+    }
+
+    @Test
+    public void track_withRescheduledBooking_shouldMoveDates() {
+
+        Booking book = booking("111", "123", 5, 10);
+        index.track(book);
+        book.rescheduleWith(dates(20, 25));
+        index.track(book);
+
+        assertThat(index.isAvailable("123", dates(5, 10))).isTrue();
+        assertThat(index.isAvailable("123", dates(20, 25))).isFalse();
+    }
+
+    @Test
+    public void track_withCancelledBooking_shouldFreeDates() {
+
+        Booking book = booking("111", "123", 5, 10);
+        book.setStatus(CONFIRMED);
+        index.track(book);
+        book.setStatus(CANCELLED);
+        index.track(book);
+
+        assertThat(index.isAvailable("123", dates(5, 10))).isTrue();
+    }
+
+    @Test
+    public void release_shouldFreeReleasedBookingsOnly() {
+
+        index.track(booking("111", "123", 5, 10));
+        index.track(booking("222", "123", 20, 25));
+
+        index.release("123", List.of("111"));
+
+        assertThat(index.isAvailable("123", dates(5, 10))).isTrue();
+        assertThat(index.isAvailable("123", dates(20, 25))).isFalse();
+    }
+
+    private static Booking booking(String bookingId, String accommodationId, int checkin, int checkout) {
+        Booking book = TestPojos.booking();
+        book.setBookingId(bookingId);
+        book.setAccommodationId(accommodationId);
+        book.setCheckin(LocalDate.now().plusDays(checkin));
+        book.setCheckout(LocalDate.now().plusDays(checkout));
+        return book;
+    }
+
+    private static BookingDates dates(int checkin, int checkout) {
+        return new BookingDates(LocalDate.now().plusDays(checkin), LocalDate.now().plusDays(checkout));
+    }
+}
@@ -0,0 +1,86 @@
+package com.findaroom.findaroomcore.unit.service.batch;
+
+import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.repository.AccommodationRepository;
+import com.findaroom.findaroomcore.service.batch.AccommodationLoader;
+import com.findaroom.findaroomcore.utils.TestPojos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+public class AccommodationLoaderTest {
+
+    private final AccommodationRepository accommodationRepo = mock(AccommodationRepository.class);
+    private AccommodationLoader loader;
+
+    @BeforeEach
+    public void setup() {
+        loader = new AccommodationLoader(accommodationRepo, 10, Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        loader.shutdown();
+    }
+
+    @Test
+    public void load_withConcurrentLookups_shouldQueryOnce() {
+
+        when(accommodationRepo.findAllById(anyIterable())).thenReturn(Flux.just(accommodation("123"), accommodation("456")));
+
+        Mono<List<String>> loaded = Flux
+                .merge(loader.load("123"), loader.load("456"), loader.load("123"), loader.load("789"))
+                .map(Accommodation::getAccommodationId)
+                .collectList();
+
+        StepVerifier
+                .create(loaded)
+                .assertNext(ids -> assertThat(ids).containsExactlyInAnyOrder("123", "456", "123"))
+                .verifyComplete();
+
+        verify(accommodationRepo, times(1)).findAllById(List.of("123", "456", "789"));
+    }
+
+    @Test
+    public void load_whenBatchIsFull_shouldNotWaitForWindow() {
+
+        loader.shutdown();
+        loader = new AccommodationLoader(accommodationRepo, 2, Duration.ofMinutes(1));
+        when(accommodationRepo.findAllById(anyIterable())).thenReturn(Flux.just(accommodation("123"), accommodation("456")));
+
+        Flux<Accommodation> loaded = Flux.merge(loader.load("123"), loader.load("456"));
+
+        StepVerifier
+                .create(loaded)
+                .expectNextCount(2)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void load_whenQueryFails_shouldPropagateError() {
+
+        when(accommodationRepo.findAllById(anyIterable())).thenReturn(Flux.error(new IllegalStateException()));
+
+        StepVerifier
+                .create(loader.load("123"))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    private static Accommodation accommodation(String accommodationId) {
+        Accommodation accommodation = TestPojos.accommodation();
+        accommodation.setAccommodationId(accommodationId);
+        return accommodation;
+    }
+}
@@ -0,0 +1,182 @@
+package com.findaroom.findaroomcore.unit.service.cache;
+
+import com.findaroom.findaroomcore.controller.filter.AccommodationSearchFilter;
+import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.domain.AccommodationSummary;
+import com.findaroom.findaroomcore.service.cache.AccommodationCache;
+import com.findaroom.findaroomcore.utils.TestPojos;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.findaroom.findaroomcore.domain.enums.Amenity.KITCHEN;
+import static com.findaroom.findaroomcore.domain.enums.Amenity.WIFI;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccommodationCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MappingMongoConverter converter = converter();
+    private final AccommodationCache cache = cache(DataSize.ofKilobytes(64));
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @Test
+    public void search_withEquivalentFilters_shouldQueryOnce() {
+
+        var filter1 = new AccommodationSearchFilter();
+        filter1.setCity("Rome");
+        filter1.setAmenities(List.of(WIFI, KITCHEN));
+        var filter2 = new AccommodationSearchFilter();
+        filter2.setCity("Rome");
+        filter2.setAmenities(List.of(KITCHEN, WIFI));
+
+        StepVerifier.create(cache.search(filter1, Accommodation.class, this::query)).expectNextCount(2).verifyComplete();
+        StepVerifier.create(cache.search(filter2, Accommodation.class, this::query)).expectNextCount(2).verifyComplete();
+
+        assertThat(queries).hasValue(1);
+        assertThat(registry.get("cache.gets").tag("cache", "accommodation.search").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tag("cache", "accommodation.search").tag("result", "miss").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void search_whenCached_shouldRestoreNextCursor() {
+
+        var filter1 = new AccommodationSearchFilter();
+        var filter2 = new AccommodationSearchFilter();
+
+        cache.search(filter1, Accommodation.class, filter -> {
+            filter.continueWith("abc");
+            return query(filter);
+        }).blockLast();
+        cache.search(filter2, Accommodation.class, this::query).blockLast();
+
+        assertThat(filter2.getNextCursor().block()).isEqualTo("abc");
+    }
+
+    @Test
+    public void evictAccommodation_shouldInvalidateSearches() {
+
+        cache.search(new AccommodationSearchFilter(), Accommodation.class, this::query).blockLast();
+        cache.evictAccommodation("123");
+        cache.search(new AccommodationSearchFilter(), Accommodation.class, this::query).blockLast();
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    public void evictAvailability_shouldInvalidateOnlyDatedSearches() {
+
+        var dated = new AccommodationSearchFilter();
+        dated.setCheckin(LocalDate.now().plusDays(1));
+        dated.setCheckout(LocalDate.now().plusDays(3));
+
+        cache.search(dated, Accommodation.class, this::query).blockLast();
+        cache.search(new AccommodationSearchFilter(), Accommodation.class, this::query).blockLast();
+        cache.evictAvailability();
+        cache.search(dated, Accommodation.class, this::query).blockLast();
+        cache.search(new AccommodationSearchFilter(), Accommodation.class, this::query).blockLast();
+
+        assertThat(queries).hasValue(3);
+    }
+
+    @Test
+    public void findById_shouldCacheUntilEvicted() {
+
+        cache.findById("123", this::findById).block();
+        cache.findById("123", this::findById).block();
+        cache.evictAccommodation("123");
+        cache.findById("123", this::findById).block();
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    public void findById_whenNotFound_shouldNotCache() {
+
+        StepVerifier.create(cache.findById("123", id -> Mono.fromRunnable(queries::incrementAndGet))).verifyComplete();
+        StepVerifier.create(cache.findById("123", id -> Mono.fromRunnable(queries::incrementAndGet))).verifyComplete();
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    public void search_whenPageExceedsMaximumEntrySize_shouldNotCache() {
+
+        var cache = cache(DataSize.ofBytes(1));
+
+        cache.search(new AccommodationSearchFilter(), Accommodation.class, this::query).blockLast();
+        cache.search(new AccommodationSearchFilter(), Accommodation.class, this::query).blockLast();
+
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    public void search_whenResultsMutated_shouldServeOriginalCopies() {
+
+        cache.search(new AccommodationSearchFilter(), Accommodation.class, this::query)
+                .doOnNext(accommodation -> accommodation.setName("changed"))
+                .blockLast();
+
+        StepVerifier
+                .create(cache.search(new AccommodationSearchFilter(), Accommodation.class, this::query))
+                .expectNext(TestPojos.accommodation(), TestPojos.accommodation())
+                .verifyComplete();
+    }
+
+    @Test
+    public void search_withSummaryView_shouldRestoreSummaries() {
+
+        var summary = TestPojos.accommodationSummary();
+
+        cache.search(new AccommodationSearchFilter(), AccommodationSummary.class, filter -> Flux.just(summary)).blockLast();
+
+        StepVerifier
+                .create(cache.search(new AccommodationSearchFilter(), AccommodationSummary.class, filter -> Flux.error(new IllegalStateException())))
+                .expectNext(summary)
+                .verifyComplete();
+    }
+
+    @Test
+    public void findById_whenResultMutated_shouldServeOriginalCopy() {
+
+        cache.findById("123", this::findById).block().setName("changed");
+
+        StepVerifier
+                .create(cache.findById("123", this::findById))
+                .expectNext(TestPojos.accommodation())
+                .verifyComplete();
+
+        assertThat(queries).hasValue(1);
+    }
+
+    private AccommodationCache cache(DataSize maximumEntrySize) {
+        return new AccommodationCache(registry, converter, DataSize.ofMegabytes(1), maximumEntrySize, Duration.ofMinutes(1), DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+    }
+
+    private static MappingMongoConverter converter() {
+        var converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private Flux<Accommodation> query(AccommodationSearchFilter filter) {
+        queries.incrementAndGet();
+        return Flux.just(TestPojos.accommodation(), TestPojos.accommodation());
+    }
+
+    private Mono<Accommodation> findById(String accommodationId) {
+        queries.incrementAndGet();
+        return Mono.just(TestPojos.accommodation());
+    }
+}
@@ -0,0 +1,43 @@
+package com.findaroom.findaroomcore.unit.service.indexing;
+
+import com.findaroom.findaroomcore.service.indexing.IndexAdvisor;
+import com.findaroom.findaroomcore.service.indexing.IndexAdvisorEndpoint;
+import com.findaroom.findaroomcore.service.indexing.QueryPlan;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+public class IndexAdvisorEndpointTest {
+
+    @Mock
+    private IndexAdvisor indexAdvisor;
+
+    @InjectMocks
+    private IndexAdvisorEndpoint endpoint;
+
+    @Test
+    public void report_shouldListCollectionScansSeparately() {
+
+        var indexed = QueryPlan.of("user-bookings", "bookings", List.of("FETCH", "IXSCAN"));
+        var scanned = QueryPlan.of("user-reviews", "reviews", List.of("SORT", "COLLSCAN"));
+        when(indexAdvisor.explainCanonicalQueries()).thenReturn(Flux.just(indexed, scanned));
+
+        StepVerifier
+                .create(endpoint.report())
+                .assertNext(report -> {
+                    assertThat(report.get("collectionScans")).isEqualTo(List.of(scanned));
+                    assertThat(report.get("plans")).isEqualTo(List.of(indexed, scanned));
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,96 @@
+package com.findaroom.findaroomcore.unit.service.indexing;
+
+import com.findaroom.findaroomcore.service.indexing.IndexAdvisor;
+import com.findaroom.findaroomcore.service.indexing.QueryPlan;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+public class IndexAdvisorTest {
+
+    @Mock
+    private ReactiveMongoOperations mongoOps;
+
+    @InjectMocks
+    private IndexAdvisor advisor;
+
+    @BeforeEach
+    public void setup() {
+        var converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        when(mongoOps.getConverter()).thenReturn(converter);
+        when(mongoOps.getCollectionName(any())).thenAnswer(invocation -> invocation.<Class<?>>getArgument(0).getSimpleName().toLowerCase());
+        when(mongoOps.executeCommand(any(Document.class))).thenReturn(Mono.just(plan(new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN")))));
+    }
+
+    @Test
+    public void explainCanonicalQueries() {
+
+        StepVerifier
+                .create(advisor.explainCanonicalQueries().collectList())
+                .assertNext(plans -> {
+                    assertThat(plans).hasSize(10);
+                    assertThat(plans).noneMatch(QueryPlan::isCollectionScan);
+                    assertThat(plans.get(0).getStages()).containsExactly("FETCH", "IXSCAN");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void explainCanonicalQueries_whenShapeRunsCollectionScan_shouldFlagIt() {
+
+        when(mongoOps.executeCommand(argThat((Document command) -> "review".equals(command.get("explain", Document.class).get("find")))))
+                .thenReturn(Mono.just(plan(new Document("stage", "SORT")
+                        .append("inputStages", List.of(new Document("stage", "COLLSCAN"))))));
+
+        StepVerifier
+                .create(advisor.explainCanonicalQueries().filter(QueryPlan::isCollectionScan).map(QueryPlan::getShape).collectList())
+                .assertNext(shapes -> assertThat(shapes).containsExactly("accommodation-reviews", "user-reviews"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void explainCanonicalQueries_shouldExplainRepositoryQueryShapes() {
+
+        var commands = new ArrayList<Document>();
+        when(mongoOps.executeCommand(any(Document.class))).thenAnswer(invocation -> {
+            commands.add(invocation.<Document>getArgument(0).get("explain", Document.class));
+            return Mono.just(plan(new Document("stage", "IXSCAN")));
+        });
+
+        advisor.explainCanonicalQueries().blockLast();
+
+        assertThat(commands).hasSize(10);
+        assertThat(commands.get(0).get("filter", Document.class)).containsOnlyKeys("accommodationId", "checkout", "checkin", "status");
+        assertThat(commands.get(2).get("filter", Document.class)).containsOnlyKeys("status", "checkout");
+        assertThat(commands.get(3).get("sort", Document.class)).isEqualTo(new Document("_id", 1));
+        assertThat(commands.get(5).get("filter", Document.class)).containsOnlyKeys("listed", "address.city", "pricePerNight", "rating");
+        assertThat(commands.get(5).get("sort", Document.class)).isEqualTo(new Document("_id", 1));
+        assertThat(commands.get(7).get("sort", Document.class)).isEqualTo(new Document("_id", 1));
+        assertThat(commands.get(9).get("filter", Document.class)).containsOnlyKeys("bookingId");
+    }
+
+    private static Document plan(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+}
@@ -0,0 +1,34 @@
+package com.findaroom.findaroomcore.unit.service.migration;
+
+import com.findaroom.findaroomcore.repository.AccommodationRepository;
+import com.findaroom.findaroomcore.service.migration.AmenitiesMaskMigration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.publisher.PublisherProbe;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+public class AmenitiesMaskMigrationTest {
+
+    @Mock
+    private AccommodationRepository accommodationRepo;
+
+    @InjectMocks
+    private AmenitiesMaskMigration migration;
+
+    @Test
+    public void afterSingletonsInstantiated_shouldBackfillAmenitiesMaskBeforeServing() {
+
+        var backfill = PublisherProbe.of(Mono.just(3L));
+        when(accommodationRepo.backfillAmenitiesMask()).thenReturn(backfill.mono());
+
+        migration.afterSingletonsInstantiated();
+
+        backfill.assertWasSubscribed();
+    }
+}
@@ -0,0 +1,34 @@
+package com.findaroom.findaroomcore.unit.service.migration;
+
+import com.findaroom.findaroomcore.repository.AccommodationRepository;
+import com.findaroom.findaroomcore.service.migration.RatingMigration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.publisher.PublisherProbe;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+public class RatingMigrationTest {
+
+    @Mock
+    private AccommodationRepository accommodationRepo;
+
+    @InjectMocks
+    private RatingMigration migration;
+
+    @Test
+    public void afterSingletonsInstantiated_shouldBackfillRatingsBeforeServing() {
+
+        var backfill = PublisherProbe.of(Mono.just(3L));
+        when(accommodationRepo.backfillRatings()).thenReturn(backfill.mono());
+
+        migration.afterSingletonsInstantiated();
+
+        backfill.assertWasSubscribed();
+    }
+}
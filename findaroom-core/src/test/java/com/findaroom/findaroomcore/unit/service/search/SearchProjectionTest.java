@@ -0,0 +1,172 @@
+package com.findaroom.findaroomcore.unit.service.search;
+
+import com.findaroom.findaroomcore.domain.Accommodation;
+import com.findaroom.findaroomcore.domain.AccommodationSearch;
+import com.findaroom.findaroomcore.domain.Booking;
+import com.findaroom.findaroomcore.repository.AccommodationRepository;
+import com.findaroom.findaroomcore.repository.AccommodationSearchRepository;
+import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.service.search.SearchProjection;
+import com.findaroom.findaroomcore.utils.TestPojos;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+public class SearchProjectionTest {
+
+    @Mock
+    private AccommodationRepository accommodationRepo;
+
+    @Mock
+    private AccommodationSearchRepository accommodationSearchRepo;
+
+    @Mock
+    private BookingRepository bookingRepo;
+
+    @InjectMocks
+    private SearchProjection searchProjection;
+
+    @Test
+    public void project_shouldSkipContiguousBookingsForNextAvailableDate() {
+
+        Accommodation acc = accommodation("123");
+        when(bookingRepo.findByAccommodationIdAndStatusInAndCheckoutAfter(eq("123"), anyList(), any()))
+                .thenReturn(Flux.just(booking("123", 3, 5), booking("123", 0, 2), booking("123", 10, 12)));
+        when(accommodationSearchRepo.save(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        StepVerifier
+                .create(searchProjection.project(acc))
+                .expectNext(acc)
+                .verifyComplete();
+
+        var projected = ArgumentCaptor.forClass(AccommodationSearch.class);
+        verify(accommodationSearchRepo).save(projected.capture());
+        assertThat(projected.getValue().getAccommodationId()).isEqualTo("123");
+        assertThat(projected.getValue().getCity()).isEqualTo(acc.getAddress().getCity());
+        assertThat(projected.getValue().getNextAvailable()).isEqualTo(LocalDate.now().plusDays(6));
+    }
+
+    @Test
+    public void project_whenProjectionFails_shouldStillReturnAccommodation() {
+
+        Accommodation acc = accommodation("123");
+        when(bookingRepo.findByAccommodationIdAndStatusInAndCheckoutAfter(eq("123"), anyList(), any())).thenReturn(Flux.empty());
+        when(accommodationSearchRepo.save(any())).thenReturn(Mono.error(new IllegalStateException()));
+
+        StepVerifier
+                .create(searchProjection.project(acc))
+                .expectNext(acc)
+                .verifyComplete();
+
+        assertThat(searchProjection.getDirty()).containsExactly("123");
+    }
+
+    @Test
+    public void repairDirty_shouldReprojectFailedAccommodations() {
+
+        Accommodation acc = accommodation("123");
+        when(bookingRepo.findByAccommodationIdAndStatusInAndCheckoutAfter(eq("123"), anyList(), any())).thenReturn(Flux.empty());
+        when(accommodationSearchRepo.updateNextAvailable(eq("123"), any())).thenReturn(Mono.error(new IllegalStateException()));
+        when(accommodationRepo.findById("123")).thenReturn(Mono.just(acc));
+        when(accommodationSearchRepo.save(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        StepVerifier
+                .create(searchProjection.refreshAvailability("123").then(searchProjection.repairDirty()))
+                .expectNext(1L)
+                .verifyComplete();
+
+        verify(accommodationSearchRepo).save(any());
+        assertThat(searchProjection.getDirty()).isEmpty();
+    }
+
+    @Test
+    public void repairDirty_whenRepairFails_shouldKeepAccommodationDirty() {
+
+        Accommodation acc = accommodation("123");
+        when(bookingRepo.findByAccommodationIdAndStatusInAndCheckoutAfter(eq("123"), anyList(), any())).thenReturn(Flux.empty());
+        when(accommodationSearchRepo.save(any())).thenReturn(Mono.error(new IllegalStateException()));
+        when(accommodationRepo.findById("123")).thenReturn(Mono.just(acc));
+
+        StepVerifier
+                .create(searchProjection.project(acc).then(searchProjection.repairDirty()))
+                .expectNext(0L)
+                .verifyComplete();
+
+        assertThat(searchProjection.getDirty()).containsExactly("123");
+    }
+
+    @Test
+    public void refreshAvailability_shouldUpdateNextAvailableDate() {
+
+        when(bookingRepo.findByAccommodationIdAndStatusInAndCheckoutAfter(eq("123"), anyList(), any()))
+                .thenReturn(Flux.just(booking("123", 2, 4)));
+        when(accommodationSearchRepo.updateNextAvailable(any(), any())).thenReturn(Mono.just(true));
+
+        StepVerifier
+                .create(searchProjection.refreshAvailability("123"))
+                .verifyComplete();
+
+        verify(accommodationSearchRepo).updateNextAvailable("123", LocalDate.now());
+    }
+
+    @Test
+    public void rebuild_shouldProjectEveryAccommodationAndDropStaleEntries() {
+
+        when(bookingRepo.findByAccommodationIdAndStatusInAndCheckoutAfter(eq("123"), anyList(), any()))
+                .thenReturn(Flux.error(new IllegalStateException()));
+        StepVerifier
+                .create(searchProjection.refreshAvailability("123"))
+                .verifyComplete();
+        assertThat(searchProjection.getDirty()).containsExactly("123");
+
+        when(bookingRepo.findByStatusInAndCheckoutAfter(anyList(), any()))
+                .thenReturn(Flux.just(booking("123", 0, 3), booking("456", 5, 7)));
+        when(accommodationRepo.findAll()).thenReturn(Flux.just(accommodation("123"), accommodation("456")));
+        when(accommodationSearchRepo.saveAll(any(Flux.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(accommodationSearchRepo.deleteByProjectedAtBefore(any())).thenReturn(Mono.empty());
+
+        var startedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        StepVerifier
+                .create(searchProjection.rebuild())
+                .expectNext(2L)
+                .verifyComplete();
+
+        var cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(accommodationSearchRepo).deleteByProjectedAtBefore(cutoff.capture());
+        assertThat(cutoff.getValue()).isAfterOrEqualTo(startedAt);
+        assertThat(searchProjection.isBuilt()).isTrue();
+        assertThat(searchProjection.getDirty()).isEmpty();
+    }
+
+    private static Accommodation accommodation(String accommodationId) {
+        Accommodation acc = TestPojos.accommodation();
+        acc.setAccommodationId(accommodationId);
+        return acc;
+    }
+
+    private static Booking booking(String accommodationId, int checkin, int checkout) {
+        Booking booking = TestPojos.booking();
+        booking.setAccommodationId(accommodationId);
+        booking.setCheckin(LocalDate.now().plusDays(checkin));
+        booking.setCheckout(LocalDate.now().plusDays(checkout));
+        return booking;
+    }
+}
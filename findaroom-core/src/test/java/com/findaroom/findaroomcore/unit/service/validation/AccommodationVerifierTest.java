@@ -2,6 +2,7 @@ package com.findaroom.findaroomcore.unit.service.validation;
 
 import com.findaroom.findaroomcore.domain.Accommodation;
 import com.findaroom.findaroomcore.repository.BookingRepository;
+import com.findaroom.findaroomcore.service.availability.AvailabilityIndex;
 import com.findaroom.findaroomcore.service.validation.AccommodationVerifier;
 import com.findaroom.findaroomcore.utils.TestPojos;
 import com.findaroom.findaroomcore.utils.TestPredicates;
@@ -15,6 +16,8 @@ import reactor.test.StepVerifier;
 
 import static com.findaroom.findaroomcore.utils.MessageUtils.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -23,6 +26,9 @@ public class AccommodationVerifierTest {
     @Mock
     private BookingRepository bookingRepo;
 
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
     @InjectMocks
     private AccommodationVerifier verifier;
 
@@ -166,4 +172,76 @@ public class AccommodationVerifierTest {
                 .expectErrorMatches(TestPredicates.unprocessableEntity(ACCOMMODATION_ALREADY_BOOKED))
                 .verify();
     }
+
+    @Test
+    public void verifyAccommodationIsAvailable_whenIndexIsReady_shouldUseIndex() {
+
+        Accommodation acc = TestPojos.accommodation();
+        acc.setAccommodationId("123");
+        when(availabilityIndex.isReady()).thenReturn(true);
+        when(availabilityIndex.isAvailableExcludingBooking(anyString(), isNull(), any())).thenReturn(true);
+
+        Mono<Accommodation> verified = verifier.verifyAccommodationIsAvailable(acc, TestPojos.bookingDates());
+
+        StepVerifier
+                .create(verified)
+                .expectNext(acc)
+                .verifyComplete();
+
+        verify(bookingRepo, never()).countActiveAccommodationBookingsBetweenDates(anyString(), any(), any(), anyList());
+    }
+
+    @Test
+    public void verifyAccommodationIsAvailable_whenIndexIsStale_shouldTrustBookingCount() {
+
+        Accommodation acc = TestPojos.accommodation();
+        acc.setAccommodationId("123");
+        when(availabilityIndex.isReady()).thenReturn(true);
+        when(availabilityIndex.isAvailableExcludingBooking(anyString(), isNull(), any())).thenReturn(false);
+        when(bookingRepo.countActiveAccommodationBookingsBetweenDates(anyString(), any(), any(), anyList()))
+                .thenReturn(Mono.just(0L));
+
+        Mono<Accommodation> verified = verifier.verifyAccommodationIsAvailable(acc, TestPojos.bookingDates());
+
+        StepVerifier
+                .create(verified)
+                .expectNext(acc)
+                .verifyComplete();
+    }
+
+    @Test
+    public void verifyAccommodationIsAvailable_whenIndexIsReadyAndAccommodationIsBooked_shouldReturnUnprocessableEntity() {
+
+        Accommodation acc = TestPojos.accommodation();
+        acc.setAccommodationId("123");
+        when(availabilityIndex.isReady()).thenReturn(true);
+        when(availabilityIndex.isAvailableExcludingBooking(anyString(), isNull(), any())).thenReturn(false);
+        when(bookingRepo.countActiveAccommodationBookingsBetweenDates(anyString(), any(), any(), anyList()))
+                .thenReturn(Mono.just(1L));
+
+        Mono<Accommodation> verified = verifier.verifyAccommodationIsAvailable(acc, TestPojos.bookingDates());
+
+        StepVerifier
+                .create(verified)
+                .expectErrorMatches(TestPredicates.unprocessableEntity(ACCOMMODATION_ALREADY_BOOKED))
+                .verify();
+    }
+
+    @Test
+    public void verifyAccommodationIsAvailableExcludingBooking_whenIndexIsReadyAndAccommodationIsBooked_shouldReturnUnprocessableEntity() {
+
+        Accommodation acc = TestPojos.accommodation();
+        acc.setAccommodationId("123");
+        when(availabilityIndex.isReady()).thenReturn(true);
+        when(availabilityIndex.isAvailableExcludingBooking(anyString(), anyString(), any())).thenReturn(false);
+        when(bookingRepo.countActiveAccommodationBookingsBetweenDatesExcludingBooking(anyString(), anyString(), any(), any(), anyList()))
+                .thenReturn(Mono.just(1L));
+
+        Mono<Accommodation> verified = verifier.verifyAccommodationIsAvailableExcludingBooking(acc, "111", TestPojos.bookingDates());
+
+        StepVerifier
+                .create(verified)
+                .expectErrorMatches(TestPredicates.unprocessableEntity(ACCOMMODATION_ALREADY_BOOKED))
+                .verify();
+    }
 }
@@ -18,6 +18,16 @@ public class TestPojos {
         return Accommodation.of("name", "desc", 100.0, 4, 1, 1, 2, host(), WHOLE_APARTMENT, address(), List.of(WIFI, KITCHEN), List.of(image(), image()));
     }
 
+    public static AccommodationSummary accommodationSummary() {
+        AccommodationSummary summary = new AccommodationSummary();
+        summary.setName("name");
+        summary.setPricePerNight(100.0);
+        summary.setCity("city");
+        summary.setLocation(new GeoJsonPoint(44.0, -1.0));
+        summary.setImages(List.of(image()));
+        return summary;
+    }
+
     public static Address address() {
         return new Address("country", "city", "12121", "street", new GeoJsonPoint(44.0, -1.0));
     }
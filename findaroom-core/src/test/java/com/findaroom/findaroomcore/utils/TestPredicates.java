@@ -9,12 +9,24 @@ import static org.springframework.http.HttpStatus.*;
 
 public class TestPredicates {
 
+    public static Predicate<Throwable> badRequest(String reason) {
+        return ex -> ex instanceof ResponseStatusException &&
+                     Objects.equals(BAD_REQUEST, ((ResponseStatusException) ex).getStatus()) &&
+                     Objects.equals(reason, ((ResponseStatusException) ex).getReason());
+    }
+
     public static Predicate<Throwable> notFound(String reason) {
         return ex -> ex instanceof ResponseStatusException &&
                      Objects.equals(NOT_FOUND, ((ResponseStatusException) ex).getStatus()) &&
                      Objects.equals(reason, ((ResponseStatusException) ex).getReason());
     }
 
+    public static Predicate<Throwable> conflict(String reason) {
+        return ex -> ex instanceof ResponseStatusException &&
+                     Objects.equals(CONFLICT, ((ResponseStatusException) ex).getStatus()) &&
+                     Objects.equals(reason, ((ResponseStatusException) ex).getReason());
+    }
+
     public static Predicate<Throwable> unprocessableEntity(String reason) {
         return ex -> ex instanceof ResponseStatusException &&
                      Objects.equals(UNPROCESSABLE_ENTITY, ((ResponseStatusException) ex).getStatus()) &&
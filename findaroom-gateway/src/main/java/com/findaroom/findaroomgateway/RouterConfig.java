@@ -1,5 +1,7 @@
 package com.findaroom.findaroomgateway;
 
+import com.findaroom.findaroomgateway.cache.ResponseCacheFilter;
+import com.findaroom.findaroomgateway.resilience.RouteResilience;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.cloud.security.oauth2.gateway.TokenRelayGatewayFilterFactory;
@@ -10,32 +12,44 @@ import org.springframework.context.annotation.Configuration;
 public class RouterConfig {
 
     @Bean
-    public RouteLocator routeLocator(RouteLocatorBuilder builder, TokenRelayGatewayFilterFactory filterFactory) {
+    public RouteLocator routeLocator(RouteLocatorBuilder builder, TokenRelayGatewayFilterFactory filterFactory, ResponseCacheFilter responseCache, RouteResilience resilience) {
         return builder.routes()
                 .route("core-public-api", r -> r
                         .path("/api/v1/public/**")
-                        .uri("http://localhost:8080"))
+                        .filters(f -> resilience.apply("core-public-api", f).filter(responseCache))
+                        .uri("http://localhost:8080")
+                        .metadata(resilience.metadata("core-public-api")))
                 .route("core-secured-api", r -> r
                         .path("/api/v1/user-ops/**").or()
                         .path("/api/v1/host-ops/**")
-                        .filters(f -> f.filter(filterFactory.apply()))
-                        .uri("http://localhost:8080"))
+                        .filters(f -> resilience.apply("core-secured-api", f).filter(filterFactory.apply()))
+                        .uri("http://localhost:8080")
+                        .metadata(resilience.metadata("core-secured-api")))
                 .route("payments", r -> r
                         .path("/api/v1/payments/**")
+                        .filters(f -> resilience.apply("payments", f).filter(filterFactory.apply()))
+                        .uri("http://localhost:8081")
+                        .metadata(resilience.metadata("payments")))
+                .route("notifications-live", r -> r
+                        .order(-1)
+                        .path("/api/v1/notifications/live")
                         .filters(f -> f.filter(filterFactory.apply()))
-                        .uri("http://localhost:8081"))
+                        .uri("http://localhost:8082"))
                 .route("notifications", r -> r
                         .path("/api/v1/notifications/**")
-                        .filters(f -> f.filter(filterFactory.apply()))
-                        .uri("http://localhost:8082"))
+                        .filters(f -> resilience.apply("notifications", f).filter(filterFactory.apply()))
+                        .uri("http://localhost:8082")
+                        .metadata(resilience.metadata("notifications")))
                 .route("users", r -> r
                         .path("/api/v1/users/**")
-                        .filters(f -> f.filter(filterFactory.apply()))
-                        .uri("http://localhost:8083"))
+                        .filters(f -> resilience.apply("users", f).filter(filterFactory.apply()))
+                        .uri("http://localhost:8083")
+                        .metadata(resilience.metadata("users")))
                 .route("images", r -> r
                         .path("/api/v1/images/**")
-                        .filters(f -> f.filter(filterFactory.apply()))
-                        .uri("http://localhost:8084"))
+                        .filters(f -> resilience.apply("images", f).filter(filterFactory.apply()))
+                        .uri("http://localhost:8084")
+                        .metadata(resilience.metadata("images")))
                 .build();
     }
 }
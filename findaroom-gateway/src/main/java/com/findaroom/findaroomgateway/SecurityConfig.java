@@ -25,6 +25,8 @@ public class SecurityConfig {
                 .pathMatchers("/api/v1/notifications/**").authenticated()
                 .pathMatchers("/api/v1/users/**").authenticated()
                 .pathMatchers("/api/v1/images/**").authenticated()
+                .pathMatchers("/actuator/health").permitAll()
+                .pathMatchers("/actuator/**").authenticated()
                 .and()
                 .oauth2Login()
                 .and()
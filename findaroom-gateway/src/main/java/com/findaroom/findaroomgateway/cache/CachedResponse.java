@@ -0,0 +1,105 @@
+package com.findaroom.findaroomgateway.cache;
+
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.EXPIRES;
+import static org.springframework.http.HttpHeaders.SET_COOKIE;
+
+@Value
+public class CachedResponse {
+
+    private static final List<String> REVALIDATED_HEADERS = List.of(CACHE_CONTROL, EXPIRES, ETAG);
+
+    HttpStatus status;
+    HttpHeaders headers;
+    byte[] body;
+    Instant storedAt;
+    Instant expiresAt;
+
+    public static Optional<CachedResponse> of(HttpStatus status, HttpHeaders headers, byte[] body, Instant now) {
+        var stored = new HttpHeaders();
+        headers.forEach((name, values) -> stored.put(name, List.copyOf(values)));
+        stored.remove(CONTENT_LENGTH);
+        return expiryOf(stored, now).map(expiresAt -> new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(stored), body, now, expiresAt));
+    }
+
+    public Optional<CachedResponse> revalidatedWith(HttpHeaders notModified, Instant now) {
+        var refreshed = new HttpHeaders();
+        refreshed.putAll(this.headers);
+        REVALIDATED_HEADERS.stream()
+                .filter(notModified::containsKey)
+                .forEach(name -> refreshed.put(name, List.copyOf(notModified.get(name))));
+        return CachedResponse.of(this.status, refreshed, this.body, now);
+    }
+
+    public boolean isFreshAt(Instant now) {
+        return now.isBefore(this.expiresAt);
+    }
+
+    public long ageAt(Instant now) {
+        return Duration.between(this.storedAt, now).toSeconds();
+    }
+
+    @Nullable
+    public String getEtag() {
+        return this.headers.getETag();
+    }
+
+    public boolean matches(List<String> ifNoneMatch) {
+        var etag = getEtag();
+        return etag != null && (ifNoneMatch.contains(etag) || ifNoneMatch.contains("*"));
+    }
+
+    static Map<String, String> directivesOf(@Nullable String cacheControl) {
+        if (cacheControl == null) {
+            return Map.of();
+        }
+        return Arrays.stream(cacheControl.split(","))
+                .map(String::trim)
+                .filter(directive -> !directive.isEmpty())
+                .map(directive -> directive.split("=", 2))
+                .collect(Collectors.toMap(
+                        directive -> directive[0].toLowerCase(Locale.ROOT),
+                        directive -> directive.length > 1 ? directive[1].replace("\"", "") : "",
+                        (first, second) -> first));
+    }
+
+    private static Optional<Instant> expiryOf(HttpHeaders headers, Instant now) {
+
+        var directives = directivesOf(headers.getCacheControl());
+        if (directives.containsKey("no-store") || directives.containsKey("private") || headers.containsKey(SET_COOKIE)) {
+            return Optional.empty();
+        }
+
+        var maxAge = directives.containsKey("no-cache")
+                ? Optional.of(0L)
+                : Optional.ofNullable(directives.getOrDefault("s-maxage", directives.get("max-age"))).flatMap(CachedResponse::seconds);
+
+        return maxAge
+                .map(now::plusSeconds)
+                .filter(expiresAt -> expiresAt.isAfter(now) || headers.getETag() != null);
+    }
+
+    private static Optional<Long> seconds(String value) {
+        try {
+            return Optional.of(Math.max(0L, Long.parseLong(value)));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.findaroom.findaroomgateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static com.findaroom.findaroomgateway.cache.CachedResponse.directivesOf;
+
+@Component
+public class ResponseCacheFilter implements GatewayFilter, Ordered {
+
+    private static final List<MediaType> STREAMING_MEDIA_TYPES = List.of(
+            MediaType.TEXT_EVENT_STREAM,
+            MediaType.APPLICATION_STREAM_JSON,
+            MediaType.parseMediaType("application/x-ndjson"));
+
+    private final Cache<String, CachedResponse> responses;
+    private final long maximumEntrySize;
+
+    public ResponseCacheFilter(@Value("${findaroom.gateway.cache.maximum-weight:64MB}") DataSize maximumWeight,
+                               @Value("${findaroom.gateway.cache.maximum-entry-size:1MB}") DataSize maximumEntrySize) {
+
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.getBody().length)
+                .build();
+        this.maximumEntrySize = maximumEntrySize.toBytes();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        var request = exchange.getRequest();
+        if (!isCacheable(request)) {
+            return chain.filter(exchange);
+        }
+
+        var key = keyOf(request);
+        var ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        var now = Instant.now();
+        var cached = responses.getIfPresent(key);
+
+        if (cached != null && cached.isFreshAt(now) && !directivesOf(request.getHeaders().getCacheControl()).containsKey("no-cache")) {
+            return writeCached(exchange.getResponse(), cached, ifNoneMatch, now);
+        }
+
+        var forwarded = exchange.mutate()
+                .response(new CachingResponse(exchange.getResponse(), key, ifNoneMatch, cached))
+                .request(revalidating(request, cached))
+                .build();
+
+        return chain.filter(forwarded);
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    private boolean isCacheable(ServerHttpRequest request) {
+        return HttpMethod.GET.equals(request.getMethod())
+               && !request.getHeaders().containsKey(HttpHeaders.RANGE)
+               && !directivesOf(request.getHeaders().getCacheControl()).containsKey("no-store")
+               && request.getHeaders().getAccept().stream().noneMatch(accept -> STREAMING_MEDIA_TYPES.stream().anyMatch(accept::equalsTypeAndSubtype));
+    }
+
+    private String keyOf(ServerHttpRequest request) {
+        var query = new TreeMap<>(request.getQueryParams())
+                .entrySet()
+                .stream()
+                .flatMap(param -> param.getValue().stream().map(value -> value == null
+                        ? encode(param.getKey())
+                        : encode(param.getKey()) + "=" + encode(value)))
+                .collect(Collectors.joining("&"));
+        return request.getPath().value() + "?" + query;
+    }
+
+    private String encode(String value) {
+        return UriUtils.encodeQueryParam(value, StandardCharsets.UTF_8);
+    }
+
+    private ServerHttpRequest revalidating(ServerHttpRequest request, @Nullable CachedResponse cached) {
+        if (cached == null || cached.getEtag() == null) {
+            return request;
+        }
+        var ifNoneMatch = new LinkedHashSet<>(request.getHeaders().getIfNoneMatch());
+        ifNoneMatch.add(cached.getEtag());
+        return request.mutate().headers(headers -> headers.setIfNoneMatch(List.copyOf(ifNoneMatch))).build();
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached, List<String> ifNoneMatch, Instant now) {
+        response.getHeaders().putAll(cached.getHeaders());
+        response.getHeaders().set(HttpHeaders.AGE, String.valueOf(cached.ageAt(now)));
+        if (cached.matches(ifNoneMatch)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.getStatus());
+        response.getHeaders().setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final List<String> ifNoneMatch;
+        @Nullable
+        private final CachedResponse stale;
+
+        CachingResponse(ServerHttpResponse delegate, String key, List<String> ifNoneMatch, @Nullable CachedResponse stale) {
+            super(delegate);
+            this.key = key;
+            this.ifNoneMatch = ifNoneMatch;
+            this.stale = stale;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+
+            var now = Instant.now();
+
+            if (stale != null && HttpStatus.NOT_MODIFIED.equals(getStatusCode())) {
+                if (!revalidates(stale, getHeaders().getETag())) {
+                    responses.invalidate(key);
+                    return super.writeWith(body);
+                }
+                var revalidated = stale.revalidatedWith(getHeaders(), now);
+                revalidated.ifPresentOrElse(fresh -> responses.put(key, fresh), () -> responses.invalidate(key));
+                return Flux.from(body)
+                        .doOnNext(DataBufferUtils::release)
+                        .then(Mono.defer(() -> writeCached(getDelegate(), revalidated.orElse(stale), ifNoneMatch, now)));
+            }
+
+            if (!HttpStatus.OK.equals(getStatusCode()) || isStreaming(getHeaders().getContentType()) || getHeaders().getContentLength() > maximumEntrySize) {
+                return super.writeWith(body);
+            }
+
+            return super.writeWith(capturing(body, now));
+        }
+
+        private Flux<? extends DataBuffer> capturing(Publisher<? extends DataBuffer> body, Instant now) {
+            return Flux.defer(() -> {
+                var captured = new AtomicReference<>(new ByteArrayOutputStream());
+                return Flux.from(body)
+                        .doOnNext(buffer -> {
+                            var content = captured.get();
+                            if (content == null) {
+                                return;
+                            }
+                            if (content.size() + buffer.readableByteCount() > maximumEntrySize) {
+                                captured.set(null);
+                                return;
+                            }
+                            var bytes = new byte[buffer.readableByteCount()];
+                            buffer.asByteBuffer().get(bytes);
+                            content.writeBytes(bytes);
+                        })
+                        .doOnComplete(() -> {
+                            var content = captured.get();
+                            var fresh = content == null
+                                    ? Optional.<CachedResponse>empty()
+                                    : CachedResponse.of(HttpStatus.OK, getHeaders(), content.toByteArray(), now);
+                            fresh.ifPresentOrElse(response -> responses.put(key, response), () -> responses.invalidate(key));
+                        });
+            });
+        }
+
+        private boolean revalidates(CachedResponse stale, @Nullable String etag) {
+            return etag == null || etag.equals(stale.getEtag());
+        }
+
+        private boolean isStreaming(@Nullable MediaType contentType) {
+            return contentType != null && STREAMING_MEDIA_TYPES.stream().anyMatch(contentType::equalsTypeAndSubtype);
+        }
+    }
+}
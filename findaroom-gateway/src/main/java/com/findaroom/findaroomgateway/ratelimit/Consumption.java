@@ -0,0 +1,21 @@
+package com.findaroom.findaroomgateway.ratelimit;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+public class Consumption {
+
+    boolean allowed;
+    long remaining;
+    Duration retryAfter;
+
+    public static Consumption allowed(long remaining) {
+        return new Consumption(true, remaining, Duration.ZERO);
+    }
+
+    public static Consumption rejected(Duration retryAfter) {
+        return new Consumption(false, 0, retryAfter);
+    }
+}
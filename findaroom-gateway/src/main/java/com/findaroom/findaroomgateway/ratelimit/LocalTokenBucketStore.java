@@ -0,0 +1,54 @@
+package com.findaroom.findaroomgateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class LocalTokenBucketStore implements TokenBucketStore {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, AtomicLong> arrivals;
+    private final LongSupplier clock;
+
+    public LocalTokenBucketStore(long maximumKeys, Duration idleExpiry) {
+        this(maximumKeys, idleExpiry, System::nanoTime);
+    }
+
+    public LocalTokenBucketStore(long maximumKeys, Duration idleExpiry, LongSupplier clock) {
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleExpiry)
+                .<String, AtomicLong>build()
+                .asMap();
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<Consumption> consume(String key, int replenishRate, int burstCapacity) {
+        return Mono.fromSupplier(() -> tryConsume(key, replenishRate, burstCapacity));
+    }
+
+    private Consumption tryConsume(String key, int replenishRate, int burstCapacity) {
+        var interval = NANOS_PER_SECOND / replenishRate;
+        var tolerance = interval * burstCapacity;
+        var arrival = arrivals.computeIfAbsent(key, k -> new AtomicLong(clock.getAsLong()));
+        while (true) {
+            var now = clock.getAsLong();
+            var current = arrival.get();
+            var next = Math.max(current, now) + interval;
+            var allowedAt = next - tolerance;
+            if (allowedAt > now) {
+                return Consumption.rejected(Duration.ofNanos(allowedAt - now));
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return Consumption.allowed((now - allowedAt) / interval);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.findaroom.findaroomgateway.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.time.Duration;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(TokenBucketStore.class)
+    public TokenBucketStore localTokenBucketStore(@Value("${findaroom.gateway.rate-limit.maximum-clients:100000}") long maximumClients,
+                                                  @Value("${findaroom.gateway.rate-limit.idle-expiry:1m}") Duration idleExpiry) {
+        return new LocalTokenBucketStore(maximumClients, idleExpiry);
+    }
+
+    @Bean
+    public KeyResolver clientKeyResolver() {
+        return exchange -> exchange
+                .getPrincipal()
+                .map(Principal::getName)
+                .switchIfEmpty(Mono.justOrEmpty(exchange.getRequest().getRemoteAddress())
+                        .map(address -> address.getHostString()));
+    }
+}
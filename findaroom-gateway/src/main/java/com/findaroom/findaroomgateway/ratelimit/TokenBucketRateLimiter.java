@@ -0,0 +1,60 @@
+package com.findaroom.findaroomgateway.ratelimit;
+
+import com.findaroom.findaroomgateway.resilience.RouteResilienceProperties;
+import com.findaroom.findaroomgateway.resilience.RouteResilienceProperties.Settings;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class TokenBucketRateLimiter implements RateLimiter<Settings> {
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private final RouteResilienceProperties properties;
+    private final TokenBucketStore store;
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        var settings = properties.forRoute(routeId);
+        return store
+                .consume(routeId + ":" + id, settings.getReplenishRate(), settings.getBurstCapacity())
+                .map(consumption -> new Response(consumption.isAllowed(), headersOf(settings, consumption)))
+                .onErrorReturn(new Response(true, Map.of()));
+    }
+
+    @Override
+    public Map<String, Settings> getConfig() {
+        return properties.getRoutes();
+    }
+
+    @Override
+    public Class<Settings> getConfigClass() {
+        return Settings.class;
+    }
+
+    @Override
+    public Settings newConfig() {
+        return new Settings();
+    }
+
+    private Map<String, String> headersOf(Settings settings, Consumption consumption) {
+        var headers = new HashMap<String, String>();
+        headers.put(REMAINING_HEADER, String.valueOf(consumption.getRemaining()));
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(settings.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(settings.getBurstCapacity()));
+        if (!consumption.isAllowed()) {
+            var retryAfter = Math.max(1, (consumption.getRetryAfter().toMillis() + 999) / 1000);
+            headers.put(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        }
+        return headers;
+    }
+}
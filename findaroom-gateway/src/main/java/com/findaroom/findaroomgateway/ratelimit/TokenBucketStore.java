@@ -0,0 +1,8 @@
+package com.findaroom.findaroomgateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+public interface TokenBucketStore {
+
+    Mono<Consumption> consume(String key, int replenishRate, int burstCapacity);
+}
@@ -0,0 +1,38 @@
+package com.findaroom.findaroomgateway.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.Semaphore;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+public class BulkheadFilter implements GatewayFilter {
+
+    private final String routeId;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public BulkheadFilter(String routeId, int maxConcurrentCalls, MeterRegistry registry) {
+        this.routeId = routeId;
+        this.permits = registry.gauge("gateway.bulkhead.available", Tags.of("routeId", routeId), new Semaphore(maxConcurrentCalls), Semaphore::availablePermits);
+        this.rejected = registry.counter("gateway.bulkhead.rejected", "routeId", routeId);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return Mono.defer(() -> {
+            if (!permits.tryAcquire()) {
+                rejected.increment();
+                return Mono.error(new ResponseStatusException(SERVICE_UNAVAILABLE, routeId + " is at capacity"));
+            }
+            return chain.filter(exchange).doFinally(signal -> permits.release());
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package com.findaroom.findaroomgateway.resilience;
+
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+@RestController
+@RequestMapping("/fallback")
+public class FallbackController {
+
+    @RequestMapping("/{routeId}")
+    public Mono<Void> fallback(@PathVariable String routeId) {
+        return Mono.error(new ResponseStatusException(SERVICE_UNAVAILABLE, routeId + " is unavailable"));
+    }
+}
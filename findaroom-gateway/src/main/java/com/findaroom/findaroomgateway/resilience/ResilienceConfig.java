@@ -0,0 +1,34 @@
+package com.findaroom.findaroomgateway.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RouteResilienceProperties.class)
+public class ResilienceConfig {
+
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> routeCircuitBreakers(RouteResilienceProperties properties) {
+        return factory -> factory.configureDefault(routeId -> {
+            var settings = properties.forRoute(routeId);
+            return new Resilience4JConfigBuilder(routeId)
+                    .circuitBreakerConfig(CircuitBreakerConfig.custom()
+                            .failureRateThreshold(settings.getFailureRateThreshold())
+                            .slowCallDurationThreshold(settings.getSlowCallDuration())
+                            .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                            .slidingWindowSize(settings.getSlidingWindowSize())
+                            .waitDurationInOpenState(settings.getWaitInOpenState())
+                            .build())
+                    .timeLimiterConfig(TimeLimiterConfig.custom()
+                            .timeoutDuration(settings.getConnectTimeout().plus(settings.getResponseTimeout()))
+                            .build())
+                    .build();
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.findaroom.findaroomgateway.resilience;
+
+import com.findaroom.findaroomgateway.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.route.builder.GatewayFilterSpec;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.CONNECT_TIMEOUT_ATTR;
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+
+@Component
+@RequiredArgsConstructor
+public class RouteResilience {
+
+    private final RouteResilienceProperties properties;
+    private final MeterRegistry registry;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final KeyResolver keyResolver;
+
+    public GatewayFilterSpec apply(String routeId, GatewayFilterSpec filters) {
+        var settings = properties.forRoute(routeId);
+        return filters
+                .requestRateLimiter(config -> config
+                        .setRateLimiter(rateLimiter)
+                        .setKeyResolver(keyResolver))
+                .filter(new BulkheadFilter(routeId, settings.getMaxConcurrentCalls(), registry))
+                .circuitBreaker(config -> config
+                        .setName(routeId)
+                        .setFallbackUri("forward:/fallback/" + routeId));
+    }
+
+    public Map<String, Object> metadata(String routeId) {
+        var settings = properties.forRoute(routeId);
+        return Map.of(
+                CONNECT_TIMEOUT_ATTR, (int) settings.getConnectTimeout().toMillis(),
+                RESPONSE_TIMEOUT_ATTR, settings.getResponseTimeout().toMillis());
+    }
+}
@@ -0,0 +1,34 @@
+package com.findaroom.findaroomgateway.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "findaroom.gateway.resilience")
+public class RouteResilienceProperties {
+
+    private Map<String, Settings> routes = new HashMap<>();
+
+    public Settings forRoute(String routeId) {
+        return routes.getOrDefault(routeId, new Settings());
+    }
+
+    @Data
+    public static class Settings {
+
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        private Duration responseTimeout = Duration.ofSeconds(5);
+        private int maxConcurrentCalls = 100;
+        private int replenishRate = 50;
+        private int burstCapacity = 100;
+        private float failureRateThreshold = 50;
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        private float slowCallRateThreshold = 80;
+        private int slidingWindowSize = 50;
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+    }
+}
@@ -0,0 +1,123 @@
+package com.findaroom.findaroomgateway.unit.cache;
+
+import com.findaroom.findaroomgateway.cache.CachedResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachedResponseTest {
+
+    private static final Instant NOW = Instant.parse("2020-07-01T10:00:00Z");
+    private static final byte[] BODY = "[1,2]".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void of_withMaxAge_shouldBeFreshUntilMaxAge() {
+
+        var cached = CachedResponse.of(HttpStatus.OK, headers("public, max-age=30", null), BODY, NOW);
+
+        assertThat(cached).hasValueSatisfying(response -> {
+            assertThat(response.isFreshAt(NOW.plusSeconds(29))).isTrue();
+            assertThat(response.isFreshAt(NOW.plusSeconds(30))).isFalse();
+            assertThat(response.ageAt(NOW.plusSeconds(12))).isEqualTo(12);
+            assertThat(response.getBody()).isEqualTo(BODY);
+        });
+    }
+
+    @Test
+    public void of_withSharedMaxAge_shouldPreferSharedMaxAge() {
+
+        var cached = CachedResponse.of(HttpStatus.OK, headers("max-age=5, s-maxage=60", null), BODY, NOW);
+
+        assertThat(cached).hasValueSatisfying(response -> assertThat(response.getExpiresAt()).isEqualTo(NOW.plusSeconds(60)));
+    }
+
+    @Test
+    public void of_withNoStoreOrPrivate_shouldNotCache() {
+
+        assertThat(CachedResponse.of(HttpStatus.OK, headers("no-store", "\"abc\""), BODY, NOW)).isEmpty();
+        assertThat(CachedResponse.of(HttpStatus.OK, headers("private, max-age=30", "\"abc\""), BODY, NOW)).isEmpty();
+    }
+
+    @Test
+    public void of_withSetCookie_shouldNotCache() {
+
+        var headers = headers("max-age=30", null);
+        headers.add(HttpHeaders.SET_COOKIE, "session=1");
+
+        assertThat(CachedResponse.of(HttpStatus.OK, headers, BODY, NOW)).isEmpty();
+    }
+
+    @Test
+    public void of_withoutFreshnessOrValidator_shouldNotCache() {
+
+        assertThat(CachedResponse.of(HttpStatus.OK, headers(null, null), BODY, NOW)).isEmpty();
+        assertThat(CachedResponse.of(HttpStatus.OK, headers("no-cache", null), BODY, NOW)).isEmpty();
+    }
+
+    @Test
+    public void of_withNoCacheAndEtag_shouldStoreForRevalidationOnly() {
+
+        var cached = CachedResponse.of(HttpStatus.OK, headers("no-cache", "\"abc\""), BODY, NOW);
+
+        assertThat(cached).hasValueSatisfying(response -> {
+            assertThat(response.isFreshAt(NOW)).isFalse();
+            assertThat(response.getEtag()).isEqualTo("\"abc\"");
+        });
+    }
+
+    @Test
+    public void of_shouldDropContentLengthAndCopyHeaders() {
+
+        var headers = headers("max-age=30", "\"abc\"");
+        headers.setContentLength(BODY.length);
+
+        var cached = CachedResponse.of(HttpStatus.OK, headers, BODY, NOW).orElseThrow();
+        headers.setETag("\"changed\"");
+
+        assertThat(cached.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH)).isFalse();
+        assertThat(cached.getEtag()).isEqualTo("\"abc\"");
+    }
+
+    @Test
+    public void revalidatedWith_shouldRefreshExpiryAndKeepBody() {
+
+        var stale = CachedResponse.of(HttpStatus.OK, headers("max-age=0", "\"abc\""), BODY, NOW).orElseThrow();
+        var later = NOW.plusSeconds(100);
+
+        var revalidated = stale.revalidatedWith(headers("max-age=30", "\"abc\""), later);
+
+        assertThat(revalidated).hasValueSatisfying(response -> {
+            assertThat(response.isFreshAt(later.plusSeconds(29))).isTrue();
+            assertThat(response.getBody()).isEqualTo(BODY);
+            assertThat(response.getStoredAt()).isEqualTo(later);
+        });
+    }
+
+    @Test
+    public void matches_shouldMatchEtagOrWildcard() {
+
+        var cached = CachedResponse.of(HttpStatus.OK, headers("max-age=30", "\"abc\""), BODY, NOW).orElseThrow();
+
+        assertThat(cached.matches(List.of("\"old\"", "\"abc\""))).isTrue();
+        assertThat(cached.matches(List.of("*"))).isTrue();
+        assertThat(cached.matches(List.of("\"old\""))).isFalse();
+        assertThat(cached.matches(List.of())).isFalse();
+    }
+
+    private static HttpHeaders headers(String cacheControl, String etag) {
+        var headers = new HttpHeaders();
+        if (cacheControl != null) {
+            headers.setCacheControl(cacheControl);
+        }
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        return headers;
+    }
+}
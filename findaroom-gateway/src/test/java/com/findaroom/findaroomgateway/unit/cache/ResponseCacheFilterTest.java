@@ -0,0 +1,168 @@
+package com.findaroom.findaroomgateway.unit.cache;
+
+import com.findaroom.findaroomgateway.cache.ResponseCacheFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCacheFilterTest {
+
+    private static final String ETAG = "\"abc\"";
+    private static final String BODY = "[1,2]";
+
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(DataSize.ofMegabytes(1), DataSize.ofBytes(16));
+    private final List<HttpHeaders> forwarded = new ArrayList<>();
+
+    @Test
+    public void filter_whenFresh_shouldServeFromCache() {
+
+        var chain = upstream(exchange -> ok(exchange, "max-age=30", BODY));
+
+        var first = exchange(MockServerHttpRequest.get("/api/v1/public/accommodations?b=2&a=1"));
+        filter.filter(first, chain).block();
+        var second = exchange(MockServerHttpRequest.get("/api/v1/public/accommodations?a=1&b=2"));
+        filter.filter(second, chain).block();
+
+        assertThat(forwarded).hasSize(1);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(second.getResponse().getHeaders().getFirst(HttpHeaders.AGE)).isNotNull();
+    }
+
+    @Test
+    public void filter_whenFreshAndEtagMatches_shouldReturnNotModified() {
+
+        var chain = upstream(exchange -> ok(exchange, "max-age=30", BODY));
+
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/public/accommodations")), chain).block();
+        var conditional = exchange(MockServerHttpRequest.get("/api/v1/public/accommodations").ifNoneMatch(ETAG));
+        filter.filter(conditional, chain).block();
+
+        assertThat(forwarded).hasSize(1);
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    public void filter_whenStale_shouldRevalidateWithClientAndCachedEtags() {
+
+        var chain = upstream(exchange -> exchange.getRequest().getHeaders().getIfNoneMatch().contains(ETAG)
+                ? notModified(exchange, ETAG)
+                : ok(exchange, "max-age=0", BODY));
+
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/public/accommodations")), chain).block();
+        var revalidating = exchange(MockServerHttpRequest.get("/api/v1/public/accommodations").ifNoneMatch("\"mine\""));
+        filter.filter(revalidating, chain).block();
+
+        assertThat(forwarded).hasSize(2);
+        assertThat(forwarded.get(1).getIfNoneMatch()).containsExactly("\"mine\"", ETAG);
+        assertThat(revalidating.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(revalidating.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    public void filter_whenUpstreamMatchesClientEtag_shouldPassNotModifiedThrough() {
+
+        var chain = upstream(exchange -> exchange.getRequest().getHeaders().getIfNoneMatch().contains("\"mine\"")
+                ? notModified(exchange, "\"mine\"")
+                : ok(exchange, "max-age=0", BODY));
+
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/public/accommodations")), chain).block();
+        var conditional = exchange(MockServerHttpRequest.get("/api/v1/public/accommodations").ifNoneMatch("\"mine\""));
+        filter.filter(conditional, chain).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/public/accommodations")), chain).block();
+
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(conditional.getResponse().getHeaders().getETag()).isEqualTo("\"mine\"");
+        assertThat(forwarded.get(2).getIfNoneMatch()).isEmpty();
+    }
+
+    @Test
+    public void filter_withChunkedBodyOverEntrySize_shouldStreamWithoutCaching() {
+
+        var chunks = List.of("[\"aaaaaaaa\",", "\"bbbbbbbb\",", "\"cccccccc\"]");
+        var chain = upstream(exchange -> {
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setCacheControl("max-age=30");
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Flux.fromIterable(chunks).map(chunk -> buffer(exchange, chunk)));
+        });
+
+        var first = exchange(MockServerHttpRequest.get("/api/v1/public/accommodations"));
+        filter.filter(first, chain).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/public/accommodations")), chain).block();
+
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo(String.join("", chunks));
+        assertThat(forwarded).hasSize(2);
+    }
+
+    @Test
+    public void filter_withNoStoreResponse_shouldNotCache() {
+
+        var chain = upstream(exchange -> ok(exchange, "no-store", BODY));
+
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/public/accommodations")), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/public/accommodations")), chain).block();
+
+        assertThat(forwarded).hasSize(2);
+    }
+
+    @Test
+    public void filter_withEventStreamRequest_shouldBypassCache() {
+
+        var chain = upstream(exchange -> ok(exchange, "max-age=30", BODY));
+
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/public/accommodations").accept(MediaType.TEXT_EVENT_STREAM)), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/public/accommodations").accept(MediaType.TEXT_EVENT_STREAM)), chain).block();
+
+        assertThat(forwarded).hasSize(2);
+    }
+
+    private GatewayFilterChain upstream(Function<ServerWebExchange, Mono<Void>> handler) {
+        return exchange -> {
+            forwarded.add(exchange.getRequest().getHeaders());
+            return handler.apply(exchange);
+        };
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+
+    private static Mono<Void> ok(ServerWebExchange exchange, String cacheControl, String body) {
+        var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setCacheControl(cacheControl);
+        response.getHeaders().setETag(ETAG);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(buffer(exchange, body)));
+    }
+
+    private static Mono<Void> notModified(ServerWebExchange exchange, String etag) {
+        var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        response.getHeaders().setCacheControl("max-age=30");
+        response.getHeaders().setETag(etag);
+        return response.writeWith(Mono.empty());
+    }
+
+    private static DataBuffer buffer(ServerWebExchange exchange, String content) {
+        return exchange.getResponse().bufferFactory().wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,126 @@
+package com.findaroom.findaroomgateway.unit.ratelimit;
+
+import com.findaroom.findaroomgateway.ratelimit.Consumption;
+import com.findaroom.findaroomgateway.ratelimit.LocalTokenBucketStore;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocalTokenBucketStoreTest {
+
+    private static final int REPLENISH_RATE = 10;
+    private static final int BURST_CAPACITY = 3;
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(1) / REPLENISH_RATE;
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final LocalTokenBucketStore store = new LocalTokenBucketStore(100, Duration.ofMinutes(1), clock::get);
+
+    @Test
+    public void consume_withinBurst_shouldAllowAndCountDownRemaining() {
+
+        assertThat(consume("client")).isEqualTo(Consumption.allowed(2));
+        assertThat(consume("client")).isEqualTo(Consumption.allowed(1));
+        assertThat(consume("client")).isEqualTo(Consumption.allowed(0));
+    }
+
+    @Test
+    public void consume_whenBurstExhausted_shouldRejectUntilNextToken() {
+
+        exhaust("client");
+        clock.addAndGet(INTERVAL / 4);
+
+        assertThat(consume("client")).isEqualTo(Consumption.rejected(Duration.ofNanos(INTERVAL - INTERVAL / 4)));
+    }
+
+    @Test
+    public void consume_afterInterval_shouldRefillOneToken() {
+
+        exhaust("client");
+        clock.addAndGet(INTERVAL);
+
+        assertThat(consume("client")).isEqualTo(Consumption.allowed(0));
+        assertThat(consume("client").isAllowed()).isFalse();
+    }
+
+    @Test
+    public void consume_afterLongIdle_shouldRefillUpToBurstOnly() {
+
+        exhaust("client");
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(5));
+
+        assertThat(consume("client")).isEqualTo(Consumption.allowed(BURST_CAPACITY - 1));
+    }
+
+    @Test
+    public void consume_withSeparateKeys_shouldTrackBucketsIndependently() {
+
+        exhaust("client");
+
+        assertThat(consume("other")).isEqualTo(Consumption.allowed(BURST_CAPACITY - 1));
+        assertThat(consume("client").isAllowed()).isFalse();
+    }
+
+    @Test
+    public void consume_concurrently_shouldNeverAllowMoreThanBurst() throws Exception {
+
+        var burst = 50;
+        var threads = 8;
+        var executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+        var results = new ArrayList<Future<Integer>>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    var allowed = 0;
+                    for (int call = 0; call < 100; call++) {
+                        if (store.consume("client", REPLENISH_RATE, burst).block().isAllowed()) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+
+            var allowed = 0;
+            for (var result : results) {
+                allowed += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(allowed).isEqualTo(burst);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void consume_shouldDeferUntilSubscribed() {
+
+        var consumption = store.consume("client", REPLENISH_RATE, BURST_CAPACITY);
+        exhaust("client");
+
+        StepVerifier
+                .create(consumption)
+                .assertNext(rejected -> assertThat(rejected.isAllowed()).isFalse())
+                .verifyComplete();
+    }
+
+    private Consumption consume(String key) {
+        return store.consume(key, REPLENISH_RATE, BURST_CAPACITY).block();
+    }
+
+    private void exhaust(String key) {
+        for (int i = 0; i < BURST_CAPACITY; i++) {
+            assertThat(consume(key).isAllowed()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.findaroom.findaroomgateway.unit.ratelimit;
+
+import com.findaroom.findaroomgateway.ratelimit.Consumption;
+import com.findaroom.findaroomgateway.ratelimit.TokenBucketRateLimiter;
+import com.findaroom.findaroomgateway.ratelimit.TokenBucketStore;
+import com.findaroom.findaroomgateway.resilience.RouteResilienceProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.findaroom.findaroomgateway.ratelimit.TokenBucketRateLimiter.BURST_CAPACITY_HEADER;
+import static com.findaroom.findaroomgateway.ratelimit.TokenBucketRateLimiter.REMAINING_HEADER;
+import static com.findaroom.findaroomgateway.ratelimit.TokenBucketRateLimiter.REPLENISH_RATE_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketRateLimiterTest {
+
+    private final RouteResilienceProperties properties = new RouteResilienceProperties();
+    private final List<String> consumedKeys = new ArrayList<>();
+
+    @Test
+    public void isAllowed_shouldConsumeFromRouteScopedBucket() {
+
+        var settings = new RouteResilienceProperties.Settings();
+        settings.setReplenishRate(5);
+        settings.setBurstCapacity(20);
+        properties.getRoutes().put("core-public", settings);
+
+        StepVerifier
+                .create(limiter(Consumption.allowed(7)).isAllowed("core-public", "10.0.0.1"))
+                .assertNext(response -> {
+                    assertThat(response.isAllowed()).isTrue();
+                    assertThat(response.getHeaders())
+                            .containsEntry(REMAINING_HEADER, "7")
+                            .containsEntry(REPLENISH_RATE_HEADER, "5")
+                            .containsEntry(BURST_CAPACITY_HEADER, "20")
+                            .doesNotContainKey(HttpHeaders.RETRY_AFTER);
+                })
+                .verifyComplete();
+
+        assertThat(consumedKeys).containsExactly("core-public:10.0.0.1");
+    }
+
+    @Test
+    public void isAllowed_whenRejected_shouldRoundRetryAfterUpToWholeSeconds() {
+
+        assertThat(retryAfter(Duration.ofMillis(1))).isEqualTo("1");
+        assertThat(retryAfter(Duration.ofMillis(1000))).isEqualTo("1");
+        assertThat(retryAfter(Duration.ofMillis(1001))).isEqualTo("2");
+        assertThat(retryAfter(Duration.ofNanos(2_000_000_001L))).isEqualTo("2");
+    }
+
+    @Test
+    public void isAllowed_whenRejectedWithoutWait_shouldAskForAtLeastOneSecond() {
+
+        assertThat(retryAfter(Duration.ZERO)).isEqualTo("1");
+    }
+
+    @Test
+    public void isAllowed_whenStoreFails_shouldFailOpen() {
+
+        TokenBucketStore failing = (key, replenishRate, burstCapacity) -> Mono.error(new IllegalStateException("store unavailable"));
+
+        StepVerifier
+                .create(new TokenBucketRateLimiter(properties, failing).isAllowed("core-public", "10.0.0.1"))
+                .assertNext(response -> {
+                    assertThat(response.isAllowed()).isTrue();
+                    assertThat(response.getHeaders()).isEmpty();
+                })
+                .verifyComplete();
+    }
+
+    private String retryAfter(Duration wait) {
+        Response response = limiter(Consumption.rejected(wait)).isAllowed("core-public", "10.0.0.1").block();
+        assertThat(response.isAllowed()).isFalse();
+        return response.getHeaders().get(HttpHeaders.RETRY_AFTER);
+    }
+
+    private TokenBucketRateLimiter limiter(Consumption consumption) {
+        return new TokenBucketRateLimiter(properties, (key, replenishRate, burstCapacity) -> {
+            consumedKeys.add(key);
+            return Mono.just(consumption);
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package com.findaroom.findaroomnotifications.notification;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +13,7 @@ import javax.validation.Valid;
 
 import static org.springframework.http.HttpStatus.*;
 import static org.springframework.http.MediaType.APPLICATION_STREAM_JSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 
 @RestController
 @RequestMapping("/api/v1/notifications")
@@ -21,12 +23,19 @@ public class NotificationController {
     public static final String NOTIFICATION_NOT_FOUND = "Notification not found.";
 
     private final NotificationRepo notificationRepo;
+    private final NotificationHub notificationHub;
 
     @GetMapping(produces = APPLICATION_STREAM_JSON_VALUE)
     public Flux<Notification> getUserNotifications(@AuthenticationPrincipal Jwt jwt) {
         return notificationRepo.findByUserId(jwt.getSubject());
     }
 
+    @GetMapping(path = "/live", produces = TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Notification>> streamUserNotifications(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+                                                                       @AuthenticationPrincipal Jwt jwt) {
+        return notificationHub.live(jwt.getSubject(), lastEventId);
+    }
+
     @GetMapping("/{notificationId}")
     public Mono<Notification> getUserNotificationById(@PathVariable String notificationId,
                                                       @AuthenticationPrincipal Jwt jwt) {
@@ -45,7 +54,9 @@ public class NotificationController {
     @PostMapping
     @ResponseStatus(CREATED)
     public Mono<Notification> notifyUser(@RequestBody @Valid NotifyUser notify) {
-        return notificationRepo.save(Notification.of(notify.getUserId(), notify.getMessage(), notify.getContentUrl()));
+        return notificationRepo
+                .save(Notification.of(notify.getUserId(), notify.getMessage(), notify.getContentUrl()))
+                .doOnNext(notificationHub::publish);
     }
 
     @DeleteMapping("/{notificationId}")
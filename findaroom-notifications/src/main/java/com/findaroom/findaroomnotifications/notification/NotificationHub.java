@@ -0,0 +1,163 @@
+package com.findaroom.findaroomnotifications.notification;
+
+import com.mongodb.MongoServerException;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonValue;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.UnicastProcessor;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Slf4j
+@Component
+public class NotificationHub {
+
+    private static final ServerSentEvent<Notification> HEARTBEAT = ServerSentEvent.<Notification>builder().comment("heartbeat").build();
+    private static final Set<Integer> CHANGE_STREAM_UNSUPPORTED = Set.of(40573, 40324);
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofMinutes(1);
+
+    private final NotificationRepo notificationRepo;
+    private final int bufferSize;
+    private final Map<String, Set<UnicastProcessor<Notification>>> inboxes = new ConcurrentHashMap<>();
+    private final FluxSink<Notification> inserted;
+    private final Flux<ServerSentEvent<Notification>> heartbeats;
+    private final Disposable dispatching;
+    private final Disposable changeStream;
+    private final AtomicReference<BsonValue> resumeToken = new AtomicReference<>();
+    private volatile boolean local;
+
+    public NotificationHub(ReactiveMongoTemplate mongoTemplate,
+                           NotificationRepo notificationRepo,
+                           @Value("${findaroom.notifications.live.buffer-size:64}") int bufferSize,
+                           @Value("${findaroom.notifications.live.heartbeat:15s}") Duration heartbeat,
+                           @Value("${findaroom.notifications.live.change-stream:true}") boolean useChangeStream,
+                           @Value("${findaroom.notifications.live.retry-backoff:1s}") Duration retryBackoff) {
+
+        this.notificationRepo = notificationRepo;
+        this.bufferSize = bufferSize;
+        this.heartbeats = Flux.interval(heartbeat).map(tick -> HEARTBEAT).share();
+
+        var processor = DirectProcessor.<Notification>create();
+        this.inserted = processor.sink();
+        this.dispatching = processor.subscribe(this::dispatch);
+
+        this.local = !useChangeStream;
+        this.changeStream = useChangeStream ? watchInserts(mongoTemplate, retryBackoff) : Disposables.disposed();
+    }
+
+    public Flux<ServerSentEvent<Notification>> live(String userId, String lastEventId) {
+        return Flux.defer(() -> {
+            var inbox = register(userId);
+            var replayed = new HashSet<String>();
+            var replay = lastEventId == null || !ObjectId.isValid(lastEventId)
+                    ? Flux.<Notification>empty()
+                    : notificationRepo
+                    .findByUserIdAndNotificationIdGreaterThanOrderByNotificationIdAsc(userId, new ObjectId(lastEventId))
+                    .doOnNext(notification -> replayed.add(notification.getNotificationId()));
+            var notifications = Flux
+                    .concat(replay, inbox.filter(notification -> !replayed.contains(notification.getNotificationId())))
+                    .map(notification -> ServerSentEvent.builder(notification)
+                            .id(notification.getNotificationId())
+                            .event("notification")
+                            .build());
+            return Flux
+                    .merge(notifications, heartbeats)
+                    .startWith(HEARTBEAT)
+                    .doFinally(signal -> unregister(userId, inbox));
+        });
+    }
+
+    public void publish(Notification notification) {
+        if (local) {
+            inserted.next(notification);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        changeStream.dispose();
+        inserted.complete();
+        dispatching.dispose();
+    }
+
+    private Disposable watchInserts(ReactiveMongoTemplate mongoTemplate, Duration retryBackoff) {
+        var collection = mongoTemplate.getCollectionName(Notification.class);
+        return Flux
+                .defer(() -> mongoTemplate.changeStream(collection, changeStreamOptions(), Notification.class))
+                .doOnNext(event -> resumeToken.set(event.getResumeToken()))
+                .map(ChangeStreamEvent::getBody)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, retryBackoff)
+                        .maxBackoff(MAX_RETRY_BACKOFF)
+                        .filter(error -> !isChangeStreamUnsupported(error))
+                        .doBeforeRetry(signal -> log.warn("Notification change stream failed, resuming (attempt {})",
+                                signal.totalRetries() + 1, signal.failure())))
+                .subscribe(inserted::next, error -> {
+                    log.warn("Notification change stream unsupported, falling back to in-process delivery", error);
+                    local = true;
+                });
+    }
+
+    private ChangeStreamOptions changeStreamOptions() {
+        var options = ChangeStreamOptions.builder()
+                .filter(newAggregation(match(where("operationType").is("insert"))));
+        var token = resumeToken.get();
+        return token == null ? options.build() : options.resumeAfter(token).build();
+    }
+
+    private static boolean isChangeStreamUnsupported(Throwable error) {
+        for (var cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoServerException
+                    && CHANGE_STREAM_UNSUPPORTED.contains(((MongoServerException) cause).getCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void dispatch(Notification notification) {
+        var subscribers = inboxes.get(notification.getUserId());
+        if (subscribers != null) {
+            subscribers.forEach(inbox -> inbox.onNext(notification));
+        }
+    }
+
+    private UnicastProcessor<Notification> register(String userId) {
+        var inbox = UnicastProcessor.create(Queues.<Notification>get(bufferSize).get());
+        inboxes.compute(userId, (id, subscribers) -> {
+            var registered = subscribers == null ? ConcurrentHashMap.<UnicastProcessor<Notification>>newKeySet() : subscribers;
+            registered.add(inbox);
+            return registered;
+        });
+        return inbox;
+    }
+
+    private void unregister(String userId, UnicastProcessor<Notification> inbox) {
+        inboxes.computeIfPresent(userId, (id, subscribers) -> {
+            subscribers.remove(inbox);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+}
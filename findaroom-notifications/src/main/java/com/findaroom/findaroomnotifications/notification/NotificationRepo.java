@@ -1,5 +1,6 @@
 package com.findaroom.findaroomnotifications.notification;
 
+import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -8,6 +9,8 @@ public interface NotificationRepo extends ReactiveMongoRepository<Notification,
 
     Flux<Notification> findByUserId(String userId);
 
+    Flux<Notification> findByUserIdAndNotificationIdGreaterThanOrderByNotificationIdAsc(String userId, ObjectId notificationId);
+
     Mono<Notification> findByNotificationIdAndUserId(String notificationId, String userId);
 
     Mono<Void> deleteByNotificationIdAndUserId(String notificationId, String userId);
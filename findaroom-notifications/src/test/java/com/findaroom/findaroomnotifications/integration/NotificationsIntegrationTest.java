@@ -9,13 +9,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
 
 import static com.findaroom.findaroomnotifications.notification.NotificationController.NOTIFICATION_NOT_FOUND;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_STREAM_JSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
 
 @SpringBootTest
@@ -54,6 +60,65 @@ public class NotificationsIntegrationTest {
                 .expectBodyList(Notification.class).hasSize(2);
     }
 
+    @Test
+    public void streamUserNotifications_shouldPushNewNotifications() {
+
+        var jwtMutator = mockJwt()
+                .jwt(jwt -> jwt.claim("sub", "andrea_damiani@protonmail.com"));
+
+        var events = webTestClient
+                .mutateWith(jwtMutator)
+                .get()
+                .uri("/api/v1/notifications/live")
+                .accept(TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<Notification>>() {})
+                .getResponseBody()
+                .filter(event -> event.data() != null);
+
+        StepVerifier.create(events)
+                .then(() -> webTestClient
+                        .mutateWith(mockJwt())
+                        .post()
+                        .uri("/api/v1/notifications")
+                        .contentType(APPLICATION_JSON)
+                        .bodyValue(TestPojos.notifyUser())
+                        .exchange()
+                        .expectStatus().isCreated())
+                .expectNextMatches(event -> event.id().equals(event.data().getNotificationId())
+                        && event.data().getUserId().equals("andrea_damiani@protonmail.com"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void streamUserNotifications_withLastEventId_shouldResumeAfterIt() {
+
+        var first = notificationRepo.save(TestPojos.notification()).block();
+        var second = notificationRepo.save(TestPojos.notification()).block();
+
+        var jwtMutator = mockJwt()
+                .jwt(jwt -> jwt.claim("sub", "andrea_damiani@protonmail.com"));
+
+        var events = webTestClient
+                .mutateWith(jwtMutator)
+                .get()
+                .uri("/api/v1/notifications/live")
+                .header("Last-Event-ID", first.getNotificationId())
+                .accept(TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<Notification>>() {})
+                .getResponseBody()
+                .filter(event -> event.data() != null);
+
+        StepVerifier.create(events)
+                .expectNextMatches(event -> event.id().equals(second.getNotificationId()))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     public void getUserNotificationById() {
 
@@ -0,0 +1,132 @@
+package com.findaroom.findaroomnotifications.unit.notification;
+
+import com.findaroom.findaroomnotifications.notification.Notification;
+import com.findaroom.findaroomnotifications.notification.NotificationHub;
+import com.findaroom.findaroomnotifications.notification.NotificationRepo;
+import com.findaroom.findaroomnotifications.utils.TestPojos;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+public class NotificationHubTest {
+
+    private static final String COLLECTION = "notification";
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private NotificationRepo notificationRepo;
+
+    private NotificationHub hub;
+
+    @AfterEach
+    public void teardown() {
+        if (hub != null) {
+            hub.shutdown();
+        }
+    }
+
+    @Test
+    public void changeStream_whenStreamFails_shouldResumeAfterLastToken() {
+
+        var notification = TestPojos.notification();
+        var token = new BsonDocument("_data", new BsonString("token"));
+        var event = changeStreamEvent(notification, token);
+        var failure = new MongoSocketReadException("connection reset", new ServerAddress());
+
+        when(mongoTemplate.getCollectionName(Notification.class)).thenReturn(COLLECTION);
+        when(mongoTemplate.changeStream(eq(COLLECTION), any(ChangeStreamOptions.class), eq(Notification.class)))
+                .thenReturn(Flux.just(event).concatWith(Flux.error(failure)))
+                .thenReturn(Flux.never());
+
+        hub = new NotificationHub(mongoTemplate, notificationRepo, 16, Duration.ofMinutes(1), true, Duration.ofMillis(10));
+
+        var options = ArgumentCaptor.forClass(ChangeStreamOptions.class);
+        verify(mongoTemplate, timeout(5000).times(2)).changeStream(eq(COLLECTION), options.capture(), eq(Notification.class));
+        assertThat(options.getAllValues().get(0).getResumeToken()).isEmpty();
+        assertThat(options.getAllValues().get(1).getResumeToken()).contains(token);
+    }
+
+    @Test
+    public void changeStream_whenStreamFails_shouldNotDeliverLocally() {
+
+        var failure = new MongoSocketReadException("connection reset", new ServerAddress());
+
+        when(mongoTemplate.getCollectionName(Notification.class)).thenReturn(COLLECTION);
+        when(mongoTemplate.changeStream(eq(COLLECTION), any(ChangeStreamOptions.class), eq(Notification.class)))
+                .thenReturn(Flux.error(failure))
+                .thenReturn(Flux.never());
+
+        hub = new NotificationHub(mongoTemplate, notificationRepo, 16, Duration.ofMinutes(1), true, Duration.ofMillis(10));
+        verify(mongoTemplate, timeout(5000).times(2)).changeStream(eq(COLLECTION), any(ChangeStreamOptions.class), eq(Notification.class));
+
+        var notification = TestPojos.notification();
+
+        StepVerifier.create(hub.live(notification.getUserId(), null).filter(sse -> sse.data() != null).map(ServerSentEvent::data))
+                .then(() -> hub.publish(notification))
+                .expectNoEvent(Duration.ofMillis(200))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    public void changeStream_whenUnsupported_shouldFallBackToLocalDelivery() {
+
+        var unsupported = new MongoCommandException(
+                new BsonDocument("ok", new BsonInt32(0))
+                        .append("code", new BsonInt32(40573))
+                        .append("errmsg", new BsonString("The $changeStream stage is only supported on replica sets")),
+                new ServerAddress());
+
+        when(mongoTemplate.getCollectionName(Notification.class)).thenReturn(COLLECTION);
+        when(mongoTemplate.changeStream(eq(COLLECTION), any(ChangeStreamOptions.class), eq(Notification.class)))
+                .thenReturn(Flux.error(unsupported));
+
+        hub = new NotificationHub(mongoTemplate, notificationRepo, 16, Duration.ofMinutes(1), true, Duration.ofMillis(10));
+
+        var notification = TestPojos.notification();
+
+        StepVerifier.create(hub.live(notification.getUserId(), null).filter(sse -> sse.data() != null).map(ServerSentEvent::data))
+                .then(() -> hub.publish(notification))
+                .expectNext(notification)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        verify(mongoTemplate, timeout(5000).times(1)).changeStream(eq(COLLECTION), any(ChangeStreamOptions.class), eq(Notification.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamEvent<Notification> changeStreamEvent(Notification notification, BsonDocument token) {
+        ChangeStreamEvent<Notification> event = mock(ChangeStreamEvent.class);
+        when(event.getBody()).thenReturn(notification);
+        when(event.getResumeToken()).thenReturn(token);
+        return event;
+    }
+}
@@ -0,0 +1,102 @@
+package com.findaroom.findaroomsecurity;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+@Slf4j
+public class RefreshingJwkSource implements Function<SignedJWT, Flux<JWK>> {
+
+    private final WebClient webClient;
+    private final String jwkSetUri;
+    private final Duration refreshInterval;
+    private final Duration refetchCooldown;
+    private final AtomicReference<Keys> keys = new AtomicReference<>();
+    private final AtomicReference<Mono<Keys>> refreshing = new AtomicReference<>();
+
+    public RefreshingJwkSource(WebClient webClient, String jwkSetUri, Duration refreshInterval, Duration refetchCooldown) {
+        this.webClient = webClient;
+        this.jwkSetUri = jwkSetUri;
+        this.refreshInterval = refreshInterval;
+        this.refetchCooldown = refetchCooldown;
+    }
+
+    @Override
+    public Flux<JWK> apply(SignedJWT jwt) {
+        var selector = new JWKSelector(JWKMatcher.forJWSHeader(jwt.getHeader()));
+        return current()
+                .flatMap(cached -> {
+                    var found = selector.select(cached.getJwkSet());
+                    if (!found.isEmpty() || !cached.fetchedBefore(Instant.now().minus(refetchCooldown))) {
+                        return Mono.just(found);
+                    }
+                    return refresh().map(fresh -> selector.select(fresh.getJwkSet()));
+                })
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    private Mono<Keys> current() {
+        var cached = keys.get();
+        if (cached == null) {
+            return refresh();
+        }
+        if (cached.fetchedBefore(Instant.now().minus(refreshInterval))) {
+            refresh().subscribe(fresh -> {}, error -> log.warn("Background JWKS refresh from {} failed", jwkSetUri, error));
+        }
+        return Mono.just(cached);
+    }
+
+    private Mono<Keys> refresh() {
+        while (true) {
+            var inFlight = refreshing.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+            var fetch = webClient
+                    .get()
+                    .uri(jwkSetUri)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .map(this::parse)
+                    .doOnNext(keys::set)
+                    .doFinally(signal -> refreshing.set(null))
+                    .cache();
+            if (refreshing.compareAndSet(null, fetch)) {
+                return fetch;
+            }
+        }
+    }
+
+    private Keys parse(String body) {
+        try {
+            return new Keys(JWKSet.parse(body), Instant.now());
+        } catch (ParseException ex) {
+            throw new JwtException("Unable to parse the JWK set from " + jwkSetUri, ex);
+        }
+    }
+
+    @Value
+    private static class Keys {
+
+        JWKSet jwkSet;
+        Instant fetchedAt;
+
+        boolean fetchedBefore(Instant instant) {
+            return fetchedAt.isBefore(instant);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.findaroom.findaroomsecurity;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class ResourceServerJwtConfig {
+
+    @Bean
+    @Primary
+    public ReactiveJwtDecoder cachingJwtDecoder(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuer,
+                                                @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+                                                @Value("${okta.oauth2.audience:api://default}") String audience,
+                                                @Value("${findaroom.security.jwt-cache.maximum-size:10000}") long maximumSize,
+                                                @Value("${findaroom.security.jwks.refresh-interval:5m}") Duration refreshInterval,
+                                                @Value("${findaroom.security.jwks.refetch-cooldown:30s}") Duration refetchCooldown) {
+
+        var jwkSource = new RefreshingJwkSource(WebClient.create(), jwkSetUri, refreshInterval, refetchCooldown);
+        var decoder = NimbusReactiveJwtDecoder.withJwkSource(jwkSource).build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(issuer),
+                new JwtClaimValidator<List<String>>(JwtClaimNames.AUD, aud -> aud != null && aud.contains(audience))));
+        return new CachingReactiveJwtDecoder(decoder, maximumSize);
+    }
+}
@@ -0,0 +1,64 @@
+package com.findaroom.findaroomsecurity.unit;
+
+import com.findaroom.findaroomsecurity.CachingReactiveJwtDecoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachingReactiveJwtDecoderTest {
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    public void decode_shouldVerifyTokenOnce() {
+
+        var decoder = new CachingReactiveJwtDecoder(token -> verify(token, Instant.now().plus(Duration.ofHours(1))), 100);
+
+        StepVerifier.create(decoder.decode("abc")).expectNextMatches(jwt -> jwt.getTokenValue().equals("abc")).verifyComplete();
+        StepVerifier.create(decoder.decode("abc")).expectNextMatches(jwt -> jwt.getTokenValue().equals("abc")).verifyComplete();
+        StepVerifier.create(decoder.decode("def")).expectNextMatches(jwt -> jwt.getTokenValue().equals("def")).verifyComplete();
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    public void decode_whenExpired_shouldVerifyAgain() {
+
+        var decoder = new CachingReactiveJwtDecoder(token -> verify(token, Instant.now().minus(Duration.ofMinutes(1))), 100);
+
+        decoder.decode("abc").block();
+        decoder.decode("abc").block();
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    public void decode_whenRejected_shouldNotCache() {
+
+        var decoder = new CachingReactiveJwtDecoder(token -> Mono.fromRunnable(verifications::incrementAndGet)
+                .then(Mono.error(new BadJwtException("Invalid signature"))), 100);
+
+        StepVerifier.create(decoder.decode("abc")).expectError(BadJwtException.class).verify();
+        StepVerifier.create(decoder.decode("abc")).expectError(BadJwtException.class).verify();
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    private Mono<Jwt> verify(String token, Instant expiresAt) {
+        verifications.incrementAndGet();
+        return Mono.just(Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .claim("sub", "andrea_damiani@protonmail.com")
+                .issuedAt(expiresAt.minus(Duration.ofHours(1)))
+                .expiresAt(expiresAt)
+                .build());
+    }
+}
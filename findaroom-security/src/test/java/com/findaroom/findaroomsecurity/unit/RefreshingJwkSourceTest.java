@@ -0,0 +1,110 @@
+package com.findaroom.findaroomsecurity.unit;
+
+import com.findaroom.findaroomsecurity.RefreshingJwkSource;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+
+public class RefreshingJwkSourceTest {
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final Deque<ClientResponse> responses = new ArrayDeque<>();
+    private final WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                fetches.incrementAndGet();
+                return Mono.just(responses.size() > 1 ? responses.poll() : responses.peek());
+            })
+            .build();
+
+    @Test
+    public void apply_shouldFetchKeysOnce() throws JOSEException {
+
+        var key = key("k1");
+        responses.add(keys(key));
+        var source = new RefreshingJwkSource(webClient, "http://issuer/v1/keys", Duration.ofMinutes(5), Duration.ofSeconds(30));
+
+        StepVerifier.create(source.apply(signedBy("k1"))).expectNext(key.toPublicJWK()).verifyComplete();
+        StepVerifier.create(source.apply(signedBy("k1"))).expectNext(key.toPublicJWK()).verifyComplete();
+
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    public void apply_withUnknownKeyId_shouldRefetchKeys() throws JOSEException {
+
+        var key1 = key("k1");
+        var key2 = key("k2");
+        responses.add(keys(key1));
+        responses.add(keys(key1, key2));
+        var source = new RefreshingJwkSource(webClient, "http://issuer/v1/keys", Duration.ofMinutes(5), Duration.ZERO);
+
+        source.apply(signedBy("k1")).blockLast();
+        StepVerifier.create(source.apply(signedBy("k2"))).expectNext(key2.toPublicJWK()).verifyComplete();
+
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    public void apply_withUnknownKeyIdDuringCooldown_shouldNotRefetchKeys() throws JOSEException {
+
+        responses.add(keys(key("k1")));
+        var source = new RefreshingJwkSource(webClient, "http://issuer/v1/keys", Duration.ofMinutes(5), Duration.ofSeconds(30));
+
+        source.apply(signedBy("k1")).blockLast();
+        StepVerifier.create(source.apply(signedBy("k2"))).verifyComplete();
+
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    public void apply_whenRefreshFails_shouldKeepServingCachedKeys() throws JOSEException {
+
+        var key = key("k1");
+        responses.add(keys(key));
+        responses.add(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+        var source = new RefreshingJwkSource(webClient, "http://issuer/v1/keys", Duration.ZERO, Duration.ofSeconds(30));
+
+        source.apply(signedBy("k1")).blockLast();
+        StepVerifier.create(source.apply(signedBy("k1"))).expectNext(key.toPublicJWK()).verifyComplete();
+        StepVerifier.create(source.apply(signedBy("k1"))).expectNext(key.toPublicJWK()).verifyComplete();
+
+        assertThat(fetches).hasValueGreaterThan(1);
+    }
+
+    private RSAKey key(String keyId) throws JOSEException {
+        return new RSAKeyGenerator(2048).keyID(keyId).generate();
+    }
+
+    private ClientResponse keys(JWK... keys) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(new JWKSet(List.of(keys)).toPublicJWKSet().toString())
+                .build();
+    }
+
+    private SignedJWT signedBy(String keyId) {
+        return new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(keyId).build(), new JWTClaimsSet.Builder().build());
+    }
+}
@@ -1,12 +1,15 @@
 package com.findaroom.findaroomusers.config;
 
+import com.findaroom.findaroomsecurity.ResourceServerJwtConfig;
 import com.okta.spring.boot.oauth.Okta;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
 @EnableWebFluxSecurity
+@Import(ResourceServerJwtConfig.class)
 public class SecurityConfig {
 
     @Bean